@@ -131,6 +131,11 @@ public class GameController {
      */
     private int maxAmountWallsPercentage;
 
+    /**
+     * Variable to store the selected large-board mode, which determines the maximum of the {@link Slider}s
+     */
+    private boolean largeBoard;
+
     /**
      * Instance of the GUI Handling, which is used for changing the GUI
      */
@@ -147,10 +152,11 @@ public class GameController {
         ImageView[][] editorFields = initializeEditorImageViews();
         setImagesAndDrag(editorFields);
 
+        this.largeBoard = settings.largeBoard();
         this.sliderCols.setMin(GameField.MIN_AMOUNT_COLS);
-        this.sliderCols.setMax(GameField.MAX_AMOUNT_COLS);
+        this.sliderCols.setMax(Field.maxAmountOfCols(largeBoard));
         this.sliderRows.setMin(GameField.MIN_AMOUNT_ROWS);
-        this.sliderRows.setMax(GameField.MAX_AMOUNT_ROWS);
+        this.sliderRows.setMax(Field.maxAmountOfRows(largeBoard));
 
         // Set the elements of the editor
         initializeValuesFromSettings(settings);
@@ -167,7 +173,7 @@ public class GameController {
 
 
         // Create logic
-        this.logic = new GameLogic(cols, rows, settings.maxPercentageWalls(), settings.overflow(), gui);
+        this.logic = new GameLogic(cols, rows, settings.maxPercentageWalls(), settings.overflow(), largeBoard, gui);
     }
 
     /**
@@ -286,7 +292,7 @@ public class GameController {
      */
     public void newGame() throws IOException {
         Settings settings = new Settings((int) sliderCols.getValue(), (int) sliderRows.getValue(),
-                maxAmountWallsPercentage, checkBoxOverflow.isSelected());
+                maxAmountWallsPercentage, checkBoxOverflow.isSelected(), largeBoard);
         new SettingScreenLoader().loadSettingScreen(getStage(), settings);
     }
 
@@ -329,7 +335,9 @@ public class GameController {
                     // load GameFieldData from the File and convert load it in the logic
                     Gson gson = new Gson();
                     GameFieldData gameFieldData = gson.fromJson(fileReader, GameFieldData.class);
-                    if (logic.loadGame(gameFieldData)) {
+                    // the field is limited to the size the gui can display
+                    if (logic.loadGame(gameFieldData, Field.maxAmountOfCols(largeBoard),
+                            Field.maxAmountOfRows(largeBoard))) {
                         int cols = logic.getGameField().getCols();
                         int rows = logic.getGameField().getRows();
                         this.sliderCols.setValue(cols);
@@ -11,26 +11,29 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import logic.GUIConnector;
+import logic.IndexedGUIConnector;
 import logic.Position;
 import logic.enums.FieldError;
 import logic.enums.PipeType;
 import logic.enums.Rotation;
+import logic.field.BoardView;
+import logic.field.DistanceLevels;
+import logic.field.FloodResult;
 import logic.field.GameField;
 import logic.field.GameFieldData;
-import logic.field.Pipe;
 
 import java.util.*;
+import java.util.function.IntPredicate;
 
 /**
  * Class to change elements in the gui. Will be used by the {@link GameController} and the {@link logic.GameLogic} class
- * and implements the {@link GUIConnector} so it can be used by the logic.
+ * and implements the {@link IndexedGUIConnector} so it can be used by the logic.
  * Provides methods for displaying a GameField of the GameLogic, changing and turning fields, and showing the filling
  * of connected fields to the source with an animation. Can also show alerts for faults in the user interactions
  *
  * @author Philip Barth
  */
-public class JavaFXGUI implements GUIConnector {
+public class JavaFXGUI implements IndexedGUIConnector {
 
     /**
      * String for displaying, that the game is solved.
@@ -107,28 +110,40 @@ public class JavaFXGUI implements GUIConnector {
     }
 
     @Override
-    public void displayFieldWithoutAnimation(Pipe[][] gameField, Position sourcePosition,
+    public void displayFieldWithoutAnimation(BoardView gameField, Position sourcePosition,
                                              Set<Position> reachablePositions, boolean solved) {
+        int cols = gameField.getCols();
+        displayCells(gameField, index -> reachablePositions.contains(Position.ofIndex(index, cols)));
+        field.setSourcePosition(sourcePosition);
+        showGameDoneIfSolved(solved, 0);
+    }
+
+    @Override
+    public void displayFieldWithoutAnimation(BoardView gameField, int sourceIndex, FloodResult flood,
+                                             Integer counter) {
+        displayCells(gameField, flood::isConnected);
+        field.setSourcePosition(sourceIndex);
+        showGameDoneIfSolved(flood.isSolved(), counter);
+    }
+
+    /**
+     * Stops the {@link #timeline} and sets the image and rotation of every field
+     *
+     * @param gameField GameField to be displayed
+     * @param reachable test for the index of a field, that can be reached by the source (filled)
+     */
+    private void displayCells(BoardView gameField, IntPredicate reachable) {
         // Stop Timeline and clear keyValues
         stopTimeline();
-        int cols = gameField.length;
-        int rows = gameField[0].length;
         Image img;
         PipeType type;
-        Position pos;
-        for (int x = 0; x < cols; x++) {
-            for (int y = 0; y < rows; y++) {
-                pos = new Position(x, y);
-                type = gameField[x][y].getType();
-                // Get filled or empty image
-                img = reachablePositions.contains(pos) ? getFilledImageFromPipeType(type)
-                        : getEmptyImageFromPipeType(type);
-                field.setImageAt(pos, img);
-                field.setRotationAt(pos, getRotation(gameField[x][y].getRotation()));
-            }
+        for (int index = 0; index < gameField.getCols() * gameField.getRows(); index++) {
+            type = gameField.getPipeTypeAt(index);
+            // Get filled or empty image
+            img = reachable.test(index) ? getFilledImageFromPipeType(type) : getEmptyImageFromPipeType(type);
+            field.setImageAt(index, img);
+            field.setRotationAt(index, getRotation(gameField.getRotationAt(index)));
         }
-        field.setSourcePosition(sourcePosition);
-        showGameDoneIfSolved(solved, 0);
     }
 
     /**
@@ -156,13 +171,14 @@ public class JavaFXGUI implements GUIConnector {
     }
 
     @Override
-    public void displayFieldWithAnimation(Pipe[][] gameField, Map<Integer, List<Position>> connectedPositions,
+    public void displayFieldWithAnimation(BoardView gameField, Map<Integer, List<Position>> connectedPositions,
                                           Set<Position> unconnectedPositions, Integer counter) {
         stopTimeline();
 
         // Set empty Pipe Images on Positions, which are not connected to the source
         for (Position position : unconnectedPositions) {
-            field.setImageAt(position, getEmptyImageFromPipeType(gameField[position.x()][position.y()].getType()));
+            field.setImageAt(position,
+                    getEmptyImageFromPipeType(gameField.getPipeTypeAt(position.toIndex(gameField.getCols()))));
         }
 
 
@@ -181,6 +197,48 @@ public class JavaFXGUI implements GUIConnector {
                 this.timeline.getKeyFrames().add(keyFrame);
             }
         }
+        playFillAnimation(counter);
+    }
+
+    @Override
+    public void displayFieldWithAnimation(BoardView gameField, FloodResult flood, Integer counter) {
+        stopTimeline();
+        DistanceLevels connectedLevels = flood.getLevels();
+        BitSet unconnectedCells = flood.getUnconnectedCells();
+
+        // Set empty Pipe Images on the fields, which are not connected to the source
+        for (int index = unconnectedCells.nextSetBit(0); index >= 0; index = unconnectedCells.nextSetBit(index + 1)) {
+            field.setImageAt(index, getEmptyImageFromPipeType(gameField.getPipeTypeAt(index)));
+        }
+
+        double dur = 0;
+        Set<Image> emptyPipeImages = Set.of(LINE_EMPTY, CURVE_EMPTY, T_PIPE_EMPTY, DEAD_END_EMPTY);
+        // Add Fill animations to the timeline for every level with a field, which is currently not filled. The
+        // distance to the source represents the order of fields to be filled
+        for (int level = 0; level < connectedLevels.getLevelCount(); level++) {
+            List<KeyValue> fieldsToFillAtTheSameTime = new ArrayList<>();
+            for (int i = connectedLevels.getLevelStart(level); i < connectedLevels.getLevelEnd(level); i++) {
+                int index = connectedLevels.getCell(i);
+                if (emptyPipeImages.contains(field.getImageAt(index))) {
+                    fieldsToFillAtTheSameTime.add(new KeyValue(field.getImagePropertyAt(index),
+                            getFilledImageFromPipeType(gameField.getPipeTypeAt(index))));
+                }
+            }
+            if (!fieldsToFillAtTheSameTime.isEmpty()) {
+                this.timeline.getKeyFrames().add(new KeyFrame(Duration.seconds(++dur),
+                        fieldsToFillAtTheSameTime.toArray(new KeyValue[0])));
+            }
+        }
+        playFillAnimation(counter);
+    }
+
+    /**
+     * Plays the filling animation of the {@link #timeline} and shows the {@link #lblGameDone} afterwards, if the game is
+     * done
+     *
+     * @param counter amount of turns to finish the game or null, if the game is not finished
+     */
+    private void playFillAnimation(Integer counter) {
         // if game is done, show the Label
         if (counter != null) {
             this.timeline.setOnFinished(event -> showGameDoneIfSolved(true, counter));
@@ -199,7 +257,7 @@ public class JavaFXGUI implements GUIConnector {
      * @param positionsWithSameDistanceToSource List of positions with the same distances to the sourcePosition
      * @return List of KeyValues for the {@link #timeline} to change
      */
-    private List<KeyValue> getListOfFieldsToFillInTheSameDistanceToSource(Pipe[][] gameField,
+    private List<KeyValue> getListOfFieldsToFillInTheSameDistanceToSource(BoardView gameField,
                                                                           List<Position> positionsWithSameDistanceToSource) {
         List<KeyValue> values = new LinkedList<>();
         Set<Image> emptyPipeImages = Set.of(LINE_EMPTY, CURVE_EMPTY, T_PIPE_EMPTY, DEAD_END_EMPTY);
@@ -221,12 +279,12 @@ public class JavaFXGUI implements GUIConnector {
      * @param gameField logical GameField
      * @return KeyValue with the change Animation of this field
      */
-    private KeyValue provideKeyValue(Position position, Pipe[][] gameField) {
+    private KeyValue provideKeyValue(Position position, BoardView gameField) {
         if (position == null || gameField == null) {
             return null;
         } else {
             return new KeyValue(field.getImagePropertyAt(position),
-                    getFilledImageFromPipeType(gameField[position.x()][position.y()].getType()));
+                    getFilledImageFromPipeType(gameField.getPipeTypeAt(position.toIndex(gameField.getCols()))));
         }
     }
 
@@ -247,6 +305,22 @@ public class JavaFXGUI implements GUIConnector {
         field.setRotationAt(pos, 0);
     }
 
+    @Override
+    public void turn(int index, boolean clockwise) {
+        field.turn(index, clockwise);
+    }
+
+    @Override
+    public void changeSourcePosition(int index) {
+        field.setSourcePosition(index);
+    }
+
+    @Override
+    public void changeField(int index, PipeType type) {
+        field.setImageAt(index, getEmptyImageFromPipeType(type));
+        field.setRotationAt(index, 0);
+    }
+
     /**
      * Returns an int-Value for the rotation value provided
      *
@@ -1,5 +1,6 @@
 package gui;
 
+import gui.field.Field;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -29,6 +30,11 @@ public class SettingController {
      */
     private static final int HEIGHT_GAME_SCREEN = 800;
 
+    /**
+     * Unit of the major ticks of the column and row sliders in the large-board mode
+     */
+    private static final int LARGE_BOARD_TICK_UNIT = 16;
+
     /**
      * Slider representing the columns
      */
@@ -53,6 +59,12 @@ public class SettingController {
     @FXML
     private CheckBox checkBoxOverflow;
 
+    /**
+     * Checkbox representing the large-board mode to be activated
+     */
+    @FXML
+    private CheckBox checkBoxLargeBoard;
+
     /**
      * Container for the contents of the SettingScreen
      */
@@ -73,7 +85,8 @@ public class SettingController {
         // Provide the settings to the controller
         GameController gameController = fxmlLoader.getController();
         Settings settings = new Settings((int) this.sliderCols.getValue(), (int) this.sliderRows.getValue(),
-                (int) this.sliderWalls.getValue(), this.checkBoxOverflow.isSelected());
+                (int) this.sliderWalls.getValue(), this.checkBoxOverflow.isSelected(),
+                this.checkBoxLargeBoard.isSelected());
         gameController.initialize(settings);
         stage.show();
     }
@@ -81,18 +94,46 @@ public class SettingController {
     /**
      * Method used for providing the Controller with values to be set
      *
-     * @param settings Values for Columns, Rows, Walls, and overflow
+     * @param settings Values for Columns, Rows, Walls, overflow and large-board mode
      */
     public void initializeValues(Settings settings) {
-
-        initializeSlider(sliderCols, GameField.MIN_AMOUNT_COLS, GameField.MAX_AMOUNT_COLS, settings.cols());
-        initializeSlider(sliderRows, GameField.MIN_AMOUNT_ROWS, GameField.MAX_AMOUNT_ROWS, settings.rows());
+        this.checkBoxLargeBoard.setSelected(settings.largeBoard());
+        changeLargeBoard();
+        initializeSlider(sliderCols, GameField.MIN_AMOUNT_COLS, Field.maxAmountOfCols(settings.largeBoard()),
+                settings.cols());
+        initializeSlider(sliderRows, GameField.MIN_AMOUNT_ROWS, Field.maxAmountOfRows(settings.largeBoard()),
+                settings.rows());
         initializeSlider(sliderWalls, GameField.MIN_AMOUNT_WALLS_PERCENT, GameField.MAX_AMOUNT_WALLS_PERCENT,
                 settings.maxPercentageWalls());
 
         this.checkBoxOverflow.setSelected(settings.overflow());
     }
 
+    /**
+     * Changes the maximum of the sliders for the columns and rows according to the large-board checkbox. Values above
+     * the new maximum are reduced to it. The maximum is limited to the size the {@link Field} can display.
+     */
+    @FXML
+    public void changeLargeBoard() {
+        boolean largeBoard = this.checkBoxLargeBoard.isSelected();
+        initializeDimensionSlider(sliderCols, Field.maxAmountOfCols(largeBoard), largeBoard);
+        initializeDimensionSlider(sliderRows, Field.maxAmountOfRows(largeBoard), largeBoard);
+    }
+
+    /**
+     * Sets the maximum and the ticks of a slider for a dimension of the field
+     *
+     * @param slider     slider to be changed
+     * @param max        max value
+     * @param largeBoard large-board mode?
+     */
+    private void initializeDimensionSlider(Slider slider, int max, boolean largeBoard) {
+        slider.setMax(max);
+        slider.setMajorTickUnit(largeBoard ? LARGE_BOARD_TICK_UNIT : 1);
+        slider.setSnapToTicks(!largeBoard);
+        slider.setValue(Math.min(slider.getValue(), max));
+    }
+
     /**
      * Initializes the values of the slider
      *
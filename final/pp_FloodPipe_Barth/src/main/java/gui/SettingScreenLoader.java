@@ -21,7 +21,7 @@ public class SettingScreenLoader {
     /**
      * Initial height of the setting screen
      */
-    private static final int HEIGHT_SETTING_SCREEN = 725;
+    private static final int HEIGHT_SETTING_SCREEN = 845;
 
     /**
      * Method for loading the Setting screen and initializing the items based on the settings provided
@@ -9,15 +9,16 @@ import logic.field.GameField;
  * @param rows               amount of rows
  * @param maxPercentageWalls amount of walls in percent
  * @param overflow           overflow enabled
+ * @param largeBoard         large-board mode enabled
  * @author Philip Barth
  */
-public record Settings(int cols, int rows, int maxPercentageWalls, boolean overflow) {
+public record Settings(int cols, int rows, int maxPercentageWalls, boolean overflow, boolean largeBoard) {
 
     /**
      * Constructor for the default settings used by the {@link StartScreenController}
      */
     public Settings() {
         this(GameField.DEFAULT_AMOUNT_COLS, GameField.DEFAULT_AMOUNT_ROWS, GameField.DEFAULT_AMOUNT_WALLS_PERCENT,
-                false);
+                false, false);
     }
 }
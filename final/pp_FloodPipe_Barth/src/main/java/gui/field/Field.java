@@ -15,6 +15,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.RowConstraints;
 import javafx.scene.paint.Color;
 import logic.Position;
+import logic.field.GameField;
 
 /**
  * The Field class extends the {@link HBox} class and represents a game field composed of a grid of {@link FieldCell}
@@ -31,6 +32,15 @@ public class Field extends HBox {
      * Padding of the HBox
      */
     private static final int PADDING = 5;
+    /**
+     * maximum amount of cols displayed in the large-board mode. Every cell is a {@link FieldCell} in the GridPane with
+     * at least 2 pixels and a gap of 2 pixels, so bigger fields neither fit on the screen nor can be laid out quickly.
+     */
+    public static final int MAX_AMOUNT_COLS_DISPLAYED = 128;
+    /**
+     * maximum amount of rows displayed in the large-board mode, see {@link #MAX_AMOUNT_COLS_DISPLAYED}
+     */
+    public static final int MAX_AMOUNT_ROWS_DISPLAYED = 128;
     /**
      * Image displaying a source indicator for a FieldCell
      */
@@ -132,6 +142,26 @@ public class Field extends HBox {
         return cell;
     }
 
+    /**
+     * Provides the maximum amount of cols, which can be displayed in the mode provided
+     *
+     * @param largeBoard large-board mode?
+     * @return maximum amount of cols
+     */
+    public static int maxAmountOfCols(boolean largeBoard) {
+        return Math.min(GameField.maxAmountOfCols(largeBoard), MAX_AMOUNT_COLS_DISPLAYED);
+    }
+
+    /**
+     * Provides the maximum amount of rows, which can be displayed in the mode provided
+     *
+     * @param largeBoard large-board mode?
+     * @return maximum amount of rows
+     */
+    public static int maxAmountOfRows(boolean largeBoard) {
+        return Math.min(GameField.maxAmountOfRows(largeBoard), MAX_AMOUNT_ROWS_DISPLAYED);
+    }
+
     /**
      * Getter for the {@link  #gameField}
      *
@@ -201,6 +231,27 @@ public class Field extends HBox {
         this.gameField[position.x()][position.y()].turn(clockwise);
     }
 
+    /**
+     * Uses the method {@link FieldCell#turn(boolean)} to turn the graphical representation at the index
+     * (y * cols + x) either clockwise or counterclockwise
+     *
+     * @param index     index to be turned
+     * @param clockwise boolean-Value to indicate if the field should be turned clockwise
+     */
+    public void turn(int index, boolean clockwise) {
+        getCellAt(index).turn(clockwise);
+    }
+
+    /**
+     * Provides the {@link FieldCell} at the index (y * cols + x)
+     *
+     * @param index index of the cell
+     * @return FieldCell at the index
+     */
+    private FieldCell getCellAt(int index) {
+        return this.gameField[index % getCols()][index / getCols()];
+    }
+
     /**
      * Getter-method for the Image of a {@link FieldCell} image
      *
@@ -211,6 +262,26 @@ public class Field extends HBox {
         return position != null ? this.gameField[position.x()][position.y()].getPipeImage() : null;
     }
 
+    /**
+     * Getter-method for the Image of a {@link FieldCell} at the index (y * cols + x)
+     *
+     * @param index index for the image to be determined
+     * @return Image that is being displayed at that index
+     */
+    public Image getImageAt(int index) {
+        return getCellAt(index).getPipeImage();
+    }
+
+    /**
+     * Returns the Image-Property of a {@link FieldCell} instance at the index (y * cols + x)
+     *
+     * @param index index for the ImageProperty
+     * @return ImageProperty at the index
+     */
+    public ObjectProperty<Image> getImagePropertyAt(int index) {
+        return getCellAt(index).getPipeImageProperty();
+    }
+
     /**
      * Returns the Image-Property of a {@link FieldCell} instance at the specified position or null, if the position is
      * null
@@ -242,6 +313,16 @@ public class Field extends HBox {
         }
     }
 
+    /**
+     * Displays the source in the cell at the index (y * cols + x). If the index is negative, no source will be
+     * displayed on the field
+     *
+     * @param index index, where the source should be displayed
+     */
+    public void setSourcePosition(int index) {
+        setSourcePosition(index >= 0 ? Position.ofIndex(index, getCols()) : null);
+    }
+
     /**
      * Sets the Image of the {@link  FieldCell} at the position to a new one, if the position is not null
      *
@@ -254,6 +335,16 @@ public class Field extends HBox {
         }
     }
 
+    /**
+     * Sets the Image of the {@link  FieldCell} at the index (y * cols + x) to a new one
+     *
+     * @param index index, where an image should be displayed
+     * @param image Image instance that should be displayed
+     */
+    public void setImageAt(int index, Image image) {
+        getCellAt(index).setPipeImage(image);
+    }
+
     /**
      * Displays the rotation Value in the field, which is located on the provided position.
      *
@@ -266,6 +357,16 @@ public class Field extends HBox {
         }
     }
 
+    /**
+     * Displays the rotation Value in the field, which is located on the provided index (y * cols + x).
+     *
+     * @param index    index, where the rotation should be initiated
+     * @param rotation value for the rotation
+     */
+    public void setRotationAt(int index, int rotation) {
+        getCellAt(index).setRotation(rotation);
+    }
+
     /**
      * Sets the onMouseClicked Event for the field cells. The Cells should be turned and the logic will be changed
      * accordingly. The cells will be turned clockwise, if the secondary MouseButton was clicked and counterclockwise if
@@ -282,7 +383,7 @@ public class Field extends HBox {
                     MouseButton btn = event.getButton();
                     if (btn == MouseButton.PRIMARY || btn == MouseButton.SECONDARY) {
                         // Turn clockwise, if the secondary MouseButton was clicked
-                        controller.turn(btn == MouseButton.SECONDARY, new Position(clickedX, clickedY));
+                        controller.turn(btn == MouseButton.SECONDARY, Position.of(clickedX, clickedY));
                     }
                     event.consume();
                 });
@@ -320,7 +421,7 @@ public class Field extends HBox {
                     if (db.hasString()) {
                         int x = GridPane.getColumnIndex(cell);
                         int y = GridPane.getRowIndex(cell);
-                        controller.onGameFieldCellDropped(new Position(x, y), db.getString());
+                        controller.onGameFieldCellDropped(Position.of(x, y), db.getString());
                     }
                     event.setDropCompleted(success);
                     event.consume();
@@ -2,7 +2,7 @@ package logic;
 
 import logic.enums.FieldError;
 import logic.enums.PipeType;
-import logic.field.Pipe;
+import logic.field.BoardView;
 
 import java.util.List;
 import java.util.Map;
@@ -18,30 +18,31 @@ import java.util.Set;
 public interface GUIConnector {
 
     /**
-     * This method displays the fill status of the game field with animation. It takes in the current game field
-     * represented as a 2D array of Pipe objects, a map of connected positions with distances as the key and a list of
-     * positions as the value for animating the filling process, a set of unconnected positions,
-     * and a counter for displaying the game as solved.
+     * This method displays the fill status of the game field with animation. It takes in a read-only view of the
+     * current game field, a map of connected positions with distances as the key and a list of positions as the value
+     * for animating the filling process, a set of unconnected positions, and a counter for displaying the game as
+     * solved. The view is only valid during the call, a stable copy is provided by
+     * {@link logic.field.GameField#snapshot()}.
      *
      * @param gameField            current GameField
      * @param connectedPositions   Positions connected to the source
      * @param unconnectedPositions Positions not connected to the source
      * @param counter              amount of turns to finish the game or null, if the game is not finished
      */
-    void displayFieldWithAnimation(Pipe[][] gameField, Map<Integer, List<Position>> connectedPositions,
+    void displayFieldWithAnimation(BoardView gameField, Map<Integer, List<Position>> connectedPositions,
                                    Set<Position> unconnectedPositions, Integer counter);
 
     /**
-     * This method displays the current state of the game field. It takes in the current game field represented as a 2D
-     * array of Pipe objects, the source position, a set of reachable positions, and a boolean indicating whether the
-     * game has been solved or not.
+     * This method displays the current state of the game field. It takes in a read-only view of the current game field,
+     * the source position, a set of reachable positions, and a boolean indicating whether the game has been solved or
+     * not. The view is only valid during the call.
      *
      * @param gameField          current GameField
      * @param sourcePosition     Position of the Source
      * @param reachablePositions Positions that can be reached by the source (filled)
      * @param solved             Solved-flag
      */
-    void displayFieldWithoutAnimation(Pipe[][] gameField, Position sourcePosition, Set<Position> reachablePositions, boolean solved);
+    void displayFieldWithoutAnimation(BoardView gameField, Position sourcePosition, Set<Position> reachablePositions, boolean solved);
 
     /**
      * This method rotates a field at a given position. It takes in the position of the pipe to be rotated and a boolean
@@ -1,11 +1,16 @@
 package logic;
 
 import logic.enums.FieldError;
+import logic.enums.MoveType;
 import logic.enums.PipeType;
+import logic.enums.StorageMode;
+import logic.field.BoardView;
+import logic.field.FloodResult;
 import logic.field.GameField;
 import logic.field.GameFieldData;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Logic of the Game. Provides Methods to load a game, change the settings of the Game and getter and Setter methods.
@@ -27,6 +32,10 @@ public class GameLogic {
      * Counter representing the amount of turns the player took to solve the game
      */
     private int counter = 0;
+    /**
+     * large-board mode selection, used for the validation of loaded games
+     */
+    private final boolean largeBoard;
 
     /**
      * Basic constructor to create a new solved Game from the provided values, rotating it randomly and displaying it
@@ -39,8 +48,26 @@ public class GameLogic {
      * @param gui                Connection to the GUI
      */
     public GameLogic(int cols, int rows, int maxPercentageWalls, boolean overflow, GUIConnector gui) {
+        this(cols, rows, maxPercentageWalls, overflow, false, gui);
+    }
+
+    /**
+     * Constructor to create a new solved Game from the provided values, rotating it randomly and displaying it with the
+     * help of the gui. In the large-board mode the field can be bigger than
+     * {@link GameField#MAX_AMOUNT_COLS} x {@link GameField#MAX_AMOUNT_ROWS} and is stored {@link StorageMode#TILED}.
+     *
+     * @param cols               amount of Columns
+     * @param rows               amount of Rows
+     * @param maxPercentageWalls Maximum amount of Walls in percent
+     * @param overflow           overflow-flag
+     * @param largeBoard         large-board-flag
+     * @param gui                Connection to the GUI
+     */
+    public GameLogic(int cols, int rows, int maxPercentageWalls, boolean overflow, boolean largeBoard,
+                     GUIConnector gui) {
         this.gui = gui;
-        this.gameField = new GameField(cols, rows, maxPercentageWalls, overflow);
+        this.largeBoard = largeBoard;
+        this.gameField = new GameField(cols, rows, maxPercentageWalls, overflow, largeBoard, getStorageMode());
         gameField.rotateRandomly();
         displayField();
     }
@@ -56,6 +83,7 @@ public class GameLogic {
     GameLogic(String boxDrawingCharacters, Position source, boolean overflow, GUIConnector gui) {
         gameField = new GameField(boxDrawingCharacters, source, overflow);
         this.gui = gui;
+        this.largeBoard = false;
         displayField();
     }
 
@@ -67,13 +95,22 @@ public class GameLogic {
      */
     public void changeSourcePosition(Position position) {
         validatePosition(position);
-        if (this.gameField.getPipeTypeAt(position) != PipeType.WALL) {
-            gameField.setSource(position);
+        changeSourcePosition(gameField.indexOf(position));
+    }
+
+    /**
+     * Change the SourcePosition to the index provided, if the new position is not a wall
+     *
+     * @param index index, where the source should be placed or {@link GameField#NO_INDEX} to remove the source
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    public void changeSourcePosition(int index) {
+        validateIndex(index);
+        if (applySourceChange(index)) {
             // Change the Source Position graphically
-            gui.changeSourcePosition(position);
+            changeSourcePositionInGui(index);
             // empty the unconnected Fields and animate the newly filled Fields
-            gui.displayFieldWithAnimation(gameField.getField(), gameField.getConnectedPositionsWithDistances(),
-                    gameField.getUnconnectedPositions(), isGameSolved() ? this.counter : null);
+            displayFillAnimation();
         }
     }
 
@@ -87,19 +124,27 @@ public class GameLogic {
      */
     public void changeField(Position position, PipeType pipeType) throws IllegalArgumentException {
         validatePosition(position);
-        Position srcPos = gameField.getSource();
-        // Remove source
-        if (srcPos != null && srcPos.equals(position) && pipeType == PipeType.WALL) {
-            gameField.setSource(null);
-            gui.changeSourcePosition(null);
+        changeField(gameField.indexOf(position), pipeType);
+    }
+
+    /**
+     * Changes the Field at the provided index to a new Type and sets the Rotation to
+     * {@link logic.enums.Rotation#NORMAL}. Also sets the SourcePosition to null if a wall will be placed on the source
+     *
+     * @param index    index to place the new Pipe at
+     * @param pipeType new PipeType to be set
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    public void changeField(int index, PipeType pipeType) throws IllegalArgumentException {
+        validateIndex(index);
+        // Change the Field both logically and graphically, a removed source is also removed graphically
+        if (applyFieldChange(index, pipeType)) {
+            changeSourcePositionInGui(GameField.NO_INDEX);
         }
-        // Change the Field both logically and graphically
-        gameField.setAt(position, pipeType);
-        gui.changeField(position, gameField.getAt(position).getType());
+        changeFieldInGui(index, gameField.getPipeTypeAt(index));
 
         // Display field and animate the filling process. If the game is solved, also provide the counter
-        gui.displayFieldWithAnimation(gameField.getField(), gameField.getConnectedPositionsWithDistances(),
-                gameField.getUnconnectedPositions(), isGameSolved() ? this.counter : null);
+        displayFillAnimation();
     }
 
     /**
@@ -111,6 +156,15 @@ public class GameLogic {
         return gameField;
     }
 
+    /**
+     * Provides a stable snapshot of the cells of the {@link #gameField}, f.e. for undo or for another thread
+     *
+     * @return snapshot of the current cells
+     */
+    public BoardView getSnapshot() {
+        return gameField.snapshot();
+    }
+
     /**
      * Getter for the source Position
      *
@@ -154,67 +208,204 @@ public class GameLogic {
      */
     public void turn(boolean clockwise, Position position) throws IllegalArgumentException {
         validatePosition(position);
-        if (this.gameField.getPipeTypeAt(position) != PipeType.WALL) {
-            counter++;
-            this.gameField.turn(position, clockwise);
-            gui.turn(position, clockwise);
-            gui.displayFieldWithAnimation(gameField.getField(), gameField.getConnectedPositionsWithDistances(),
-                    gameField.getUnconnectedPositions(), isGameSolved() ? this.counter : null);
+        turn(clockwise, gameField.indexOf(position));
+    }
+
+    /**
+     * Turns the field on the provided index according to the clockwise-flag, if it is not a Wall. Increments the
+     * counter and displays the new fill status with the help of the gui
+     *
+     * @param clockwise clockwise-flag
+     * @param index     index, where the Field should be turned
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    public void turn(boolean clockwise, int index) throws IllegalArgumentException {
+        validateIndex(index);
+        if (applyTurn(index, clockwise)) {
+            turnInGui(index, clockwise);
+            displayFillAnimation();
+        }
+    }
+
+    /**
+     * Applies the moves provided in their order with the same rules as {@link #turn(boolean, int)},
+     * {@link #changeField(int, PipeType)} and {@link #changeSourcePosition(int)}. The connected fields are searched
+     * once after the last move and the gui displays the field once, so a batch of moves is much faster than the same
+     * moves one by one. Every move is validated before the first move is applied, so an invalid move does not change
+     * the game or the counter. If the moves solve the game, an {@link IndexedGUIConnector} displays the counter.
+     *
+     * @param moves moves to be applied
+     * @throws IllegalArgumentException if a move is null or an index of a move is out of bounds
+     */
+    public void applyMoves(List<Move> moves) throws IllegalArgumentException {
+        for (Move move : moves) {
+            validateMove(move);
+        }
+        for (Move move : moves) {
+            switch (move.type()) {
+                case TURN -> applyTurn(move.index(), move.clockwise());
+                case CHANGE_FIELD -> applyFieldChange(move.index(), move.pipeType());
+                case CHANGE_SOURCE -> applySourceChange(move.index());
+            }
+        }
+        displayField(counter);
+    }
+
+    /**
+     * Turns the field on the index provided, if it is not a wall, and increments the counter. Does not change the gui.
+     *
+     * @param index     index of the field
+     * @param clockwise clockwise-flag
+     * @return true, if the field was turned
+     */
+    private boolean applyTurn(int index, boolean clockwise) {
+        if (gameField.getPipeTypeAt(index) == PipeType.WALL) {
+            return false;
+        }
+        counter++;
+        gameField.turn(index, clockwise);
+        return true;
+    }
+
+    /**
+     * Sets a new pipe on the index provided and removes the source, if a wall is placed on it. Does not change the gui.
+     *
+     * @param index    index of the field
+     * @param pipeType new type of the field
+     * @return true, if the source was removed
+     */
+    private boolean applyFieldChange(int index, PipeType pipeType) {
+        int srcIndex = gameField.getSourceIndex();
+        boolean removeSource = srcIndex != GameField.NO_INDEX && srcIndex == index && pipeType == PipeType.WALL;
+        if (removeSource) {
+            gameField.setSource(GameField.NO_INDEX);
+        }
+        gameField.setAt(index, pipeType);
+        return removeSource;
+    }
+
+    /**
+     * Moves the source to the index provided, if it is not a wall. Does not change the gui.
+     *
+     * @param index index of the new source or {@link GameField#NO_INDEX} to remove the source
+     * @return true, if the source was moved
+     */
+    private boolean applySourceChange(int index) {
+        if (gameField.getPipeTypeAt(index) == PipeType.WALL) {
+            return false;
         }
+        gameField.setSource(index);
+        return true;
     }
 
     /**
      * Checks whether the game is solved by checking, if a source is present and all openings on the field are connected
-     * to the source
+     * to the source. The {@link GameField} keeps count of the unmatched openings, so the check does not scan the field
+     * after a turn.
      *
      * @return true, if the game is solved
      */
     public boolean isGameSolved() {
-        return gameField.getSource() != null &&
-                gameField.allOpeningsConnected()
-                && gameField.getUnconnectedPositions().size() == 0;
+        return gameField.isSolved();
     }
 
     /**
      * Displays the {@link #gameField} in the gui by providing the filled positions and whether the game is solved.
      */
     public void displayField() {
-        gui.displayFieldWithoutAnimation(gameField.getField(),
-                gameField.getSource(),
-                gameField.getConnectedPositionsAsSet(),
-                isGameSolved());
+        displayField(0);
+    }
+
+    /**
+     * Displays the {@link #gameField} in the gui like {@link #displayField()}. An {@link IndexedGUIConnector} receives
+     * the counter provided, if the game is solved.
+     *
+     * @param solvedCounter amount of turns displayed, if the game is solved
+     */
+    private void displayField(int solvedCounter) {
+        if (gui instanceof IndexedGUIConnector indexedGui) {
+            FloodResult flood = gameField.analyze();
+            indexedGui.displayFieldWithoutAnimation(gameField, gameField.getSourceIndex(), flood,
+                    flood.isSolved() ? solvedCounter : null);
+        } else {
+            gui.displayFieldWithoutAnimation(gameField,
+                    gameField.getSource(),
+                    gameField.getConnectedPositionsAsSet(),
+                    isGameSolved());
+        }
+    }
+
+    /**
+     * Empties the unconnected fields and animates the filling of the connected fields in the gui. If the game is
+     * solved, the counter is also provided. Uses the result of {@link GameField#analyze()}, if the gui is an
+     * {@link IndexedGUIConnector}.
+     */
+    private void displayFillAnimation() {
+        if (gui instanceof IndexedGUIConnector indexedGui) {
+            // a single search provides the levels, the unconnected fields and the solved-flag
+            FloodResult flood = gameField.analyze();
+            indexedGui.displayFieldWithAnimation(gameField, flood, flood.isSolved() ? this.counter : null);
+        } else {
+            Integer solvedCounter = isGameSolved() ? this.counter : null;
+            gui.displayFieldWithAnimation(gameField, gameField.getConnectedPositionsWithDistances(),
+                    gameField.getUnconnectedPositions(), solvedCounter);
+        }
     }
 
     /**
      * Sets the {@link #gameField} to the data provided after a validation step. If the data is valid,
      * the gameField will be set and displayed. Otherwise, the gui displays an error according to the {@link FieldError}
-     * calculated by the validation step
+     * calculated by the validation step. Fields bigger than {@link GameField#MAX_AMOUNT_COLS} x
+     * {@link GameField#MAX_AMOUNT_ROWS} are only valid in the large-board mode.
      *
      * @param fieldData Data for the GameField
      * @return true, if the loading process was successful, false if not.
      */
     public boolean loadGame(GameFieldData fieldData) {
+        return loadGame(fieldData, GameField.maxAmountOfCols(largeBoard), GameField.maxAmountOfRows(largeBoard));
+    }
+
+    /**
+     * Sets the {@link #gameField} to the data provided like {@link #loadGame(GameFieldData)}, but only accepts fields
+     * up to the dimensions provided, for example the size the gui can display.
+     *
+     * @param fieldData Data for the GameField
+     * @param maxCols   maximum amount of cols
+     * @param maxRows   maximum amount of rows
+     * @return true, if the loading process was successful, false if not.
+     */
+    public boolean loadGame(GameFieldData fieldData, int maxCols, int maxRows) {
         FieldError err = fieldData == null ? FieldError.ERR_EMPTY : FieldError.ERR_NULL;
 
         // Validate the field data
         if (err == FieldError.ERR_NULL) {
-            err = fieldData.validate();
+            err = fieldData.validate(maxCols, maxRows);
         }
         // Display the field if no error occurred, otherwise display an error.
         if (err == FieldError.ERR_NULL) {
-            this.gameField = new GameField(fieldData);
+            this.gameField = new GameField(fieldData, getStorageMode());
         } else {
             gui.showLoadingErrorAlert(err);
         }
         return err == FieldError.ERR_NULL;
     }
 
+    /**
+     * Provides the storage mode of the {@link #gameField}. Fields of the large-board mode are stored in tiles, so
+     * new fields in the editor, which only contain walls, need almost no memory.
+     *
+     * @return storage mode
+     */
+    private StorageMode getStorageMode() {
+        return largeBoard ? StorageMode.TILED : StorageMode.HEAP;
+    }
+
     /**
      * Initializes a new {@link #gameField} with {@link PipeType#WALL} fields and displays them on the gui.
      */
     public void initNewField() {
         this.gameField.initNewField();
-        this.gui.displayFieldWithoutAnimation(gameField.getField(), gameField.getSource(),
+        this.gui.displayFieldWithoutAnimation(gameField, gameField.getSource(),
                 Collections.emptySet(), false);
     }
 
@@ -262,4 +453,74 @@ public class GameLogic {
             throw new IllegalArgumentException("Position ist nicht auf dem Spielfeld.");
         }
     }
+
+    /**
+     * Validates an index and throws an exception, if it is out of bounds.
+     *
+     * @param index index to be validated
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    private void validateIndex(int index) throws IllegalArgumentException {
+        if (index != GameField.NO_INDEX && !gameField.isValidIndex(index)) {
+            throw new IllegalArgumentException("Position ist nicht auf dem Spielfeld.");
+        }
+    }
+
+    /**
+     * Checks, if a move can be applied to the field. Only the source can be removed by {@link GameField#NO_INDEX}.
+     *
+     * @param move move to be checked
+     * @throws IllegalArgumentException if the move is null or its index is not on the field
+     */
+    private void validateMove(Move move) throws IllegalArgumentException {
+        if (move == null) {
+            throw new IllegalArgumentException("Der Zug fehlt.");
+        }
+        if (move.type() == MoveType.CHANGE_SOURCE) {
+            validateIndex(move.index());
+        } else if (!gameField.isValidIndex(move.index())) {
+            throw new IllegalArgumentException("Position ist nicht auf dem Spielfeld.");
+        }
+    }
+
+    /**
+     * Turns the field on the index in the gui. Uses the index, if the gui is an {@link IndexedGUIConnector}
+     *
+     * @param index     index of the field
+     * @param clockwise clockwise-flag
+     */
+    private void turnInGui(int index, boolean clockwise) {
+        if (gui instanceof IndexedGUIConnector indexedGui) {
+            indexedGui.turn(index, clockwise);
+        } else {
+            gui.turn(gameField.positionOf(index), clockwise);
+        }
+    }
+
+    /**
+     * Changes the source in the gui. Uses the index, if the gui is an {@link IndexedGUIConnector}
+     *
+     * @param index index of the source or {@link GameField#NO_INDEX}
+     */
+    private void changeSourcePositionInGui(int index) {
+        if (gui instanceof IndexedGUIConnector indexedGui) {
+            indexedGui.changeSourcePosition(index);
+        } else {
+            gui.changeSourcePosition(gameField.positionOf(index));
+        }
+    }
+
+    /**
+     * Changes the field on the index in the gui. Uses the index, if the gui is an {@link IndexedGUIConnector}
+     *
+     * @param index index of the field
+     * @param type  new type to be displayed
+     */
+    private void changeFieldInGui(int index, PipeType type) {
+        if (gui instanceof IndexedGUIConnector indexedGui) {
+            indexedGui.changeField(index, type);
+        } else {
+            gui.changeField(gameField.positionOf(index), type);
+        }
+    }
 }
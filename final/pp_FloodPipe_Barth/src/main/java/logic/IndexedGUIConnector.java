@@ -0,0 +1,65 @@
+package logic;
+
+import logic.enums.PipeType;
+import logic.field.BoardView;
+import logic.field.FloodResult;
+import logic.field.GameField;
+
+/**
+ * Variant of the {@link GUIConnector} that receives the changes of single fields by their index (y * cols + x) instead
+ * of a {@link Position}. If the gui implements this interface, the {@link GameLogic} uses these methods, so no
+ * Position has to be created for a change.
+ *
+ * @author Philip Barth
+ */
+public interface IndexedGUIConnector extends GUIConnector {
+
+    /**
+     * This method displays the fill status of the game field with animation like
+     * {@link #displayFieldWithAnimation(BoardView, java.util.Map, java.util.Set, Integer)}, but receives the result of
+     * {@link GameField#analyze()}, which contains the connected fields level by level and the unconnected fields by
+     * their index, so no Position has to be created.
+     *
+     * @param gameField current GameField
+     * @param flood     result of the analysis of the field
+     * @param counter   amount of turns to finish the game or null, if the game is not finished
+     */
+    void displayFieldWithAnimation(BoardView gameField, FloodResult flood, Integer counter);
+
+    /**
+     * This method displays the current state of the game field like
+     * {@link #displayFieldWithoutAnimation(BoardView, Position, java.util.Set, boolean)}, but receives the result of
+     * {@link GameField#analyze()}, so no Position has to be created or looked up. The counter is displayed, if the
+     * field is solved.
+     *
+     * @param gameField   current GameField
+     * @param sourceIndex index of the Source or {@link GameField#NO_INDEX}
+     * @param flood       result of the analysis of the field
+     * @param counter     amount of turns to finish the game or null, if the game is not finished
+     */
+    void displayFieldWithoutAnimation(BoardView gameField, int sourceIndex, FloodResult flood, Integer counter);
+
+    /**
+     * This method rotates a field at a given index. It takes in the index of the pipe to be rotated and a boolean
+     * indicating whether the rotation should be clockwise or counter-clockwise.
+     *
+     * @param index     index of the Field to be rotated
+     * @param clockwise clockwise-flag
+     */
+    void turn(int index, boolean clockwise);
+
+    /**
+     * Changes the source position of the game to the provided index
+     *
+     * @param index index where the source should be placed or {@link GameField#NO_INDEX} to remove the source
+     */
+    void changeSourcePosition(int index);
+
+    /**
+     * Changes the Field at a given index.
+     *
+     * @param index index of the field to be changed
+     * @param type  new type to be displayed
+     */
+    void changeField(int index, PipeType type);
+}
@@ -0,0 +1,64 @@
+package logic;
+
+import logic.enums.MoveType;
+import logic.enums.PipeType;
+import logic.field.GameField;
+
+/**
+ * A single change of the game, which can be applied together with other moves by
+ * {@link GameLogic#applyMoves(java.util.List)}. Fields are addressed by their index (y * cols + x).
+ *
+ * @param type      kind of change
+ * @param index     index of the field or {@link GameField#NO_INDEX} to remove the source
+ * @param clockwise clockwise-flag of a turn
+ * @param pipeType  new type of a field change
+ * @author Philip Barth
+ */
+public record Move(MoveType type, int index, boolean clockwise, PipeType pipeType) {
+
+    /**
+     * Creates a move and checks, that it can be applied
+     *
+     * @throws IllegalArgumentException if the type is null or a field change has no new type
+     */
+    public Move {
+        if (type == null) {
+            throw new IllegalArgumentException("Die Art des Zuges fehlt.");
+        }
+        if (type == MoveType.CHANGE_FIELD && pipeType == null) {
+            throw new IllegalArgumentException("Der neue Typ des Feldes fehlt.");
+        }
+    }
+
+    /**
+     * Creates a move, which turns the pipe on the index provided
+     *
+     * @param index     index of the field
+     * @param clockwise clockwise-flag
+     * @return turn of the field
+     */
+    public static Move turn(int index, boolean clockwise) {
+        return new Move(MoveType.TURN, index, clockwise, null);
+    }
+
+    /**
+     * Creates a move, which sets a new pipe on the index provided
+     *
+     * @param index    index of the field
+     * @param pipeType new type of the field
+     * @return change of the field
+     */
+    public static Move changeField(int index, PipeType pipeType) {
+        return new Move(MoveType.CHANGE_FIELD, index, false, pipeType);
+    }
+
+    /**
+     * Creates a move, which moves the source to the index provided
+     *
+     * @param index index of the new source or {@link GameField#NO_INDEX} to remove the source
+     * @return change of the source
+     */
+    public static Move changeSource(int index) {
+        return new Move(MoveType.CHANGE_SOURCE, index, false, null);
+    }
+}
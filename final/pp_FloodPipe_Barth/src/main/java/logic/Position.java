@@ -2,25 +2,42 @@ package logic;
 
 import logic.enums.Direction;
 
-import java.util.Objects;
-
 /**
  * Class that represents a position on the field. It provides methods to get a neighbor position, to calculate overflow
- * and to check, if the position is valid.
+ * and to check, if the position is valid. The logic addresses cells by their index (y * cols + x), Positions are only
+ * a façade for it. Therefore, Positions with small coordinates are cached and provided by {@link #of(int, int)}.
  *
  * @author Philip Barth
  */
 public class Position {
 
+    /**
+     * Amount of cached coordinates in each dimension
+     */
+    private static final int CACHED_COORDINATES = 64;
+
+    /**
+     * Cached Positions, indexed by y * {@link #CACHED_COORDINATES} + x
+     */
+    private static final Position[] CACHE = new Position[CACHED_COORDINATES * CACHED_COORDINATES];
+
+    static {
+        for (int y = 0; y < CACHED_COORDINATES; y++) {
+            for (int x = 0; x < CACHED_COORDINATES; x++) {
+                CACHE[y * CACHED_COORDINATES + x] = new Position(x, y);
+            }
+        }
+    }
+
     /**
      * x-Coordinate
      */
-    private final Integer x;
+    private final int x;
 
     /**
      * y-Coordinate
      */
-    private final Integer y;
+    private final int y;
 
     /**
      * Default Constructor
@@ -37,12 +54,53 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * Provides the Position with the coordinates provided. Positions with small coordinates are taken from a cache,
+     * so no new instance is created.
+     *
+     * @param x x-Coordinate
+     * @param y y-Coordinate
+     * @return Position with the coordinates
+     * @throws IllegalArgumentException Exception thrown, if the coordinates are negative
+     */
+    public static Position of(int x, int y) throws IllegalArgumentException {
+        if (x >= 0 && y >= 0 && x < CACHED_COORDINATES && y < CACHED_COORDINATES) {
+            return CACHE[y * CACHED_COORDINATES + x];
+        }
+        return new Position(x, y);
+    }
+
+    /**
+     * Provides the Position of a cell index (y * cols + x)
+     *
+     * @param index index of the cell
+     * @param cols  amount of Columns on the field
+     * @return Position of the cell
+     * @throws IllegalArgumentException Exception thrown, if the index is negative
+     */
+    public static Position ofIndex(int index, int cols) throws IllegalArgumentException {
+        if (index < 0) {
+            throw new IllegalArgumentException("Eine Koordinate darf nicht negativ sein.");
+        }
+        return of(index % cols, index / cols);
+    }
+
+    /**
+     * Provides the index of this Position on a field (y * cols + x)
+     *
+     * @param cols amount of Columns on the field
+     * @return index of the cell
+     */
+    public int toIndex(int cols) {
+        return y * cols + x;
+    }
+
     /**
      * Getter for the x-Coordinate
      *
      * @return x-Coordinate
      */
-    public Integer x() {
+    public int x() {
         return x;
     }
 
@@ -51,7 +109,7 @@ public class Position {
      *
      * @return y-Coordinate
      */
-    public Integer y() {
+    public int y() {
         return y;
     }
 
@@ -81,14 +139,11 @@ public class Position {
             newY = calculateCoordinateWithOverflow(newY, rows);
         }
 
-        Position pos;
-        try {
-            pos = new Position(newX, newY);
-        //negative coordinate
-        } catch (IllegalArgumentException e) {
+        // Neighbor is out of the field
+        if (newX < 0 || newY < 0 || newX >= cols || newY >= rows) {
             return null;
         }
-        return pos.isInvalidPosition(cols, rows) ? null : pos;
+        return of(newX, newY);
     }
 
     /**
@@ -121,12 +176,12 @@ public class Position {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Position position = (Position) o;
-        return x.equals(position.x) && y.equals(position.y);
+        return x == position.x && y == position.y;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 }
 
@@ -1,11 +1,14 @@
 package logic.enums;
 
 import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Enum for a Direction. Provides methods for calculating Directions from int-Values, and opposite Direction values.
  * Each direction is represented by a bit mask stored in the mask field. The class contains four enum constants:
- * TOP, RIGHT, BOTTOM, and LEFT, each representing a direction.
+ * TOP, RIGHT, BOTTOM, and LEFT, each representing a direction. Besides the EnumSet based methods, the masks of a
+ * direction and its opposite can be tested against int-Values directly, which is used by the logic to avoid
+ * allocations.
  *
  * @author Philip Barth
  */
@@ -35,11 +38,22 @@ public enum Direction {
      * Constant for the maximum Value of a {@link PipeType} possible
      */
     private static final int MAX_VALUE_MASK = 14;
+
+    /**
+     * Mask containing all four directions
+     */
+    public static final int ALL_MASK = 0b1111;
+
     /**
      * Mask of this direction representing the int-Value
      */
     private final int mask;
 
+    /**
+     * Mask of the opposite direction. The opposite direction is two bits away, so the mask is rotated by two bits.
+     */
+    private final int oppositeMask;
+
     /**
      * Constructor with the corresponding mask
      *
@@ -47,6 +61,7 @@ public enum Direction {
      */
     Direction(int mask) {
         this.mask = mask;
+        this.oppositeMask = ((mask << 2) | (mask >>> 2)) & ALL_MASK;
     }
 
     /**
@@ -78,6 +93,20 @@ public enum Direction {
         }
     }
 
+    /**
+     * Provides an int-Value with the mask of every Direction in the Set provided
+     *
+     * @param directions Set of Directions
+     * @return int-Value with every Direction of the Set
+     */
+    public static int toMask(Set<Direction> directions) {
+        int value = 0;
+        for (Direction direction : directions) {
+            value |= direction.mask;
+        }
+        return value;
+    }
+
     /**
      * Getter for the mask
      *
@@ -87,6 +116,35 @@ public enum Direction {
         return mask;
     }
 
+    /**
+     * Getter for the mask of the opposite Direction
+     *
+     * @return mask of the opposite Direction
+     */
+    public int getOppositeMask() {
+        return oppositeMask;
+    }
+
+    /**
+     * Checks, if this Direction is set in the int-Value provided
+     *
+     * @param openings int-Value of openings
+     * @return true, if the bit of this direction is set
+     */
+    public boolean isSetIn(int openings) {
+        return (openings & mask) != 0;
+    }
+
+    /**
+     * Checks, if the opposite Direction is set in the int-Value provided
+     *
+     * @param openings int-Value of openings
+     * @return true, if the bit of the opposite direction is set
+     */
+    public boolean isOppositeSetIn(int openings) {
+        return (openings & oppositeMask) != 0;
+    }
+
     /**
      * Provides the opposite Direction
      *
@@ -0,0 +1,26 @@
+package logic.enums;
+
+import logic.Move;
+
+/**
+ * Enum representing the kind of change of a {@link Move}
+ *
+ * @author Philip Barth
+ */
+public enum MoveType {
+
+    /**
+     * Turns the pipe on a field, walls are not turned
+     */
+    TURN,
+
+    /**
+     * Sets a new pipe on a field
+     */
+    CHANGE_FIELD,
+
+    /**
+     * Moves the source to a field, which is not a wall
+     */
+    CHANGE_SOURCE
+}
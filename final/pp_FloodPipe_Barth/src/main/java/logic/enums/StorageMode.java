@@ -0,0 +1,27 @@
+package logic.enums;
+
+import logic.field.GameField;
+
+/**
+ * Enum representing where a {@link GameField} stores the opening masks of its cells
+ *
+ * @author Philip Barth
+ */
+public enum StorageMode {
+
+    /**
+     * Cells are stored in arrays on the Java heap
+     */
+    HEAP,
+
+    /**
+     * Cells are stored in native memory outside the Java heap, so they are not scanned by the garbage collector
+     */
+    OFF_HEAP,
+
+    /**
+     * Cells are stored in tiles on the Java heap. Tiles only containing walls are not allocated, so the memory depends
+     * on the amount of pipes instead of the size of the field
+     */
+    TILED
+}
@@ -0,0 +1,119 @@
+package logic.enums;
+
+import logic.Position;
+
+/**
+ * Enum representing how the borders of a field are connected. Inside the field every cell has its four neighbors, the
+ * topology only decides, which cell is the neighbor across a border. The neighbors are compiled into a table once per
+ * field, so the topology is never asked during a traversal.
+ *
+ * @author Philip Barth
+ */
+public enum Topology {
+
+    /**
+     * No border is connected, openings on the border have no neighbor
+     */
+    BOUNDED(false, false, false),
+
+    /**
+     * The left border is connected to the right border and the top border to the bottom border (overflow)
+     */
+    TORUS(true, true, false),
+
+    /**
+     * Only the left border is connected to the right border
+     */
+    CYLINDER(true, false, false),
+
+    /**
+     * The left border is connected to the right border, the top border is connected to the mirrored bottom border, so
+     * the cell in column x is the neighbor of the cell in column cols - 1 - x
+     */
+    KLEIN_BOTTLE(true, true, true);
+
+    /**
+     * Left border connected to the right border?
+     */
+    private final boolean connectsCols;
+
+    /**
+     * Top border connected to the bottom border?
+     */
+    private final boolean connectsRows;
+
+    /**
+     * Top border connected to the bottom border in reverse order?
+     */
+    private final boolean mirrorsRows;
+
+    /**
+     * Constructor with the connected borders
+     *
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     * @param mirrorsRows  top border connected to the bottom border in reverse order?
+     */
+    Topology(boolean connectsCols, boolean connectsRows, boolean mirrorsRows) {
+        this.connectsCols = connectsCols;
+        this.connectsRows = connectsRows;
+        this.mirrorsRows = mirrorsRows;
+    }
+
+    /**
+     * Provides the topology of the overflow-flag
+     *
+     * @param overflow overflow enabled?
+     * @return {@link #TORUS} with overflow, otherwise {@link #BOUNDED}
+     */
+    public static Topology of(boolean overflow) {
+        return overflow ? TORUS : BOUNDED;
+    }
+
+    /**
+     * Checks, if the left border is connected to the right border
+     *
+     * @return true, if the columns are connected
+     */
+    public boolean connectsCols() {
+        return connectsCols;
+    }
+
+    /**
+     * Checks, if the top border is connected to the bottom border
+     *
+     * @return true, if the rows are connected
+     */
+    public boolean connectsRows() {
+        return connectsRows;
+    }
+
+    /**
+     * Checks, if the top border is connected to the bottom border in reverse order
+     *
+     * @return true, if the columns are mirrored across the top and bottom border
+     */
+    public boolean mirrorsRows() {
+        return mirrorsRows;
+    }
+
+    /**
+     * Provides the neighbor of a cell on the border in the direction provided, which points out of the field
+     *
+     * @param x         x-Coordinate of the cell
+     * @param y         y-Coordinate of the cell
+     * @param direction direction pointing out of the field
+     * @param cols      amount of columns
+     * @param rows      amount of rows
+     * @return Position of the neighbor or null, if the border is not connected
+     */
+    public Position neighborAcrossBorder(int x, int y, Direction direction, int cols, int rows) {
+        int mirroredX = mirrorsRows ? cols - 1 - x : x;
+        return switch (direction) {
+            case TOP -> connectsRows ? Position.of(mirroredX, rows - 1) : null;
+            case BOTTOM -> connectsRows ? Position.of(mirroredX, 0) : null;
+            case LEFT -> connectsCols ? Position.of(cols - 1, y) : null;
+            case RIGHT -> connectsCols ? Position.of(0, y) : null;
+        };
+    }
+}
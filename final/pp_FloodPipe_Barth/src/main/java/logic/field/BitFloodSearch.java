@@ -0,0 +1,354 @@
+package logic.field;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Breadth-first search from the source of a {@link GameField} on the {@link BitPlanes} of the cells. The reached cells
+ * and the frontier are bitsets with 64 cells per word. An iteration pulls the frontier into the cells of the next
+ * level from the four directions and masks it with the connections of the neighbors, so 64 cells are expanded with a
+ * few word operations. Each iteration produces one level of the distances.
+ * <p>
+ * An iteration only visits the words around the frontier, the neighbors in other rows are at most one row of words
+ * away. If the rows are connected, the words of the first and the last row are visited as well. A frontier with less
+ * cells than words to be visited is expanded cell by cell on the connections instead, because the corridors of a
+ * generated field produce thousands of levels with only a few cells. Mirrored borders can not be shifted, so they are
+ * not supported. The arrays are kept between the searches like in {@link FloodSearch}.
+ * <p>
+ * The results are only valid until the next search. Is owned by a single field and not thread-safe.
+ *
+ * @author Philip Barth
+ */
+final class BitFloodSearch implements FloodFill {
+
+    /**
+     * Shift to get the word of a cell index
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Amount of levels the starts are created for initially
+     */
+    private static final int INITIAL_LEVELS = 16;
+
+    /**
+     * Connections to the right neighbor in the same row
+     */
+    private long[] right = new long[0];
+
+    /**
+     * Connections to the neighbor in the next row
+     */
+    private long[] down = new long[0];
+
+    /**
+     * Connections from the last column to the first column
+     */
+    private long[] rightAcross = new long[0];
+
+    /**
+     * Connections from the last row to the first row
+     */
+    private long[] downAcross = new long[0];
+
+    /**
+     * Cells reached by the search
+     */
+    private long[] visited = new long[0];
+
+    /**
+     * Cells of the current level
+     */
+    private long[] frontier = new long[0];
+
+    /**
+     * Cells of the next level
+     */
+    private long[] next = new long[0];
+
+    /**
+     * Reached cells ordered by their distance
+     */
+    private int[] cells = new int[0];
+
+    /**
+     * Start of every level in {@link #cells}, followed by the amount of reached cells
+     */
+    private int[] levelStarts = new int[INITIAL_LEVELS];
+
+    /**
+     * amount of cells reached by the last search
+     */
+    private int reached;
+
+    /**
+     * amount of levels of the last search
+     */
+    private int levels;
+
+    /**
+     * amount of cells of the field of the last search
+     */
+    private int size;
+
+    /**
+     * amount of columns of the field of the last search
+     */
+    private int cols;
+
+    /**
+     * index of the first cell in the last row of the field of the last search
+     */
+    private int lastRow;
+
+    /**
+     * Words around a frontier word, which can contain a neighbor of its cells
+     */
+    private int span;
+
+    /**
+     * Lowest word with a cell of the next level
+     */
+    private int nextLow;
+
+    /**
+     * Highest word with a cell of the next level
+     */
+    private int nextHigh;
+
+    /**
+     * Searches every cell connected to the source
+     *
+     * @param source       index of the source or {@link GameField#NO_INDEX}, if no cell is reached
+     * @param planes       bit planes of the cells
+     * @param cols         amount of columns
+     * @param size         amount of cells
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     * @return amount of reached cells
+     */
+    int run(int source, BitPlanes planes, int cols, int size, boolean connectsCols, boolean connectsRows) {
+        int words = prepare(size);
+        if (source == GameField.NO_INDEX) {
+            return 0;
+        }
+        planes.connections(right, down, rightAcross, downAcross, connectsCols, connectsRows);
+        this.cols = cols;
+        this.lastRow = size - cols;
+        // the neighbors in other rows and across the columns are less than a row of words away
+        this.span = (cols >>> WORD_SHIFT) + 2;
+
+        visited[source >>> WORD_SHIFT] = 1L << source;
+        cells[reached++] = source;
+        levels = 1;
+        int low = source >>> WORD_SHIFT;
+        int high = low;
+        int levelStart = 0;
+        while (levelStart < reached) {
+            int levelEnd = reached;
+            nextLow = words;
+            nextHigh = -1;
+            // the rows across the top and bottom border are visited as well
+            int wordsToVisit = high - low + 1 + 2 * span + (connectsRows ? 2 * span : 0);
+            if (levelEnd - levelStart < wordsToVisit) {
+                expandCells(levelStart, levelEnd);
+            } else {
+                expandWords(levelStart, levelEnd, low, high, words, connectsCols, connectsRows);
+            }
+            if (reached > levelEnd) {
+                if (levels + 1 == levelStarts.length) {
+                    levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+                }
+                levelStarts[levels++] = levelEnd;
+            }
+            levelStart = levelEnd;
+            low = nextLow;
+            high = nextHigh;
+        }
+        levelStarts[levels] = reached;
+        return reached;
+    }
+
+    /**
+     * Adds the next level by checking the connections of every cell of the current level. Used for a frontier with
+     * less cells than words to be visited, like the long corridors of a generated field.
+     *
+     * @param levelStart position of the first cell of the current level in {@link #cells}
+     * @param levelEnd   position after the last cell of the current level in {@link #cells}
+     */
+    private void expandCells(int levelStart, int levelEnd) {
+        for (int i = levelStart; i < levelEnd; i++) {
+            int cell = cells[i];
+            // a connection is stored in the cell on its left or upper end
+            if (isSet(right, cell)) {
+                visit(cell + 1);
+            }
+            if (isSet(right, cell - 1)) {
+                visit(cell - 1);
+            }
+            if (isSet(down, cell)) {
+                visit(cell + cols);
+            }
+            if (isSet(down, cell - cols)) {
+                visit(cell - cols);
+            }
+            if (isSet(rightAcross, cell)) {
+                visit(cell - (cols - 1));
+            }
+            if (isSet(rightAcross, cell + cols - 1)) {
+                visit(cell + cols - 1);
+            }
+            if (isSet(downAcross, cell)) {
+                visit(cell - lastRow);
+            }
+            if (isSet(downAcross, cell + lastRow)) {
+                visit(cell + lastRow);
+            }
+        }
+    }
+
+    /**
+     * Adds the next level by pulling the frontier into the words around it, 64 cells at once
+     *
+     * @param levelStart   position of the first cell of the current level in {@link #cells}
+     * @param levelEnd     position after the last cell of the current level in {@link #cells}
+     * @param low          lowest word with a cell of the current level
+     * @param high         highest word with a cell of the current level
+     * @param words        amount of words
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     */
+    private void expandWords(int levelStart, int levelEnd, int low, int high, int words, boolean connectsCols,
+                             boolean connectsRows) {
+        for (int i = levelStart; i < levelEnd; i++) {
+            frontier[cells[i] >>> WORD_SHIFT] |= 1L << cells[i];
+        }
+        expand(Math.max(low - span, 0), Math.min(high + span + 1, words), connectsCols, connectsRows);
+        if (connectsRows) {
+            // the neighbors across the top and bottom border are in the first and the last row
+            expand(0, Math.min(span, words), connectsCols, true);
+            expand(Math.max(words - span, 0), words, connectsCols, true);
+        }
+        Arrays.fill(frontier, low, high + 1, 0L);
+        for (int w = nextLow; w <= nextHigh; w++) {
+            long bits = next[w];
+            visited[w] |= bits;
+            next[w] = 0;
+            while (bits != 0) {
+                cells[reached++] = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Collects the unvisited cells of the words provided, which are connected to a cell of the frontier, in
+     * {@link #next} and extends the range of the next level. A word can be collected more than once, it gets the same
+     * cells every time.
+     *
+     * @param from         first word
+     * @param to           word after the last word
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     */
+    private void expand(int from, int to, boolean connectsCols, boolean connectsRows) {
+        for (int w = from; w < to; w++) {
+            long base = (long) w << WORD_SHIFT;
+            // from the left, the right, the upper and the lower neighbor
+            long bits = BitPlanes.bitsAt(frontier, base - 1) & BitPlanes.bitsAt(right, base - 1)
+                    | BitPlanes.bitsAt(frontier, base + 1) & right[w]
+                    | BitPlanes.bitsAt(frontier, base - cols) & BitPlanes.bitsAt(down, base - cols)
+                    | BitPlanes.bitsAt(frontier, base + cols) & down[w];
+            if (connectsCols) {
+                // from the last column into the first column and back
+                bits |= BitPlanes.bitsAt(frontier, base + cols - 1) & BitPlanes.bitsAt(rightAcross, base + cols - 1)
+                        | BitPlanes.bitsAt(frontier, base - (cols - 1)) & rightAcross[w];
+            }
+            if (connectsRows) {
+                // from the last row into the first row and back
+                bits |= BitPlanes.bitsAt(frontier, base + lastRow) & BitPlanes.bitsAt(downAcross, base + lastRow)
+                        | BitPlanes.bitsAt(frontier, base - lastRow) & downAcross[w];
+            }
+            bits &= ~visited[w];
+            next[w] = bits;
+            if (bits != 0) {
+                nextLow = Math.min(nextLow, w);
+                nextHigh = Math.max(nextHigh, w);
+            }
+        }
+    }
+
+    /**
+     * Checks, if the bit of a cell is set in a plane. Cells outside the field are not set.
+     *
+     * @param plane plane to be read
+     * @param index index of the cell, can be outside the field
+     * @return true, if the bit is set
+     */
+    private boolean isSet(long[] plane, int index) {
+        return index >= 0 && index < size && (plane[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     * Adds a cell to the next level, if it was not reached yet
+     *
+     * @param index index of the cell
+     */
+    private void visit(int index) {
+        int word = index >>> WORD_SHIFT;
+        long bit = 1L << index;
+        if ((visited[word] & bit) == 0) {
+            visited[word] |= bit;
+            cells[reached++] = index;
+            nextLow = Math.min(nextLow, word);
+            nextHigh = Math.max(nextHigh, word);
+        }
+    }
+
+    /**
+     * Resets the results and clears the bitsets. Replaces the arrays, if the field got bigger.
+     *
+     * @param size amount of cells of the field
+     * @return amount of words of the bitsets
+     */
+    private int prepare(int size) {
+        int words = (size + Long.SIZE - 1) >>> WORD_SHIFT;
+        if (visited.length < words) {
+            right = new long[words];
+            down = new long[words];
+            rightAcross = new long[words];
+            downAcross = new long[words];
+            visited = new long[words];
+            frontier = new long[words];
+            next = new long[words];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+        }
+        if (cells.length < size) {
+            cells = new int[size];
+        }
+        this.size = size;
+        this.reached = 0;
+        this.levels = 0;
+        levelStarts[0] = 0;
+        return words;
+    }
+
+    @Override
+    public boolean isVisited(int index) {
+        return (visited[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    @Override
+    public BitSet toBitSet() {
+        return BitSet.valueOf(Arrays.copyOf(visited, (size + Long.SIZE - 1) >>> WORD_SHIFT));
+    }
+
+    @Override
+    public DistanceLevels toLevels() {
+        if (reached == 0) {
+            return DistanceLevels.empty(size);
+        }
+        return new DistanceLevels(Arrays.copyOf(cells, reached), Arrays.copyOf(levelStarts, levels + 1), size);
+    }
+}
@@ -0,0 +1,240 @@
+package logic.field;
+
+import logic.enums.Direction;
+
+/**
+ * Bitboard of a {@link GameField} with one bit plane per {@link Direction}. A bit of a plane is set, if the cell has an
+ * opening in the direction of the plane. The bits are addressed by the index of the cell (y * cols + x), 64 cells per
+ * word. A wall has no bit set in any plane.
+ * <p>
+ * The connection of neighbors is checked by comparing a plane with the plane of the opposite direction shifted by the
+ * offset of the neighbor, so 64 cells are checked with a few word operations. The cells of the first and last column
+ * are masked, because their horizontal neighbors are in another row or, if the columns are not connected, do not
+ * exist. Only borders connected in the same order can be checked by a shift, so mirrored borders are not supported.
+ *
+ * @author Philip Barth
+ */
+final class BitPlanes {
+
+    /**
+     * Amount of cells in a word of a plane
+     */
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    /**
+     * Shift to get the word of a cell index
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Planes of the openings, indexed by the ordinal of the direction
+     */
+    private final long[][] planes;
+
+    /**
+     * Cells in the first column
+     */
+    private final long[] firstCol;
+
+    /**
+     * Cells in the last column
+     */
+    private final long[] lastCol;
+
+    /**
+     * amount of columns
+     */
+    private final int cols;
+
+    /**
+     * amount of cells
+     */
+    private final int size;
+
+    /**
+     * Creates the planes of the cells provided
+     *
+     * @param cells cells of the field
+     * @param cols  amount of columns
+     * @param rows  amount of rows
+     */
+    BitPlanes(CellStorage cells, int cols, int rows) {
+        this.cols = cols;
+        this.size = cols * rows;
+        int words = (size + BITS_PER_WORD - 1) >>> WORD_SHIFT;
+        this.planes = new long[Direction.values().length][words];
+        this.firstCol = new long[words];
+        this.lastCol = new long[words];
+        for (int y = 0; y < rows; y++) {
+            setBit(firstCol, y * cols);
+            setBit(lastCol, y * cols + cols - 1);
+        }
+        for (int i = 0; i < size; i++) {
+            set(i, cells.get(i));
+        }
+    }
+
+    /**
+     * Sets the bit of a cell in a plane
+     *
+     * @param plane plane to be changed
+     * @param index index of the cell
+     */
+    private static void setBit(long[] plane, int index) {
+        plane[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    /**
+     * Provides 64 bits of a plane starting at the bit provided. Bits outside the plane are 0.
+     *
+     * @param plane plane to be read
+     * @param bit   index of the first bit, can be negative
+     * @return bits of the plane
+     */
+    static long bitsAt(long[] plane, long bit) {
+        int word = (int) Math.floorDiv(bit, BITS_PER_WORD);
+        int shift = Math.floorMod(bit, BITS_PER_WORD);
+        long low = wordAt(plane, word) >>> shift;
+        return shift == 0 ? low : low | wordAt(plane, word + 1) << (BITS_PER_WORD - shift);
+    }
+
+    /**
+     * Provides a word of a plane, words outside the plane are 0
+     *
+     * @param plane plane to be read
+     * @param word  index of the word
+     * @return word of the plane
+     */
+    private static long wordAt(long[] plane, int word) {
+        return word >= 0 && word < plane.length ? plane[word] : 0;
+    }
+
+    /**
+     * Provides a mask of the cells in the word, whose index is in the range provided
+     *
+     * @param word index of the word
+     * @param from first index of the range
+     * @param to   index after the range
+     * @return mask of the cells in the range
+     */
+    private static long rangeMask(int word, long from, long to) {
+        long first = (long) word << WORD_SHIFT;
+        long start = Math.max(from - first, 0);
+        long end = Math.min(to - first, BITS_PER_WORD);
+        if (start >= end) {
+            return 0;
+        }
+        long upTo = end == BITS_PER_WORD ? -1L : (1L << end) - 1;
+        return upTo & (-1L << start);
+    }
+
+    /**
+     * Sets the openings of a cell
+     *
+     * @param index    index of the cell
+     * @param openings opening mask of the cell
+     */
+    void set(int index, int openings) {
+        int word = index >>> WORD_SHIFT;
+        long bit = 1L << index;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isSetIn(openings)) {
+                planes[direction.ordinal()][word] |= bit;
+            } else {
+                planes[direction.ordinal()][word] &= ~bit;
+            }
+        }
+    }
+
+    /**
+     * Checks, if every opening has a matching opening of the neighbor in its direction. Cells with all four openings
+     * are not allowed.
+     *
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     * @return true, if all openings are connected
+     */
+    boolean allOpeningsConnected(boolean connectsCols, boolean connectsRows) {
+        long[] top = planes[Direction.TOP.ordinal()];
+        long[] right = planes[Direction.RIGHT.ordinal()];
+        long[] bottom = planes[Direction.BOTTOM.ordinal()];
+        long[] left = planes[Direction.LEFT.ordinal()];
+        long lastRow = size - cols;
+        long mismatch = 0;
+        for (int w = 0; w < top.length && mismatch == 0; w++) {
+            long base = (long) w << WORD_SHIFT;
+            long valid = rangeMask(w, 0, size);
+            // every cell with all openings is not a pipe
+            mismatch |= top[w] & right[w] & bottom[w] & left[w] & valid;
+
+            // right opening and left opening of the next cell in the same row
+            mismatch |= (right[w] ^ bitsAt(left, base + 1)) & valid & ~lastCol[w];
+            // bottom opening and top opening of the cell in the next row
+            mismatch |= (bottom[w] ^ bitsAt(top, base + cols)) & rangeMask(w, 0, lastRow);
+
+            // openings on a connected border are connected to the opposite border, otherwise they have no neighbor
+            if (connectsCols) {
+                mismatch |= (right[w] ^ bitsAt(left, base - (cols - 1))) & lastCol[w];
+            } else {
+                mismatch |= (right[w] & lastCol[w]) | (left[w] & firstCol[w]);
+            }
+            if (connectsRows) {
+                mismatch |= (bottom[w] ^ bitsAt(top, base - lastRow)) & rangeMask(w, lastRow, size);
+            } else {
+                mismatch |= (bottom[w] & rangeMask(w, lastRow, size)) | (top[w] & rangeMask(w, 0, cols));
+            }
+        }
+        return mismatch == 0;
+    }
+
+    /**
+     * Fills the planes of the connections between neighbors. A bit is set, if the cell and its neighbor have matching
+     * openings towards each other, so a connection is only stored in the cell on its left or upper end. Connections
+     * across a border are stored in the cell in the last column or the last row.
+     *
+     * @param right        connections to the right neighbor in the same row
+     * @param down         connections to the neighbor in the next row
+     * @param rightAcross  connections from the last column to the first column, only if the columns are connected
+     * @param downAcross   connections from the last row to the first row, only if the rows are connected
+     * @param connectsCols left border connected to the right border?
+     * @param connectsRows top border connected to the bottom border?
+     */
+    void connections(long[] right, long[] down, long[] rightAcross, long[] downAcross, boolean connectsCols,
+                     boolean connectsRows) {
+        long[] top = planes[Direction.TOP.ordinal()];
+        long[] rightPlane = planes[Direction.RIGHT.ordinal()];
+        long[] bottom = planes[Direction.BOTTOM.ordinal()];
+        long[] left = planes[Direction.LEFT.ordinal()];
+        long lastRow = size - cols;
+        for (int w = 0; w < top.length; w++) {
+            long base = (long) w << WORD_SHIFT;
+            long valid = rangeMask(w, 0, size);
+            right[w] = rightPlane[w] & bitsAt(left, base + 1) & valid & ~lastCol[w];
+            down[w] = bottom[w] & bitsAt(top, base + cols) & rangeMask(w, 0, lastRow);
+            rightAcross[w] = connectsCols ? rightPlane[w] & bitsAt(left, base - (cols - 1)) & lastCol[w] : 0;
+            downAcross[w] = connectsRows ? bottom[w] & bitsAt(top, base - lastRow) & rangeMask(w, lastRow, size) : 0;
+        }
+    }
+
+    /**
+     * Counts the cells without any opening
+     *
+     * @return amount of walls
+     */
+    int countWalls() {
+        long[] top = planes[Direction.TOP.ordinal()];
+        long[] right = planes[Direction.RIGHT.ordinal()];
+        long[] bottom = planes[Direction.BOTTOM.ordinal()];
+        long[] left = planes[Direction.LEFT.ordinal()];
+        int pipes = 0;
+        for (int w = 0; w < top.length; w++) {
+            pipes += Long.bitCount(top[w] | right[w] | bottom[w] | left[w]);
+        }
+        return size - pipes;
+    }
+}
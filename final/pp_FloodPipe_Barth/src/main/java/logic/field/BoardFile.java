@@ -0,0 +1,299 @@
+package logic.field;
+
+import logic.Position;
+import logic.enums.Topology;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File containing a {@link GameField}, which is mapped into memory. The file starts with a header of
+ * {@link #HEADER_BYTES} bytes containing the dimensions, the source and the topology, followed by the packed words of
+ * the cells in the layout of {@link CellStorage}. Every value is stored in little-endian byte order.
+ * <p>
+ * The cells are provided as an {@link OffHeapCellStorage} of the mapping, so they are never loaded onto the heap and
+ * every change is written through to the file by the operating system. A new file is written next to the path and moved
+ * into place afterwards, so a file is never truncated while it is still mapped.
+ *
+ * @author Philip Barth
+ */
+final class BoardFile {
+
+    /**
+     * Value at the start of every board file ("FPB1")
+     */
+    private static final int MAGIC = 0x46504231;
+
+    /**
+     * Amount of bytes of the header, the words of the cells start afterwards
+     */
+    private static final int HEADER_BYTES = 32;
+
+    /**
+     * Offset of the amount of columns in the header
+     */
+    private static final int COLS_OFFSET = 4;
+
+    /**
+     * Offset of the amount of rows in the header
+     */
+    private static final int ROWS_OFFSET = 8;
+
+    /**
+     * Offset of the x-coordinate of the source in the header
+     */
+    private static final int SOURCE_X_OFFSET = 12;
+
+    /**
+     * Offset of the y-coordinate of the source in the header
+     */
+    private static final int SOURCE_Y_OFFSET = 16;
+
+    /**
+     * Offset of the ordinal of the {@link Topology} in the header. Files without overflow contain 0
+     * ({@link Topology#BOUNDED}), files with overflow contain 1 ({@link Topology#TORUS}).
+     */
+    private static final int TOPOLOGY_OFFSET = 20;
+
+    /**
+     * Coordinate stored, if the field has no source
+     */
+    private static final int NO_SOURCE = -1;
+
+    /**
+     * Mapping of the whole file
+     */
+    private final MappedByteBuffer mapping;
+
+    /**
+     * Path the file was mapped from
+     */
+    private final Path path;
+
+    /**
+     * amount of columns
+     */
+    private final int cols;
+
+    /**
+     * amount of rows
+     */
+    private final int rows;
+
+    /**
+     * Creates a board file from a mapping with a valid header
+     *
+     * @param mapping mapping of the whole file
+     * @param path    path the file was mapped from
+     */
+    private BoardFile(MappedByteBuffer mapping, Path path) {
+        this.mapping = mapping;
+        this.path = path;
+        this.cols = mapping.getInt(COLS_OFFSET);
+        this.rows = mapping.getInt(ROWS_OFFSET);
+    }
+
+    /**
+     * Maps an existing board file. The header is validated and the words of the cells are scanned once, so every
+     * cell of a mapped file is a valid pipe or a wall.
+     *
+     * @param path path of the file
+     * @return mapped board file
+     * @throws IOException if the file can not be mapped or is not a valid board file
+     */
+    static BoardFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Die Datei enthält kein Spielfeld: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int cols = header.getInt(COLS_OFFSET);
+            int rows = header.getInt(ROWS_OFFSET);
+            if (header.getInt(0) != MAGIC || cols < GameField.MIN_AMOUNT_COLS || rows < GameField.MIN_AMOUNT_ROWS
+                    || (long) cols * rows > Integer.MAX_VALUE || channel.size() < fileSize(cols * rows)) {
+                throw new IOException("Die Datei enthält kein gültiges Spielfeld: " + path);
+            }
+            int sourceX = header.getInt(SOURCE_X_OFFSET);
+            int sourceY = header.getInt(SOURCE_Y_OFFSET);
+            if (sourceX != NO_SOURCE && (sourceX < 0 || sourceX >= cols || sourceY < 0 || sourceY >= rows)) {
+                throw new IOException("Die Quelle liegt nicht im Spielfeld: " + path);
+            }
+            if (header.get(TOPOLOGY_OFFSET) < 0 || header.get(TOPOLOGY_OFFSET) >= Topology.values().length) {
+                throw new IOException("Die Datei enthält keine gültige Topologie: " + path);
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(cols * rows));
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            if (!cellsValid(mapping, cols * rows)) {
+                throw new IOException("Die Datei enthält kein gültiges Spielfeld: " + path);
+            }
+            return new BoardFile(mapping, path);
+        }
+    }
+
+    /**
+     * Checks the words of the cells of a mapping. Every cell must be at most {@link GameFieldData#MAX_VALUE_PIPE} and
+     * the unused cells of the last word must be walls. The words are read one after another from the mapping.
+     *
+     * @param mapping mapping of the whole file
+     * @param size    amount of cells
+     * @return true, if every cell is valid
+     */
+    private static boolean cellsValid(MappedByteBuffer mapping, int size) {
+        int words = CellStorage.wordsFor(size);
+        boolean valid = true;
+        for (int i = 0; i < words && valid; i++) {
+            valid = !CellStorage.containsAllOpenings(mapping.getLong(HEADER_BYTES + i * Long.BYTES));
+        }
+        int usedInLastWord = size & (CellStorage.CELLS_PER_WORD - 1);
+        if (valid && usedInLastWord != 0) {
+            long lastWord = mapping.getLong(HEADER_BYTES + (words - 1) * Long.BYTES);
+            valid = lastWord >>> (usedInLastWord * CellStorage.BITS_PER_CELL) == 0;
+        }
+        return valid;
+    }
+
+    /**
+     * Writes a new board file containing the values provided and maps it. An existing file is replaced. The cells are
+     * written word by word into the mapping of a temporary file in the same directory, which is moved to the path
+     * afterwards. A field mapped from the path keeps reading its own cells while they are written, but is no longer
+     * attached to the path afterwards.
+     *
+     * @param path     path of the file
+     * @param cols     amount of columns
+     * @param rows     amount of rows
+     * @param source   position of the source, can be null
+     * @param topology connection of the borders
+     * @param cells    cells of the field
+     * @return mapped board file
+     * @throws IOException if the file can not be written
+     */
+    static BoardFile create(Path path, int cols, int rows, Position source, Topology topology, CellStorage cells)
+            throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            MappedByteBuffer mapping;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(cols * rows));
+            }
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            mapping.putInt(0, MAGIC);
+            mapping.putInt(COLS_OFFSET, cols);
+            mapping.putInt(ROWS_OFFSET, rows);
+            for (int i = 0; i < cells.words(); i++) {
+                mapping.putLong(HEADER_BYTES + i * Long.BYTES, cells.getWord(i));
+            }
+            BoardFile file = new BoardFile(mapping, path);
+            file.setSource(source);
+            file.setTopology(topology);
+            mapping.force();
+            // the mapping stays valid, it belongs to the file and not to its name
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Checks, if this file was mapped from the path provided
+     *
+     * @param other path to be checked
+     * @return true, if the path leads to this file
+     * @throws IOException if the paths can not be compared
+     */
+    boolean isMappedFrom(Path other) throws IOException {
+        return Files.exists(other) && Files.isSameFile(path, other);
+    }
+
+    /**
+     * Writes the changes of the mapping to the storage device
+     */
+    void force() {
+        mapping.force();
+    }
+
+    /**
+     * Calculates the size of a file containing the amount of cells provided
+     *
+     * @param size amount of cells
+     * @return size of the file in bytes
+     */
+    private static long fileSize(int size) {
+        return HEADER_BYTES + (long) CellStorage.wordsFor(size) * Long.BYTES;
+    }
+
+    /**
+     * Provides the cells of the file. Changes of the cells are written to the file.
+     *
+     * @return cells of the file
+     */
+    OffHeapCellStorage getCells() {
+        int size = cols * rows;
+        return new OffHeapCellStorage(size, mapping.slice(HEADER_BYTES, CellStorage.wordsFor(size) * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Getter for the amount of columns
+     *
+     * @return amount of columns
+     */
+    int getCols() {
+        return cols;
+    }
+
+    /**
+     * Getter for the amount of rows
+     *
+     * @return amount of rows
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Getter for the source
+     *
+     * @return position of the source or null, if no source is set
+     */
+    Position getSource() {
+        int x = mapping.getInt(SOURCE_X_OFFSET);
+        return x == NO_SOURCE ? null : Position.of(x, mapping.getInt(SOURCE_Y_OFFSET));
+    }
+
+    /**
+     * Writes the source to the file
+     *
+     * @param source position of the source, can be null
+     */
+    void setSource(Position source) {
+        mapping.putInt(SOURCE_X_OFFSET, source == null ? NO_SOURCE : source.x());
+        mapping.putInt(SOURCE_Y_OFFSET, source == null ? NO_SOURCE : source.y());
+    }
+
+    /**
+     * Getter for the topology
+     *
+     * @return connection of the borders
+     */
+    Topology getTopology() {
+        return Topology.values()[mapping.get(TOPOLOGY_OFFSET)];
+    }
+
+    /**
+     * Writes the topology to the file
+     *
+     * @param topology connection of the borders
+     */
+    void setTopology(Topology topology) {
+        mapping.put(TOPOLOGY_OFFSET, (byte) topology.ordinal());
+    }
+}
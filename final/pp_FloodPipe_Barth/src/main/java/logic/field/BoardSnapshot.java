@@ -0,0 +1,65 @@
+package logic.field;
+
+/**
+ * Stable {@link BoardView} of a {@link GameField} at a specific revision. The cells are copied once while creating the
+ * snapshot, later changes of the field are not visible.
+ *
+ * @author Philip Barth
+ */
+final class BoardSnapshot implements BoardView {
+
+    /**
+     * Copied cells of the field
+     */
+    private final CellStorage cells;
+
+    /**
+     * amount of columns
+     */
+    private final int cols;
+
+    /**
+     * amount of rows
+     */
+    private final int rows;
+
+    /**
+     * Revision of the field, when the snapshot was created
+     */
+    private final long revision;
+
+    /**
+     * Creates a snapshot from the cells provided. The cells must not be changed afterwards.
+     *
+     * @param cells    cells of the field
+     * @param cols     amount of columns
+     * @param rows     amount of rows
+     * @param revision revision of the field
+     */
+    BoardSnapshot(CellStorage cells, int cols, int rows, long revision) {
+        this.cells = cells;
+        this.cols = cols;
+        this.rows = rows;
+        this.revision = revision;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getOpeningMaskAt(int index) {
+        return cells.get(index);
+    }
+
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+}
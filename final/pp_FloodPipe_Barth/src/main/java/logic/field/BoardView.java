@@ -0,0 +1,64 @@
+package logic.field;
+
+import logic.enums.PipeType;
+import logic.enums.Rotation;
+
+/**
+ * Read-only view of the cells of a board. Cells are addressed by their index (y * cols + x). The {@link GameField}
+ * itself is a view, so reading it does not copy any cell. Such a view changes with the field, which is recognizable by
+ * the {@link #getRevision()}. Consumers that need to keep the cells for later use obtain a stable copy with
+ * {@link GameField#snapshot()}.
+ *
+ * @author Philip Barth
+ */
+public interface BoardView {
+
+    /**
+     * Getter for the amount of Columns
+     *
+     * @return amount of Columns
+     */
+    int getCols();
+
+    /**
+     * Getter for the amount of Rows
+     *
+     * @return amount of Rows
+     */
+    int getRows();
+
+    /**
+     * Provides the opening mask of the cell at the index provided
+     *
+     * @param index index of the cell
+     * @return opening mask of the cell
+     */
+    int getOpeningMaskAt(int index);
+
+    /**
+     * Provides the PipeType of the cell at the index provided
+     *
+     * @param index index of the cell
+     * @return PipeType of the cell
+     */
+    default PipeType getPipeTypeAt(int index) {
+        return Pipe.of(getOpeningMaskAt(index)).getType();
+    }
+
+    /**
+     * Provides the Rotation of the cell at the index provided
+     *
+     * @param index index of the cell
+     * @return Rotation of the cell
+     */
+    default Rotation getRotationAt(int index) {
+        return Pipe.of(getOpeningMaskAt(index)).getRotation();
+    }
+
+    /**
+     * Provides the revision of the cells. The revision changes with every change of the board.
+     *
+     * @return revision of the board
+     */
+    long getRevision();
+}
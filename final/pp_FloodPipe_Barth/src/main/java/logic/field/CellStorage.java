@@ -0,0 +1,276 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+
+/**
+ * Storage for the cells of a {@link GameField}. Every cell is stored as its 4-bit opening mask (the same encoding as
+ * {@link Pipe#toInt()} and {@link GameFieldData}), sixteen cells packed into one long word. Cells are addressed by
+ * their index (y * cols + x). A mask of 0 represents a wall, so a new storage only contains walls.
+ * <p>
+ * Every implementation uses the same packing, so storages of different {@link StorageMode}s with the same cells are
+ * equal.
+ *
+ * @author Philip Barth
+ */
+abstract class CellStorage {
+
+    /**
+     * Amount of cells stored in one word
+     */
+    static final int CELLS_PER_WORD = 16;
+
+    /**
+     * Shift to get the word of a cell index
+     */
+    static final int WORD_SHIFT = 4;
+
+    /**
+     * Amount of bits used for a single cell
+     */
+    static final int BITS_PER_CELL = 4;
+
+    /**
+     * Mask for the bits of a single cell
+     */
+    static final long CELL_MASK = 0xFL;
+
+    /**
+     * Mask of the lowest bit of every cell in a word
+     */
+    private static final long LOWEST_BITS = 0x1111_1111_1111_1111L;
+
+    /**
+     * Amount of cells in this storage
+     */
+    private final int size;
+
+    /**
+     * Creates a storage for the provided amount of cells
+     *
+     * @param size amount of cells
+     */
+    CellStorage(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Creates a storage of the mode provided for a field with the dimensions provided. Every cell is initialized as a
+     * wall.
+     *
+     * @param mode storage mode
+     * @param cols amount of columns
+     * @param rows amount of rows
+     * @return new storage
+     */
+    static CellStorage create(StorageMode mode, int cols, int rows) {
+        return switch (mode) {
+            case HEAP -> new PackedCellStorage(cols * rows);
+            case OFF_HEAP -> new OffHeapCellStorage(cols * rows);
+            case TILED -> new TiledCellStorage(cols, rows);
+        };
+    }
+
+    /**
+     * Calculates the amount of words needed for the amount of cells provided
+     *
+     * @param size amount of cells
+     * @return amount of words
+     */
+    static int wordsFor(int size) {
+        return (size + CELLS_PER_WORD - 1) >>> WORD_SHIFT;
+    }
+
+    /**
+     * Provides a word, which contains the mask provided in every cell
+     *
+     * @param mask mask of every cell
+     * @return filled word
+     */
+    static long filledWord(int mask) {
+        long word = 0;
+        for (int i = 0; i < CELLS_PER_WORD; i++) {
+            word |= (mask & CELL_MASK) << (i * BITS_PER_CELL);
+        }
+        return word;
+    }
+
+    /**
+     * Provides the last word of a storage filled with the mask provided. The unused cells of the last word stay empty,
+     * so equals and hashCode only depend on the used cells.
+     *
+     * @param size amount of cells
+     * @param mask mask of every cell
+     * @return filled last word
+     */
+    static long filledLastWord(int size, int mask) {
+        int usedInLastWord = size & (CELLS_PER_WORD - 1);
+        long word = filledWord(mask);
+        return usedInLastWord == 0 ? word : word & ((1L << (usedInLastWord * BITS_PER_CELL)) - 1);
+    }
+
+    /**
+     * Calculates the shift of a cell inside its word
+     *
+     * @param index index of the cell
+     * @return shift of the cell
+     */
+    static int shiftOf(int index) {
+        return (index & (CELLS_PER_WORD - 1)) * BITS_PER_CELL;
+    }
+
+    /**
+     * Turns every cell of a word clockwise by the amount of turns provided, like {@link Pipe#turnOpenings(int, boolean)}
+     * does for a single cell. Rotates the four bits of every cell at once.
+     *
+     * @param word  packed cells
+     * @param turns amount of clockwise turns (1 to 3)
+     * @return packed turned cells
+     */
+    static long turnAll(long word, int turns) {
+        long kept = LOWEST_BITS * ((CELL_MASK << turns) & CELL_MASK);
+        long wrapped = LOWEST_BITS * (CELL_MASK >>> (BITS_PER_CELL - turns));
+        return ((word << turns) & kept) | ((word >>> (BITS_PER_CELL - turns)) & wrapped);
+    }
+
+    /**
+     * Turns every cell of a word clockwise by its own amount of turns. A cell is turned once, if the lowest bit of the
+     * cell is set in once, and twice more, if it is set in twice. Walls and cells with all openings do not change.
+     *
+     * @param word  packed cells
+     * @param once  cells to be turned once in their lowest bit
+     * @param twice cells to be turned twice in their lowest bit
+     * @return packed turned cells
+     */
+    static long turnEach(long word, long once, long twice) {
+        // spread the lowest bit of every cell to all bits of the cell
+        long onceMask = (once & LOWEST_BITS) * CELL_MASK;
+        long twiceMask = (twice & LOWEST_BITS) * CELL_MASK;
+        long turned = (turnAll(word, 1) & onceMask) | (word & ~onceMask);
+        return (turnAll(turned, 2) & twiceMask) | (turned & ~twiceMask);
+    }
+
+    /**
+     * Checks, if a cell of a word has all four bits set. No pipe has four openings, so such a cell is not valid.
+     *
+     * @param word packed cells
+     * @return true, if at least one cell has all bits set
+     */
+    static boolean containsAllOpenings(long word) {
+        return (word & word >>> 1 & word >>> 2 & word >>> 3 & LOWEST_BITS) != 0;
+    }
+
+    /**
+     * Getter for the amount of cells
+     *
+     * @return amount of cells
+     */
+    final int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the amount of words
+     *
+     * @return amount of words
+     */
+    final int words() {
+        return wordsFor(size);
+    }
+
+    /**
+     * Provides the mode of this storage
+     *
+     * @return storage mode
+     */
+    abstract StorageMode getMode();
+
+    /**
+     * Provides the word at the index provided, containing sixteen cells
+     *
+     * @param word index of the word
+     * @return packed cells of the word
+     */
+    abstract long getWord(int word);
+
+    /**
+     * Sets the word at the index provided, containing sixteen cells. The unused cells of the last word must be 0.
+     *
+     * @param word  index of the word
+     * @param value packed cells of the word
+     */
+    abstract void setWord(int word, long value);
+
+    /**
+     * Provides the opening mask of the cell at the index provided
+     *
+     * @param index index of the cell
+     * @return opening mask of the cell
+     */
+    abstract int get(int index);
+
+    /**
+     * Sets the opening mask of the cell at the index provided
+     *
+     * @param index index of the cell
+     * @param mask  new opening mask
+     */
+    abstract void set(int index, int mask);
+
+    /**
+     * Sets every cell to the mask provided
+     *
+     * @param mask mask to be set
+     */
+    abstract void fill(int mask);
+
+    /**
+     * Returns an independent copy of this storage with the same mode
+     *
+     * @return copy of this storage
+     */
+    abstract CellStorage copy();
+
+    /**
+     * Provides a storage of the same mode with the dimensions provided. The cells that remain keep their position,
+     * new cells are walls. Creates a new storage and copies the remaining cells row by row. This storage must not be
+     * used afterwards.
+     *
+     * @param cols    current amount of columns
+     * @param rows    current amount of rows
+     * @param newCols new amount of columns
+     * @param newRows new amount of rows
+     * @return storage with the new dimensions
+     */
+    CellStorage resized(int cols, int rows, int newCols, int newRows) {
+        CellStorage newCells = create(getMode(), newCols, newRows);
+        int colsToCopy = Math.min(newCols, cols);
+        int rowsToCopy = Math.min(newRows, rows);
+        for (int y = 0; y < rowsToCopy; y++) {
+            for (int x = 0; x < colsToCopy; x++) {
+                newCells.set(y * newCols + x, get(y * cols + x));
+            }
+        }
+        return newCells;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CellStorage that)) return false;
+        if (size != that.size) return false;
+        boolean equal = true;
+        for (int i = 0; i < words() && equal; i++) {
+            equal = getWord(i) == that.getWord(i);
+        }
+        return equal;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = size;
+        for (int i = 0; i < words(); i++) {
+            result = 31 * result + Long.hashCode(getWord(i));
+        }
+        return result;
+    }
+}
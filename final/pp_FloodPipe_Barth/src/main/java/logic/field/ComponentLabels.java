@@ -0,0 +1,294 @@
+package logic.field;
+
+import logic.enums.Direction;
+
+/**
+ * Connected components of the pipes of a {@link GameField}. Two pipes belong to the same component, if they are
+ * connected by matching openings, independent of the source. Every pipe has the label of its component, the components
+ * are numbered from 0 in the order of their first cell. Walls belong to no component. Per component the amount of
+ * cells and the amount of open ends, openings without a matching opening of the neighbor, are provided.
+ * <p>
+ * The labels are created by a union-find on the indices of the cells. Every connection is seen once from the cell on
+ * its left or upper end, so the whole field is labelled in a few linear passes without any search. The parents of the
+ * union-find are turned into the labels in place.
+ *
+ * @author Philip Barth
+ */
+public final class ComponentLabels {
+
+    /**
+     * Label of a wall, which belongs to no component
+     */
+    public static final int NO_COMPONENT = -1;
+
+    /**
+     * Wall, a cell without an opening
+     */
+    private static final int WALL = 0;
+
+    /**
+     * Directions, from which every connection is seen exactly once
+     */
+    private static final Direction[] FORWARD = {Direction.RIGHT, Direction.BOTTOM};
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Label of every cell or {@link #NO_COMPONENT}
+     */
+    private final int[] labels;
+
+    /**
+     * Amount of cells of every component
+     */
+    private final int[] sizes;
+
+    /**
+     * Amount of open ends of every component
+     */
+    private final int[] openEnds;
+
+    /**
+     * Creates the components from the arrays provided. The arrays must not be changed afterwards.
+     *
+     * @param labels   label of every cell
+     * @param sizes    amount of cells of every component
+     * @param openEnds amount of open ends of every component
+     */
+    private ComponentLabels(int[] labels, int[] sizes, int[] openEnds) {
+        this.labels = labels;
+        this.sizes = sizes;
+        this.openEnds = openEnds;
+    }
+
+    /**
+     * Labels the connected components of the cells provided
+     *
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return components of the cells
+     */
+    static ComponentLabels of(CellStorage cells, NeighborTable neighbors) {
+        int size = cells.size();
+        int[] parents = new int[size];
+        int components = 0;
+        for (int i = 0; i < size; i++) {
+            if (cells.get(i) == WALL) {
+                parents[i] = NO_COMPONENT;
+            } else {
+                parents[i] = i;
+                components++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            int openings = cells.get(i);
+            for (Direction direction : FORWARD) {
+                int neighbor = connectedNeighbor(i, openings, direction, cells, neighbors);
+                if (neighbor != NeighborTable.NO_NEIGHBOR && union(parents, i, neighbor)) {
+                    components--;
+                }
+            }
+        }
+        // every cell points to its root afterwards, so the roots can be replaced by their labels
+        for (int i = 0; i < size; i++) {
+            if (parents[i] != NO_COMPONENT) {
+                parents[i] = find(parents, i);
+            }
+        }
+
+        int[] sizes = new int[components];
+        int[] openEnds = new int[components];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (parents[i] != NO_COMPONENT) {
+                int root = parents[i] < 0 ? i : parents[i];
+                if (parents[root] >= 0) {
+                    // first cell of the component
+                    parents[root] = encode(next++);
+                }
+                int label = decode(parents[root]);
+                parents[i] = encode(label);
+                sizes[label]++;
+                openEnds[label] += openEndsOf(i, cells, neighbors);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (parents[i] != NO_COMPONENT) {
+                parents[i] = decode(parents[i]);
+            }
+        }
+        return new ComponentLabels(parents, sizes, openEnds);
+    }
+
+    /**
+     * Provides the root of the cell and halves the path to it
+     *
+     * @param parents parents of the cells
+     * @param index   index of the cell
+     * @return index of the root
+     */
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    /**
+     * Joins the components of two cells. The root with the greater index is linked to the other one.
+     *
+     * @param parents parents of the cells
+     * @param first   index of the first cell
+     * @param second  index of the second cell
+     * @return true, if the cells were in different components
+     */
+    private static boolean union(int[] parents, int first, int second) {
+        int firstRoot = find(parents, first);
+        int secondRoot = find(parents, second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        parents[Math.max(firstRoot, secondRoot)] = Math.min(firstRoot, secondRoot);
+        return true;
+    }
+
+    /**
+     * Encodes a label, so it can not be mistaken for the index of a parent or for {@link #NO_COMPONENT}
+     *
+     * @param label label of a component
+     * @return encoded label, less than {@link #NO_COMPONENT}
+     */
+    private static int encode(int label) {
+        return -label - 2;
+    }
+
+    /**
+     * Decodes a label encoded by {@link #encode(int)}
+     *
+     * @param encoded encoded label
+     * @return label of the component
+     */
+    private static int decode(int encoded) {
+        return -encoded - 2;
+    }
+
+    /**
+     * Counts the openings of a cell without a matching opening of the neighbor
+     *
+     * @param index     index of the cell
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return amount of open ends of the cell
+     */
+    private static int openEndsOf(int index, CellStorage cells, NeighborTable neighbors) {
+        int openings = cells.get(index);
+        int open = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isSetIn(openings)
+                    && connectedNeighbor(index, openings, direction, cells, neighbors) == NeighborTable.NO_NEIGHBOR) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Provides the neighbor in the direction provided, if the cell and the neighbor have matching openings
+     *
+     * @param index     index of the cell
+     * @param openings  openings of the cell
+     * @param direction direction of the neighbor
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return index of the neighbor or {@link NeighborTable#NO_NEIGHBOR}, if they are not connected
+     */
+    private static int connectedNeighbor(int index, int openings, Direction direction, CellStorage cells,
+                                         NeighborTable neighbors) {
+        if (direction.isSetIn(openings)) {
+            int neighbor = neighbors.get(index, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && direction.isOppositeSetIn(cells.get(neighbor))) {
+                return neighbor;
+            }
+        }
+        return NeighborTable.NO_NEIGHBOR;
+    }
+
+    /**
+     * Provides the amount of components
+     *
+     * @return amount of components
+     */
+    public int getComponentCount() {
+        return sizes.length;
+    }
+
+    /**
+     * Provides the label of the component of a cell
+     *
+     * @param index index of the cell
+     * @return label of the component or {@link #NO_COMPONENT}, if the cell is a wall
+     */
+    public int getComponent(int index) {
+        return labels[index];
+    }
+
+    /**
+     * Provides the amount of cells of a component
+     *
+     * @param component label of the component
+     * @return amount of cells
+     */
+    public int getSize(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * Provides the amount of openings of a component without a matching opening of the neighbor
+     *
+     * @param component label of the component
+     * @return amount of open ends
+     */
+    public int getOpenEnds(int component) {
+        return openEnds[component];
+    }
+
+    /**
+     * Checks, if a component has no open end, so no water would leak out of it
+     *
+     * @param component label of the component
+     * @return true, if every opening of the component is connected
+     */
+    public boolean isClosed(int component) {
+        return openEnds[component] == 0;
+    }
+
+    /**
+     * Provides the component with the most cells. Of components with the same size the first one is provided.
+     *
+     * @return label of the largest component or {@link #NO_COMPONENT}, if the field only contains walls
+     */
+    public int getLargestComponent() {
+        return getLargestComponentExcept(NO_COMPONENT);
+    }
+
+    /**
+     * Provides the component with the most cells except the component provided, for example the largest cluster not
+     * connected to the source
+     *
+     * @param excluded label of the component to be skipped or {@link #NO_COMPONENT}
+     * @return label of the largest other component or {@link #NO_COMPONENT}, if there is none
+     */
+    public int getLargestComponentExcept(int excluded) {
+        int largest = NO_COMPONENT;
+        for (int component = 0; component < sizes.length; component++) {
+            if (component != excluded && (largest == NO_COMPONENT || sizes[component] > sizes[largest])) {
+                largest = component;
+            }
+        }
+        return largest;
+    }
+}
@@ -0,0 +1,384 @@
+package logic.field;
+
+import logic.enums.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the distance of every cell of a {@link GameField} to the source and the amount of pipes, which are not
+ * connected to the source, up to date. The distances are created by a breadth-first search on the first request and
+ * repaired after every change of a single cell, so the cost of a turn depends on the cells whose distance changes
+ * instead of the size of the field.
+ * <p>
+ * A repair first cuts every cell, which lost its last neighbor one step closer to the source, together with the cells
+ * depending on it. Afterwards the cut cells and the changed cell with its neighbors are connected again in the order
+ * of their new distance, starting from the closest connected neighbor, so every distance is set at most once. If
+ * more than a quarter of the field is cut, the distances are dropped and searched again on the next request, because
+ * the repair would not be cheaper than a new search.
+ * <p>
+ * Is owned by a single field and not thread-safe.
+ *
+ * @author Philip Barth
+ */
+final class ConnectivityTracker {
+
+    /**
+     * Wall, a cell without an opening
+     */
+    private static final int WALL = 0;
+
+    /**
+     * Distance of a cell, which is not connected to the source
+     */
+    private static final int NOT_CONNECTED = DistanceLevels.NOT_CONNECTED;
+
+    /**
+     * Shift to get the distance from a key of a seed
+     */
+    private static final int DISTANCE_SHIFT = 32;
+
+    /**
+     * Mask to get the cell from a key of a seed
+     */
+    private static final long CELL_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Amount of entries the stacks are created with initially
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Distance of every cell to the source or {@link #NOT_CONNECTED}
+     */
+    private int[] distances = new int[0];
+
+    /**
+     * Queue of the searches, every cell is added at most once per search or repair
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * Cells, whose connection to the source has to be checked during a repair
+     */
+    private int[] candidates = new int[INITIAL_CAPACITY];
+
+    /**
+     * Cells to be connected again during a repair, the distance in the upper and the cell in the lower half
+     */
+    private long[] seeds = new long[INITIAL_CAPACITY];
+
+    /**
+     * amount of pipes (except walls), which are not connected to the source
+     */
+    private int unreachedPipes;
+
+    /**
+     * True, if the distances belong to the current cells and source
+     */
+    private boolean valid;
+
+    /**
+     * Checks, if the distances belong to the current cells and source
+     *
+     * @return true, if the distances are valid
+     */
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Drops the distances, so they are searched again on the next request
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Getter for the amount of pipes (except walls), which are not connected to the source. Only valid, if
+     * {@link #isValid()}.
+     *
+     * @return amount of unreached pipes
+     */
+    int getUnreachedPipes() {
+        return unreachedPipes;
+    }
+
+    /**
+     * Getter for the distance of a cell to the source. Only valid, if {@link #isValid()}.
+     *
+     * @param index index of the cell
+     * @return distance of the cell or {@link DistanceLevels#NOT_CONNECTED}
+     */
+    int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Searches the distance of every cell to the source
+     *
+     * @param source    index of the source or {@link GameField#NO_INDEX}, if no cell is connected
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     */
+    void rebuild(int source, CellStorage cells, NeighborTable neighbors) {
+        int size = cells.size();
+        if (distances.length < size) {
+            distances = new int[size];
+            queue = new int[size];
+        }
+        Arrays.fill(distances, 0, size, NOT_CONNECTED);
+        unreachedPipes = 0;
+        for (int i = 0; i < size; i++) {
+            if (cells.get(i) != WALL) {
+                unreachedPipes++;
+            }
+        }
+        if (source != GameField.NO_INDEX) {
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            connect(source, 0, cells);
+            while (head < tail) {
+                int curr = queue[head++];
+                int next = distances[curr] + 1;
+                for (Direction direction : DIRECTIONS) {
+                    int neighbor = connectedNeighbor(curr, direction, cells, neighbors);
+                    if (neighbor != NeighborTable.NO_NEIGHBOR && distances[neighbor] == NOT_CONNECTED) {
+                        connect(neighbor, next, cells);
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        valid = true;
+    }
+
+    /**
+     * Repairs the distances after a single cell was changed. Must be called after the change and only, if
+     * {@link #isValid()}.
+     *
+     * @param index       index of the changed cell
+     * @param oldOpenings openings of the cell before the change
+     * @param cells       cells of the field
+     * @param neighbors   neighbors of the cells
+     */
+    void cellChanged(int index, int oldOpenings, CellStorage cells, NeighborTable neighbors) {
+        // the changed cell is counted again, in case it became a wall or a pipe
+        if (distances[index] == NOT_CONNECTED) {
+            unreachedPipes += (cells.get(index) != WALL ? 1 : 0) - (oldOpenings != WALL ? 1 : 0);
+        }
+        int cut = cutUnsupportedCells(index, cells, neighbors);
+        if (cut > cells.size() / 4) {
+            valid = false;
+            return;
+        }
+        reconnect(index, cut, cells, neighbors);
+    }
+
+    /**
+     * Disconnects every cell, which has no connected neighbor one step closer to the source anymore, and every cell
+     * depending on it. The disconnected cells are kept in the {@link #seeds}.
+     *
+     * @param index     index of the changed cell
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return amount of disconnected cells
+     */
+    private int cutUnsupportedCells(int index, CellStorage cells, NeighborTable neighbors) {
+        int pending = 0;
+        int cut = 0;
+        candidates[pending++] = index;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = neighbors.get(index, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR) {
+                candidates[pending++] = neighbor;
+            }
+        }
+        while (pending > 0) {
+            int cell = candidates[--pending];
+            int distance = distances[cell];
+            // the source is never cut
+            if (distance > 0 && !hasNeighborAt(cell, distance - 1, cells, neighbors)) {
+                disconnect(cell, cells);
+                if (cut == seeds.length) {
+                    seeds = Arrays.copyOf(seeds, seeds.length * 2);
+                }
+                seeds[cut++] = cell;
+                // the cells behind the disconnected cell may have lost their only way to the source
+                for (Direction direction : DIRECTIONS) {
+                    int neighbor = connectedNeighbor(cell, direction, cells, neighbors);
+                    if (neighbor != NeighborTable.NO_NEIGHBOR && distances[neighbor] == distance + 1) {
+                        if (pending == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidates.length * 2);
+                        }
+                        candidates[pending++] = neighbor;
+                    }
+                }
+            }
+        }
+        return cut;
+    }
+
+    /**
+     * Connects the disconnected cells and the cells around the changed cell again. Every cell starts with the distance
+     * of its closest connected neighbor + 1, the cells are processed in the order of their distance and every change
+     * is passed on to the neighbors like in a breadth-first search.
+     *
+     * @param index     index of the changed cell
+     * @param cut       amount of disconnected cells in the {@link #seeds}
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     */
+    private void reconnect(int index, int cut, CellStorage cells, NeighborTable neighbors) {
+        int seedCount = 0;
+        for (int i = 0; i < cut; i++) {
+            seedCount = addSeed((int) seeds[i], seedCount, cells, neighbors);
+        }
+        // new connections of the changed cell can shorten the distances of the cell and its neighbors
+        seedCount = addSeed(index, seedCount, cells, neighbors);
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = neighbors.get(index, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR) {
+                seedCount = addSeed(neighbor, seedCount, cells, neighbors);
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        int head = 0;
+        int tail = 0;
+        int nextSeed = 0;
+        while (nextSeed < seedCount || head < tail) {
+            int curr;
+            if (head == tail || (nextSeed < seedCount && distanceOf(seeds[nextSeed]) <= distances[queue[head]])) {
+                // a seed is only processed before the queued cells, which are not closer to the source
+                long seed = seeds[nextSeed++];
+                curr = (int) (seed & CELL_MASK);
+                int distance = distanceOf(seed);
+                if (distances[curr] != NOT_CONNECTED && distances[curr] <= distance) {
+                    continue;
+                }
+                connect(curr, distance, cells);
+            } else {
+                curr = queue[head++];
+            }
+            int next = distances[curr] + 1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = connectedNeighbor(curr, direction, cells, neighbors);
+                if (neighbor != NeighborTable.NO_NEIGHBOR
+                        && (distances[neighbor] == NOT_CONNECTED || distances[neighbor] > next)) {
+                    connect(neighbor, next, cells);
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a cell to the {@link #seeds} with the distance of its closest connected neighbor + 1, if this distance is
+     * shorter than its current one. The seeds must not overlap the disconnected cells, which are not added yet.
+     *
+     * @param cell      index of the cell
+     * @param seedCount amount of seeds added so far
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return new amount of seeds
+     */
+    private int addSeed(int cell, int seedCount, CellStorage cells, NeighborTable neighbors) {
+        int best = NOT_CONNECTED;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = connectedNeighbor(cell, direction, cells, neighbors);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && distances[neighbor] != NOT_CONNECTED
+                    && (best == NOT_CONNECTED || distances[neighbor] + 1 < best)) {
+                best = distances[neighbor] + 1;
+            }
+        }
+        if (best == NOT_CONNECTED || (distances[cell] != NOT_CONNECTED && distances[cell] <= best)) {
+            return seedCount;
+        }
+        if (seedCount == seeds.length) {
+            seeds = Arrays.copyOf(seeds, seeds.length * 2);
+        }
+        seeds[seedCount] = (long) best << DISTANCE_SHIFT | cell;
+        return seedCount + 1;
+    }
+
+    /**
+     * Provides the distance of a seed
+     *
+     * @param seed key of the seed
+     * @return distance of the seed
+     */
+    private static int distanceOf(long seed) {
+        return (int) (seed >>> DISTANCE_SHIFT);
+    }
+
+    /**
+     * Checks, if a connected neighbor of the cell has the distance provided
+     *
+     * @param cell      index of the cell
+     * @param distance  distance of the neighbor
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return true, if a neighbor with the distance is connected to the cell
+     */
+    private boolean hasNeighborAt(int cell, int distance, CellStorage cells, NeighborTable neighbors) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = connectedNeighbor(cell, direction, cells, neighbors);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && distances[neighbor] == distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Provides the neighbor in the direction provided, if the cell and the neighbor have matching openings
+     *
+     * @param cell      index of the cell
+     * @param direction direction of the neighbor
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return index of the neighbor or {@link NeighborTable#NO_NEIGHBOR}, if they are not connected
+     */
+    private static int connectedNeighbor(int cell, Direction direction, CellStorage cells, NeighborTable neighbors) {
+        if (direction.isSetIn(cells.get(cell))) {
+            int neighbor = neighbors.get(cell, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && direction.isOppositeSetIn(cells.get(neighbor))) {
+                return neighbor;
+            }
+        }
+        return NeighborTable.NO_NEIGHBOR;
+    }
+
+    /**
+     * Sets the distance of a cell and counts it as reached, if it was not connected
+     *
+     * @param cell     index of the cell
+     * @param distance new distance of the cell
+     * @param cells    cells of the field
+     */
+    private void connect(int cell, int distance, CellStorage cells) {
+        if (distances[cell] == NOT_CONNECTED && cells.get(cell) != WALL) {
+            unreachedPipes--;
+        }
+        distances[cell] = distance;
+    }
+
+    /**
+     * Disconnects a cell and counts it as unreached
+     *
+     * @param cell  index of the cell
+     * @param cells cells of the field
+     */
+    private void disconnect(int cell, CellStorage cells) {
+        if (cells.get(cell) != WALL) {
+            unreachedPipes++;
+        }
+        distances[cell] = NOT_CONNECTED;
+    }
+}
@@ -0,0 +1,146 @@
+package logic.field;
+
+import java.util.Arrays;
+
+/**
+ * Result of a breadth-first search from the source of a {@link GameField}. The indices (y * cols + x) of the connected
+ * cells are stored in one array ordered by their distance to the source, the start of every distance (level) is stored
+ * in a second array. The cells of level d are the entries from {@link #getLevelStart(int)} to
+ * {@link #getLevelEnd(int)}, so the cells can be iterated without creating any object. Level 0 only contains the
+ * source. The distance of a single cell is looked up in a table, which is created on the first request.
+ *
+ * @author Philip Barth
+ */
+public final class DistanceLevels {
+
+    /**
+     * Distance provided for a cell, which is not connected to the source
+     */
+    public static final int NOT_CONNECTED = -1;
+
+    /**
+     * Levels without any cell, if no source is set or it is not on the field
+     */
+    private static final int[] NO_CELLS = new int[0];
+
+    /**
+     * Indices of the connected cells ordered by their distance to the source
+     */
+    private final int[] cells;
+
+    /**
+     * Start of every level in {@link #cells}, followed by the amount of cells
+     */
+    private final int[] levelStarts;
+
+    /**
+     * amount of cells of the field
+     */
+    private final int fieldSize;
+
+    /**
+     * Distance of every cell of the field, created on the first request
+     */
+    private int[] distances;
+
+    /**
+     * Creates the levels from the arrays provided. The arrays must not be changed afterwards.
+     *
+     * @param cells       indices of the connected cells ordered by their distance to the source
+     * @param levelStarts start of every level in the cells followed by the amount of cells
+     * @param fieldSize   amount of cells of the field
+     */
+    DistanceLevels(int[] cells, int[] levelStarts, int fieldSize) {
+        this.cells = cells;
+        this.levelStarts = levelStarts;
+        this.fieldSize = fieldSize;
+    }
+
+    /**
+     * Creates the levels of a field, in which no cell is connected to the source
+     *
+     * @param fieldSize amount of cells of the field
+     * @return levels without any cell
+     */
+    static DistanceLevels empty(int fieldSize) {
+        return new DistanceLevels(NO_CELLS, new int[]{0}, fieldSize);
+    }
+
+    /**
+     * Provides the amount of levels. The greatest distance to the source is the amount of levels - 1.
+     *
+     * @return amount of levels
+     */
+    public int getLevelCount() {
+        return levelStarts.length - 1;
+    }
+
+    /**
+     * Provides the amount of connected cells
+     *
+     * @return amount of connected cells
+     */
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    /**
+     * Provides the position of the first cell of a level in the order of the cells
+     *
+     * @param level distance to the source
+     * @return position of the first cell of the level
+     */
+    public int getLevelStart(int level) {
+        return levelStarts[level];
+    }
+
+    /**
+     * Provides the position after the last cell of a level in the order of the cells
+     *
+     * @param level distance to the source
+     * @return position after the last cell of the level
+     */
+    public int getLevelEnd(int level) {
+        return levelStarts[level + 1];
+    }
+
+    /**
+     * Provides the index of a connected cell
+     *
+     * @param position position in the order of the cells, from 0 to {@link #getCellCount()} - 1
+     * @return index of the cell
+     */
+    public int getCell(int position) {
+        return cells[position];
+    }
+
+    /**
+     * Provides the indices of the cells of a level
+     *
+     * @param level distance to the source
+     * @return copy of the indices of the cells with the distance provided
+     */
+    public int[] getCellsAt(int level) {
+        return Arrays.copyOfRange(cells, levelStarts[level], levelStarts[level + 1]);
+    }
+
+    /**
+     * Provides the distance of a cell to the source
+     *
+     * @param index index of the cell
+     * @return distance of the cell or {@link #NOT_CONNECTED}, if the cell is not connected
+     */
+    public int getDistance(int index) {
+        if (distances == null) {
+            int[] table = new int[fieldSize];
+            Arrays.fill(table, NOT_CONNECTED);
+            for (int level = 0; level < getLevelCount(); level++) {
+                for (int i = levelStarts[level]; i < levelStarts[level + 1]; i++) {
+                    table[cells[i]] = level;
+                }
+            }
+            distances = table;
+        }
+        return distances[index];
+    }
+}
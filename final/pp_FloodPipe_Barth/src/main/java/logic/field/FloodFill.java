@@ -0,0 +1,34 @@
+package logic.field;
+
+import java.util.BitSet;
+
+/**
+ * Cells reached by the last search from the source of a {@link GameField}. Cells are addressed by their index
+ * (y * cols + x). The results are only valid until the next search of the same implementation.
+ *
+ * @author Philip Barth
+ */
+interface FloodFill {
+
+    /**
+     * Checks, if the last search reached the cell
+     *
+     * @param index index of the cell
+     * @return true, if the cell was reached
+     */
+    boolean isVisited(int index);
+
+    /**
+     * Provides the cells reached by the last search as a new set
+     *
+     * @return set bits at the index of every reached cell
+     */
+    BitSet toBitSet();
+
+    /**
+     * Provides the cells reached by the last search ordered by their distance as new levels
+     *
+     * @return levels of the reached cells
+     */
+    DistanceLevels toLevels();
+}
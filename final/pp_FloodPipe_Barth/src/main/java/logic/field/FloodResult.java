@@ -0,0 +1,112 @@
+package logic.field;
+
+import java.util.BitSet;
+
+/**
+ * Result of the flood analysis of a {@link GameField} by {@link GameField#analyze()}. Contains everything the logic and
+ * the gui need after a move, calculated by a single search from the source: the connected cells ordered by their
+ * distance, the connected and unconnected cells, the leaks and whether the field is solved. Cells are addressed by
+ * their index (y * cols + x).
+ *
+ * @author Philip Barth
+ */
+public final class FloodResult {
+
+    /**
+     * Connected cells ordered by their distance to the source
+     */
+    private final DistanceLevels levels;
+
+    /**
+     * Set bits at the index of every cell connected to the source
+     */
+    private final BitSet connected;
+
+    /**
+     * Set bits at the index of every cell (except Walls) not connected to the source
+     */
+    private final BitSet unconnected;
+
+    /**
+     * Set bits at the index of every connected cell with an opening, which has no matching opening of the neighbor
+     */
+    private final BitSet leaks;
+
+    /**
+     * solved-flag
+     */
+    private final boolean solved;
+
+    /**
+     * Creates the result of an analysis. The sets must not be changed afterwards.
+     *
+     * @param levels      connected cells ordered by their distance to the source
+     * @param connected   indices of the connected cells
+     * @param unconnected indices of the unconnected cells (except Walls)
+     * @param leaks       indices of the connected cells with an open ending
+     * @param solved      solved-flag
+     */
+    FloodResult(DistanceLevels levels, BitSet connected, BitSet unconnected, BitSet leaks, boolean solved) {
+        this.levels = levels;
+        this.connected = connected;
+        this.unconnected = unconnected;
+        this.leaks = leaks;
+        this.solved = solved;
+    }
+
+    /**
+     * Getter for the connected cells ordered by their distance to the source
+     *
+     * @return levels of the connected cells
+     */
+    public DistanceLevels getLevels() {
+        return levels;
+    }
+
+    /**
+     * Checks, if the cell is connected to the source
+     *
+     * @param index index of the cell
+     * @return true, if the cell is connected
+     */
+    public boolean isConnected(int index) {
+        return connected.get(index);
+    }
+
+    /**
+     * Provides the indices of the cells connected to the source
+     *
+     * @return copy of the set bits at the index of every connected cell
+     */
+    public BitSet getConnectedCells() {
+        return (BitSet) connected.clone();
+    }
+
+    /**
+     * Provides the indices of the cells (except Walls) not connected to the source
+     *
+     * @return copy of the set bits at the index of every unconnected cell
+     */
+    public BitSet getUnconnectedCells() {
+        return (BitSet) unconnected.clone();
+    }
+
+    /**
+     * Provides the indices of the connected cells with an opening, which is not connected to a neighbor. The water
+     * would leak out of these cells.
+     *
+     * @return copy of the set bits at the index of every leaking cell
+     */
+    public BitSet getLeaks() {
+        return (BitSet) leaks.clone();
+    }
+
+    /**
+     * Checks, if the field was solved: a source is set, no connected cell leaks and every pipe is connected
+     *
+     * @return true, if the field was solved
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+}
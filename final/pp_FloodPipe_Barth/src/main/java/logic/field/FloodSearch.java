@@ -0,0 +1,166 @@
+package logic.field;
+
+import logic.enums.Direction;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Breadth-first search from the source of a {@link GameField} on the indices of the cells. The queue, the visited
+ * cells and the starts of the levels are kept between the searches and only replaced, if the field gets bigger, so a
+ * search does not allocate anything after the first one. Every cell is added to the queue at most once, so the queue
+ * never wraps and contains the reached cells ordered by their distance after the search. The visited cells are stored
+ * as a bitset, which is cleared word by word at the start of every search.
+ * <p>
+ * The results are only valid until the next search. Is owned by a single field and not thread-safe.
+ *
+ * @author Philip Barth
+ */
+final class FloodSearch implements FloodFill {
+
+    /**
+     * Shift to get the word of a cell index in {@link #visited}
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Amount of levels the starts are created for initially
+     */
+    private static final int INITIAL_LEVELS = 16;
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Queue of the search, contains the reached cells ordered by their distance afterwards
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * Bitset of the visited cells, 64 cells per word
+     */
+    private long[] visited = new long[0];
+
+    /**
+     * Start of every level in the {@link #queue}, followed by the amount of reached cells
+     */
+    private int[] levelStarts = new int[INITIAL_LEVELS];
+
+    /**
+     * amount of cells reached by the last search
+     */
+    private int reached;
+
+    /**
+     * amount of levels of the last search
+     */
+    private int levels;
+
+    /**
+     * amount of cells of the field of the last search
+     */
+    private int size;
+
+    /**
+     * Searches every cell connected to the source. Marks every reached cell with an opening without a matching
+     * opening of the neighbor as a leak, if a set for the leaks is provided.
+     *
+     * @param source    index of the source or {@link GameField#NO_INDEX}, if no cell is reached
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @param leaks     set, in which the leaks are marked, can be null
+     * @return amount of reached cells
+     */
+    int run(int source, CellStorage cells, NeighborTable neighbors, BitSet leaks) {
+        prepare(cells.size());
+        if (source == GameField.NO_INDEX) {
+            return 0;
+        }
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        visit(source);
+
+        while (head < tail) {
+            // every cell in the queue up to the current end has the same distance
+            if (levels + 1 == levelStarts.length) {
+                levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+            }
+            levelStarts[levels++] = head;
+            int levelEnd = tail;
+
+            while (head < levelEnd) {
+                int curr = queue[head++];
+                int openings = cells.get(curr);
+                for (Direction direction : DIRECTIONS) {
+                    if (direction.isSetIn(openings)) {
+                        int neighbor = neighbors.get(curr, direction);
+                        if (neighbor == NeighborTable.NO_NEIGHBOR
+                                || !direction.isOppositeSetIn(cells.get(neighbor))) {
+                            // the opening has no matching opening of the neighbor
+                            if (leaks != null) {
+                                leaks.set(curr);
+                            }
+                        } else if (!isVisited(neighbor)) {
+                            queue[tail++] = neighbor;
+                            visit(neighbor);
+                        }
+                    }
+                }
+            }
+        }
+        levelStarts[levels] = tail;
+        reached = tail;
+        return reached;
+    }
+
+    /**
+     * Resets the results and clears the visited cells. Replaces the arrays, if the field got bigger.
+     *
+     * @param size amount of cells of the field
+     */
+    private void prepare(int size) {
+        int words = (size + Long.SIZE - 1) >>> WORD_SHIFT;
+        if (queue.length < size) {
+            queue = new int[size];
+        }
+        if (visited.length < words) {
+            visited = new long[words];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+        }
+        this.size = size;
+        this.reached = 0;
+        this.levels = 0;
+        levelStarts[0] = 0;
+    }
+
+    /**
+     * Marks a cell as visited
+     *
+     * @param index index of the cell
+     */
+    private void visit(int index) {
+        visited[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    @Override
+    public boolean isVisited(int index) {
+        return (visited[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    @Override
+    public BitSet toBitSet() {
+        return BitSet.valueOf(Arrays.copyOf(visited, (size + Long.SIZE - 1) >>> WORD_SHIFT));
+    }
+
+    @Override
+    public DistanceLevels toLevels() {
+        if (reached == 0) {
+            return DistanceLevels.empty(size);
+        }
+        return new DistanceLevels(Arrays.copyOf(queue, reached), Arrays.copyOf(levelStarts, levels + 1), size);
+    }
+}
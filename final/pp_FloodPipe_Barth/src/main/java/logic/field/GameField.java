@@ -3,18 +3,24 @@ package logic.field;
 import logic.Position;
 import logic.enums.Direction;
 import logic.enums.PipeType;
+import logic.enums.StorageMode;
+import logic.enums.Topology;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
- * Class representing the GameField. Contains of a 2d-Array of {@link Pipe} instances, a {@link Position} for the source,
- * and a boolean Value for the overflow. Provides methods for generating a gameField, getters and setters, methods for
- * changing the rows and cols as well as different methods to get statuses of the GameField.
+ * Class representing the GameField. Contains the opening masks of the cells in a {@link CellStorage}, a
+ * {@link Position} for the source, and the {@link Topology} connecting the borders. Provides methods for generating a gameField,
+ * getters and setters, methods for changing the rows and cols as well as different methods to get statuses of the
+ * GameField. The GameField is a {@link BoardView} of its own cells, every change of a cell increases the revision.
  *
  * @author Philip Barth
  */
-public class GameField {
+public class GameField implements BoardView {
 
     /**
      * minimum amount of cols to be valid
@@ -46,6 +52,16 @@ public class GameField {
      */
     public static final int DEFAULT_AMOUNT_ROWS = 10;
 
+    /**
+     * maximum amount of cols to be valid in the large-board mode
+     */
+    public static final int MAX_AMOUNT_COLS_LARGE = 4096;
+
+    /**
+     * maximum amount of rows to be valid in the large-board mode
+     */
+    public static final int MAX_AMOUNT_ROWS_LARGE = 4096;
+
     /**
      * Default amount of walls in percent
      */
@@ -63,9 +79,86 @@ public class GameField {
     public static final int MAX_AMOUNT_WALLS_PERCENT = 100;
 
     /**
-     * Array of Pipes for the GameField representation
+     * Index representing no cell (f.e. no source)
+     */
+    public static final int NO_INDEX = -1;
+
+    /**
+     * Mask used for cells, which are not set yet while generating a field. Can not be confused with a pipe, because
+     * no pipe has four openings.
+     */
+    private static final int EMPTY = 0b1111;
+
+    /**
+     * Mask of a wall (no openings)
+     */
+    private static final int WALL = 0;
+
+    /**
+     * Value returned, if no pipe fits on a position while generating a field
+     */
+    private static final int NO_FITTING_PIPE = -1;
+
+    /**
+     * Amount of rows copied together by {@link #toInt()}
+     */
+    private static final int EXPORT_BAND_ROWS = 256;
+
+    /**
+     * Seed of the keys of the Zobrist hash
+     */
+    private static final long ZOBRIST_SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Value of a counter, which was not counted for the current cells
+     */
+    private static final int NOT_COUNTED = -1;
+
+    /**
+     * Maximum amount of openings of a pipe
+     */
+    private static final int MAX_OPENINGS = 3;
+
+    /**
+     * Mask of the vertical directions
+     */
+    private static final int VERTICAL = Direction.TOP.getMask() | Direction.BOTTOM.getMask();
+
+    /**
+     * Mask of the horizontal directions
      */
-    private Pipe[][] field;
+    private static final int HORIZONTAL = Direction.LEFT.getMask() | Direction.RIGHT.getMask();
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * PipeTypes in the order they are provided by {@link #getPossiblePipeTypes(EnumSet, EnumSet)}
+     */
+    private static final PipeType[] GENERATION_ORDER =
+            {PipeType.DEAD_END, PipeType.LINE, PipeType.CURVE, PipeType.T_PIPE};
+
+    /**
+     * Opening masks of the cells for the GameField representation
+     */
+    private CellStorage cells;
+
+    /**
+     * Neighbors of every cell for the current cols, rows and topology
+     */
+    private NeighborTable neighbors;
+
+    /**
+     * amount of columns
+     */
+    private int cols;
+
+    /**
+     * amount of rows
+     */
+    private int rows;
 
     /**
      * Position for the source
@@ -73,9 +166,68 @@ public class GameField {
     private Position source;
 
     /**
-     * overflow selection
+     * Connection of the borders, {@link Topology#TORUS} with overflow
      */
-    private boolean overflow;
+    private Topology topology;
+
+    /**
+     * Revision of the cells, increased with every change of a cell or the dimensions
+     */
+    private long revision;
+
+    /**
+     * large-board mode selection. Allows up to {@link #MAX_AMOUNT_COLS_LARGE} and {@link #MAX_AMOUNT_ROWS_LARGE}
+     */
+    private boolean largeBoard;
+
+    /**
+     * File the cells are mapped from, null if the field is not mapped
+     */
+    private BoardFile file;
+
+    /**
+     * Bit planes of the cells, created on the first board-wide check and updated with every change of a cell
+     * afterwards. Null, if they were not created for the current cells.
+     */
+    private BitPlanes planes;
+
+    /**
+     * Search from the source, which keeps its arrays between the searches
+     */
+    private final FloodSearch flood = new FloodSearch();
+
+    /**
+     * Search on the bit planes from the source, used in the large-board mode
+     */
+    private final BitFloodSearch bitFlood = new BitFloodSearch();
+
+    /**
+     * Search distributed to the workers of the common pool, used for fields with millions of cells
+     */
+    private final ParallelFloodSearch parallelFlood = new ParallelFloodSearch();
+
+    /**
+     * Distances of the cells to the source and amount of unreached pipes, repaired with every change of a cell
+     */
+    private final ConnectivityTracker connectivity = new ConnectivityTracker();
+
+    /**
+     * Zobrist hash of the cells, the XOR of the keys of every cell. Updated with every change of a cell, if it is
+     * valid
+     */
+    private long cellHash;
+
+    /**
+     * True, if {@link #cellHash} belongs to the current cells
+     */
+    private boolean cellHashValid;
+
+    /**
+     * Amount of openings without a matching opening of the neighbor, cells with all four openings count as one more.
+     * Updated with every change of a cell, if it is counted. {@link #NOT_COUNTED}, if it was not counted for the
+     * current cells.
+     */
+    private int unmatchedOpenings = NOT_COUNTED;
 
     /**
      * Constructor used to create a GameField from different conditional values
@@ -87,14 +239,67 @@ public class GameField {
      * @throws IllegalArgumentException if cols, rows or maxPercentageWalls is out of bounds
      */
     public GameField(int cols, int rows, int maxPercentageWalls, boolean overflow) throws IllegalArgumentException {
-        if (cols < MIN_AMOUNT_COLS || cols > MAX_AMOUNT_COLS || rows < MIN_AMOUNT_ROWS || rows > MAX_AMOUNT_ROWS
-                || maxPercentageWalls < MIN_AMOUNT_WALLS_PERCENT || maxPercentageWalls > MAX_AMOUNT_WALLS_PERCENT) {
+        this(cols, rows, maxPercentageWalls, overflow, false);
+    }
+
+    /**
+     * Constructor used to create a GameField from different conditional values. In the large-board mode the field can
+     * have up to {@link #MAX_AMOUNT_COLS_LARGE} cols and {@link #MAX_AMOUNT_ROWS_LARGE} rows and is generated as a
+     * spanning tree, so the generation scales linearly with the amount of cells.
+     *
+     * @param cols               amount of columns
+     * @param rows               amount of rows
+     * @param maxPercentageWalls max amount of walls in percentage
+     * @param overflow           overflow enabled?
+     * @param largeBoard         large-board mode enabled?
+     * @throws IllegalArgumentException if cols, rows or maxPercentageWalls is out of bounds
+     */
+    public GameField(int cols, int rows, int maxPercentageWalls, boolean overflow, boolean largeBoard)
+            throws IllegalArgumentException {
+        this(cols, rows, maxPercentageWalls, overflow, largeBoard, StorageMode.HEAP);
+    }
+
+    /**
+     * Constructor used to create a GameField from different conditional values, storing the cells as provided by the
+     * storage mode. Big fields can be stored {@link StorageMode#OFF_HEAP}, so they are not scanned by the garbage
+     * collector.
+     *
+     * @param cols               amount of columns
+     * @param rows               amount of rows
+     * @param maxPercentageWalls max amount of walls in percentage
+     * @param overflow           overflow enabled?
+     * @param largeBoard         large-board mode enabled?
+     * @param storageMode        storage of the cells
+     * @throws IllegalArgumentException if cols, rows or maxPercentageWalls is out of bounds
+     */
+    public GameField(int cols, int rows, int maxPercentageWalls, boolean overflow, boolean largeBoard,
+                     StorageMode storageMode) throws IllegalArgumentException {
+        this(cols, rows, maxPercentageWalls, Topology.of(overflow), largeBoard, storageMode);
+    }
+
+    /**
+     * Constructor used to create a GameField from different conditional values, connecting the borders as provided by
+     * the topology. The field is generated, so every opening is connected across the connected borders.
+     *
+     * @param cols               amount of columns
+     * @param rows               amount of rows
+     * @param maxPercentageWalls max amount of walls in percentage
+     * @param topology           connection of the borders
+     * @param largeBoard         large-board mode enabled?
+     * @param storageMode        storage of the cells
+     * @throws IllegalArgumentException if cols, rows or maxPercentageWalls is out of bounds
+     */
+    public GameField(int cols, int rows, int maxPercentageWalls, Topology topology, boolean largeBoard,
+                     StorageMode storageMode) throws IllegalArgumentException {
+        if (cols < MIN_AMOUNT_COLS || cols > maxAmountOfCols(largeBoard) || rows < MIN_AMOUNT_ROWS
+                || rows > maxAmountOfRows(largeBoard) || maxPercentageWalls < MIN_AMOUNT_WALLS_PERCENT
+                || maxPercentageWalls > MAX_AMOUNT_WALLS_PERCENT) {
             throw new IllegalArgumentException();
         }
-        this.overflow = overflow;
-        createSolvedGameField(cols, rows, maxPercentageWalls, overflow);
+        this.topology = topology;
+        this.largeBoard = largeBoard;
+        createSolvedGameField(cols, rows, maxPercentageWalls, storageMode);
         this.source = provideRandomSourcePosition();
-
     }
 
 
@@ -104,20 +309,91 @@ public class GameField {
      * @param data GameFieldData provided
      */
     public GameField(GameFieldData data) {
+        this(data, StorageMode.HEAP);
+    }
+
+    /**
+     * Constructor for creating a GameField from provided data, storing the cells as provided by the storage mode. The
+     * values are written directly into the storage.
+     *
+     * @param data        GameFieldData provided
+     * @param storageMode storage of the cells
+     */
+    public GameField(GameFieldData data, StorageMode storageMode) {
         int[][] fieldData = data.getBoard();
-        int cols = fieldData.length;
-        int rows = fieldData[0].length;
+        this.cols = fieldData.length;
+        this.rows = fieldData[0].length;
 
-        this.field = new Pipe[cols][rows];
+        this.cells = CellStorage.create(storageMode, cols, rows);
         for (int x = 0; x < cols; x++) {
             for (int y = 0; y < rows; y++) {
-                this.field[x][y] = new Pipe(fieldData[x][y]);
+                setCell(toIndex(x, y), fieldData[x][y]);
             }
         }
-        this.overflow = data.isOverflow();
+        this.topology = data.getTopology();
+        this.largeBoard = cols > MAX_AMOUNT_COLS || rows > MAX_AMOUNT_ROWS;
+        this.neighbors = new NeighborTable(cols, rows, topology);
         this.source = data.getSource();
     }
 
+    /**
+     * Constructor for creating a GameField from a mapped file. The cells stay in the file.
+     *
+     * @param file mapped file
+     */
+    private GameField(BoardFile file) {
+        this.file = file;
+        this.cols = file.getCols();
+        this.rows = file.getRows();
+        this.cells = file.getCells();
+        this.topology = file.getTopology();
+        this.largeBoard = cols > MAX_AMOUNT_COLS || rows > MAX_AMOUNT_ROWS;
+        this.neighbors = new NeighborTable(cols, rows, topology);
+        this.source = file.getSource();
+    }
+
+    /**
+     * Maps a GameField from a file written by {@link #writeTo(Path)}. The cells are not loaded onto the heap, so the
+     * field can be bigger than the heap. Turns and changes of the pipes, the source and the topology are written
+     * through to the file. Changing the dimensions detaches the field from the file.
+     * <p>
+     * Mapping and turning only need heap in the size of a row and a column. The searches from the source still keep
+     * their results on the heap: {@link #analyze()}, the distances behind {@link #getDistanceToSource(int)} and
+     * {@link #isSolved()} and the other searches allocate an int and a few bits per cell on their first call.
+     *
+     * @param path path of the file
+     * @return GameField mapped from the file
+     * @throws IOException if the file can not be mapped or is not a valid board file
+     */
+    public static GameField map(Path path) throws IOException {
+        return new GameField(BoardFile.open(path));
+    }
+
+    /**
+     * Writes this GameField into a new file, which can be mapped by {@link #map(Path)}. An existing file is
+     * replaced. The cells are written directly from the storage. If the field is mapped from the path, every change is
+     * already in the file, so the mapping is only written to the storage device.
+     *
+     * @param path path of the file
+     * @throws IOException if the file can not be written
+     */
+    public void writeTo(Path path) throws IOException {
+        if (file != null && file.isMappedFrom(path)) {
+            file.force();
+        } else {
+            BoardFile.create(path, cols, rows, source, topology, cells);
+        }
+    }
+
+    /**
+     * Checks, if the cells of this field are mapped from a file
+     *
+     * @return true, if the field is mapped
+     */
+    public boolean isMapped() {
+        return file != null;
+    }
+
     /**
      * Erstellt ein Spielfeld aus BoxDrawingCharacters. Wird nur zu Testzwecken verwendet
      *
@@ -126,63 +402,162 @@ public class GameField {
      * @param overflow             Überlaufmodus an/aus
      */
     public GameField(String boxDrawingCharacters, Position sourcePosition, boolean overflow) {
-        String[] rows = boxDrawingCharacters.split("\n");
-        int amountRows = rows.length;
-        int amountCols = rows[0].length();
-        this.field = new Pipe[amountCols][amountRows];
-
-        for (int x = 0; x < amountCols; x++) {
-            for (int y = 0; y < amountRows; y++) {
-                field[x][y] = new Pipe(String.valueOf(rows[y].charAt(x)));
+        String[] lines = boxDrawingCharacters.split("\n");
+        this.rows = lines.length;
+        this.cols = lines[0].length();
+        this.cells = CellStorage.create(StorageMode.HEAP, cols, rows);
+
+        for (int x = 0; x < cols; x++) {
+            for (int y = 0; y < rows; y++) {
+                setCell(toIndex(x, y), Pipe.of(String.valueOf(lines[y].charAt(x))).toInt());
             }
         }
         this.source = sourcePosition;
-        this.overflow = overflow;
+        this.topology = Topology.of(overflow);
+        this.neighbors = new NeighborTable(cols, rows, topology);
     }
 
 
+    /**
+     * Copy constructor. On the heap, the cells are shared with the other field until one of the fields changes them.
+     *
+     * @param other GameField to be copied
+     */
+    private GameField(GameField other) {
+        this.cells = other.cells.copy();
+        this.neighbors = other.neighbors;
+        this.cols = other.cols;
+        this.rows = other.rows;
+        this.source = other.source;
+        this.topology = other.topology;
+        this.revision = other.revision;
+        this.largeBoard = other.largeBoard;
+        this.cellHash = other.cellHash;
+        this.cellHashValid = other.cellHashValid;
+        this.unmatchedOpenings = other.unmatchedOpenings;
+    }
+
+    /**
+     * Returns an independent copy of this GameField. On the heap the copy takes O(1), the cells are copied chunk by
+     * chunk, when they are changed by one of the fields. Off the heap the cells are copied in bulk into new native
+     * memory. Can be used to try out moves without changing this field.
+     *
+     * @return copy of this GameField
+     */
+    public GameField copy() {
+        return new GameField(this);
+    }
+
     /**
      * Returns a copy of the current GameField
      *
      * @return copy of the current GameField
      */
     public Pipe[][] getField() {
-        int cols = getCols();
-        int rows = getRows();
         Pipe[][] newField = new Pipe[cols][rows];
         for (int x = 0; x < cols; x++) {
             for (int y = 0; y < rows; y++) {
-                newField[x][y] = field[x][y].copy();
+                newField[x][y] = Pipe.of(cells.get(toIndex(x, y)));
             }
         }
         return newField;
     }
 
+    /**
+     * Calculates the index of a cell in the {@link #cells}
+     *
+     * @param x x-Coordinate
+     * @param y y-Coordinate
+     * @return index of the cell
+     */
+    private int toIndex(int x, int y) {
+        return y * cols + x;
+    }
+
+    /**
+     * Provides the index (y * cols + x) of the Position provided
+     *
+     * @param pos Position of the cell
+     * @return index of the cell or {@link #NO_INDEX}, if the position is null
+     */
+    public int indexOf(Position pos) {
+        return pos != null ? pos.toIndex(cols) : NO_INDEX;
+    }
+
+    /**
+     * Provides the Position of the index provided
+     *
+     * @param index index of the cell
+     * @return Position of the cell or null, if the index is {@link #NO_INDEX}
+     */
+    public Position positionOf(int index) {
+        return index != NO_INDEX ? Position.ofIndex(index, cols) : null;
+    }
+
+    /**
+     * Checks, if the index is on the field
+     *
+     * @param index index to be checked
+     * @return true, if the index is on the field
+     */
+    public boolean isValidIndex(int index) {
+        return index >= 0 && index < cells.size();
+    }
+
+    /**
+     * Provides the maximum amount of cols for the mode provided
+     *
+     * @param largeBoard large-board mode?
+     * @return maximum amount of cols
+     */
+    public static int maxAmountOfCols(boolean largeBoard) {
+        return largeBoard ? MAX_AMOUNT_COLS_LARGE : MAX_AMOUNT_COLS;
+    }
+
+    /**
+     * Provides the maximum amount of rows for the mode provided
+     *
+     * @param largeBoard large-board mode?
+     * @return maximum amount of rows
+     */
+    public static int maxAmountOfRows(boolean largeBoard) {
+        return largeBoard ? MAX_AMOUNT_ROWS_LARGE : MAX_AMOUNT_ROWS;
+    }
+
     /**
      * Method to create a solved gameField. Is being used by the constructor. Generates a new GameField until all
-     * openings are correctly connected and the walls do not exceed the maximum percentage
+     * openings are correctly connected and the walls do not exceed the maximum percentage. In the large-board mode,
+     * the field is generated by {@link #generateSpanningTree(int, Random)} instead of
+     * {@link #generateGameField(int, Random)}.
      *
      * @param cols               amount of Columns
      * @param rows               amount of Rows
      * @param maxPercentageWalls max Amount of Walls in Percent
-     * @param overflow           overflow set
+     * @param storageMode        storage of the cells
      */
-    private void createSolvedGameField(int cols, int rows, int maxPercentageWalls, boolean overflow) {
+    private void createSolvedGameField(int cols, int rows, int maxPercentageWalls, StorageMode storageMode) {
         Random rnd = new Random();
-        Position startPosition;
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = CellStorage.create(storageMode, cols, rows);
+        this.neighbors = new NeighborTable(cols, rows, topology);
         // Generate a gameField until we get a suitable one (no empty fields, not too much walls)
         do {
-            startPosition = new Position(rnd.nextInt(cols), rnd.nextInt(rows));
-            this.field = new Pipe[cols][rows];
+            cells.fill(EMPTY);
+            cellsReplaced();
             // Generate the GameField
-            generateGameField(startPosition, overflow);
+            int start = toIndex(rnd.nextInt(cols), rnd.nextInt(rows));
+            if (largeBoard) {
+                generateSpanningTree(start, rnd);
+                attachEmptyFieldsAsDeadEnds();
+            } else {
+                generateGameField(start, rnd);
+            }
 
             // Set walls on empty fields
-            for (int x = 0; x < field.length; x++) {
-                for (int y = 0; y < field[x].length; y++) {
-                    if (field[x][y] == null) {
-                        field[x][y] = new Pipe(PipeType.WALL);
-                    }
+            for (int i = 0; i < cells.size(); i++) {
+                if (cells.get(i) == EMPTY) {
+                    setCell(i, WALL);
                 }
             }
         } while (!wallsInBounds(maxPercentageWalls) || !allOpeningsConnected());
@@ -196,8 +571,6 @@ public class GameField {
      */
     private Position provideRandomSourcePosition() {
         Random rnd = new Random();
-        int cols = field.length;
-        int rows = field[0].length;
         int x;
         int y;
 
@@ -205,67 +578,163 @@ public class GameField {
         do {
             x = rnd.nextInt(cols);
             y = rnd.nextInt(rows);
-        } while (field[x][y].getType() == PipeType.WALL);
-        return new Position(x, y);
+        } while (cells.get(toIndex(x, y)) == WALL);
+        return Position.of(x, y);
     }
 
     /**
-     * Generates the GameField recursively from the position provided by filling the neighbors with fitting Pipes
+     * Generates the GameField from the position provided by filling the neighbors with fitting Pipes. The neighbors are
+     * visited depth-first in the order of the {@link Direction} values. Uses a stack instead of recursion, so big fields
+     * do not exceed the call stack.
      *
-     * @param position current Position
-     * @param overflow overflow selected?
+     * @param start index of the start position
+     * @param rnd   Random used for choosing the pipes
      */
-    private void generateGameField(Position position, boolean overflow) {
-        // Get a pipe which would fit for the current position
-        Pipe pipe = getRandomPipeForPosition(position);
-        int cols = getCols();
-        int rows = getRows();
+    private void generateGameField(int start, Random rnd) {
+        int[] stack = new int[Direction.values().length];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int index = stack[--top];
+            // Get the openings of a pipe which would fit for the current position
+            int openings = getRandomOpeningsForPosition(index, rnd);
+
+            // Fitting pipe found
+            if (openings != NO_FITTING_PIPE) {
+                setCell(index, openings);
+                // get Empty Neighbors, that need to be connected to this field
+                int emptyNeighbors = getEmptyNeighbors(index, openings);
+                if (top + DIRECTIONS.length > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                // push in reverse order, so the neighbors are generated in the order of the directions
+                for (int i = DIRECTIONS.length - 1; i >= 0; i--) {
+                    if (DIRECTIONS[i].isSetIn(emptyNeighbors)) {
+                        stack[top++] = neighbors.get(index, DIRECTIONS[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the GameField as a random spanning tree from the position provided (randomized depth-first search).
+     * Every connection between two fields is an opening of both fields, so all openings are connected. A field with
+     * {@link #MAX_OPENINGS} openings is not extended further. Every field is visited once, so the generation is linear
+     * in the amount of fields.
+     *
+     * @param start index of the start position
+     * @param rnd   Random used for choosing the neighbors
+     */
+    private void generateSpanningTree(int start, Random rnd) {
+        // every field is pushed at most once, because it is not empty anymore afterwards
+        int[] stack = new int[cells.size()];
+        int top = 0;
+        stack[top++] = start;
+        setCell(start, WALL);
+        while (top > 0) {
+            int index = stack[top - 1];
+            int openings = cells.get(index);
+            int emptyNeighbors = Integer.bitCount(openings) < MAX_OPENINGS
+                    ? getEmptyNeighbors(index, Direction.ALL_MASK) : 0;
+            if (emptyNeighbors == 0) {
+                top--;
+            } else {
+                Direction direction = chooseRandomDirection(emptyNeighbors, rnd);
+                int neighbor = neighbors.get(index, direction);
+                setCell(index, openings | direction.getMask());
+                setCell(neighbor, direction.getOppositeMask());
+                stack[top++] = neighbor;
+            }
+        }
+    }
 
-        // Fitting pipe found
-        if (pipe != null) {
-            field[position.x()][position.y()] = pipe;
-            // get Empty Neighbors, that need to be connected to this field
-            EnumSet<Direction> emptyNeighbors =
-                    getEmptyNeighbors(position, field[position.x()][position.y()].getOpenings());
-            for (Direction direction : emptyNeighbors) {
-                // generate the GameField recursively for each neighbor
-                generateGameField(position.getNeighborPosition(cols, rows, direction, overflow), overflow);
+    /**
+     * Attaches the remaining empty fields of a spanning tree as dead ends to a neighbor with less than
+     * {@link #MAX_OPENINGS} openings. An attached field can be extended by other empty fields again. Fields which
+     * can not be attached remain empty.
+     */
+    private void attachEmptyFieldsAsDeadEnds() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < cells.size(); i++) {
+                if (cells.get(i) == EMPTY) {
+                    changed |= attachAsDeadEnd(i);
+                }
             }
         }
     }
 
     /**
-     * Provides a random Pipe that fits at the provided positions
+     * Attaches an empty field as a dead end to the first neighbor which is not empty and has less than
+     * {@link #MAX_OPENINGS} openings
      *
-     * @param position position, where a pipe should be set
-     * @return fitting Pipe or null, if no pipe fits
+     * @param index index of the empty field
+     * @return true, if the field was attached
      */
-    private Pipe getRandomPipeForPosition(Position position) {
+    private boolean attachAsDeadEnd(int index) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = neighbors.get(index, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && neighbor != index) {
+                int neighborOpenings = cells.get(neighbor);
+                if (neighborOpenings != EMPTY && Integer.bitCount(neighborOpenings) < MAX_OPENINGS) {
+                    setCell(neighbor, neighborOpenings | direction.getOppositeMask());
+                    setCell(index, direction.getMask());
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Chooses a random direction of the directions in the mask provided
+     *
+     * @param directions mask of directions, must not be empty
+     * @param rnd        Random used for choosing
+     * @return randomly chosen direction
+     */
+    private static Direction chooseRandomDirection(int directions, Random rnd) {
+        int chosen = rnd.nextInt(Integer.bitCount(directions));
+        Direction chosenDirection = null;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isSetIn(directions) && chosen-- == 0) {
+                chosenDirection = direction;
+            }
+        }
+        return chosenDirection;
+    }
+
+    /**
+     * Provides the openings of a random Pipe that fits at the provided positions
+     *
+     * @param index index of the position, where a pipe should be set
+     * @param rnd   Random used for choosing the pipe
+     * @return opening mask of a fitting Pipe or {@link #NO_FITTING_PIPE}, if no pipe fits
+     */
+    private int getRandomOpeningsForPosition(int index, Random rnd) {
         // Neighbors that have Openings to this position
-        EnumSet<Direction> mandatoryOpenings = getNeighborsToConnect(position);
+        int mandatoryOpenings = getNeighborsToConnect(index);
 
         // Empty neighbors
-        EnumSet<Direction> optionalOpenings = getEmptyNeighbors(position, EnumSet.allOf(Direction.class));
+        int optionalOpenings = getEmptyNeighbors(index, Direction.ALL_MASK);
 
-        List<PipeType> possibleTypes = getPossiblePipeTypes(mandatoryOpenings, optionalOpenings);
-
-        // DeadEnds can only be set, if no other pipe fits and
-        if (possibleTypes.isEmpty() && (mandatoryOpenings.size() + optionalOpenings.size()) == 1) {
-            possibleTypes.add(PipeType.DEAD_END);
-        }
+        int possibleTypes = getPossiblePipeTypes(mandatoryOpenings, optionalOpenings);
 
         // no type possible
-        if (possibleTypes.isEmpty()) {
-            return null;
-            //get a random Pipe from the suitable ones and rotate it correctly
-        } else {
-            Random rnd = new Random();
-            PipeType chosen = possibleTypes.get(rnd.nextInt(possibleTypes.size()));
-
-            Pipe pipe = new Pipe(chosen);
-            rotateCorrectly(pipe, mandatoryOpenings, optionalOpenings);
-            return pipe;
+        if (possibleTypes == 0) {
+            return NO_FITTING_PIPE;
+        }
+        //get a random Pipe from the suitable ones and rotate it correctly
+        int chosen = rnd.nextInt(Integer.bitCount(possibleTypes));
+        PipeType chosenType = null;
+        for (PipeType type : GENERATION_ORDER) {
+            if ((possibleTypes & typeMask(type)) != 0 && chosen-- == 0) {
+                chosenType = type;
+            }
         }
+        return rotateCorrectly(Pipe.of(chosenType).getOpeningMask(), mandatoryOpenings, optionalOpenings);
     }
 
     /**
@@ -277,92 +746,109 @@ public class GameField {
      * @return List of suitable pipeTypes
      */
     List<PipeType> getPossiblePipeTypes(EnumSet<Direction> mandatory, EnumSet<Direction> optional) {
-        int sizeMandatory = mandatory.size();
-        int sizeOptional = optional.size();
+        int possibleTypes = getPossiblePipeTypes(Direction.toMask(mandatory), Direction.toMask(optional));
+        List<PipeType> typeList = new ArrayList<>();
+        for (PipeType type : GENERATION_ORDER) {
+            if ((possibleTypes & typeMask(type)) != 0) {
+                typeList.add(type);
+            }
+        }
+        return typeList;
+    }
 
-        EnumSet<Direction> mandatoryAndOptional = EnumSet.copyOf(mandatory);
-        mandatoryAndOptional.addAll(optional);
+    /**
+     * Provides the possible PipeTypes as a mask (see {@link #typeMask(PipeType)}) from masks with Openings in
+     * directions that are either mandatory or optional. DeadEnds are only provided, if no other PipeType is suitable
+     *
+     * @param mandatory mask of openings which are needed in the possible pipe type
+     * @param optional  mask of openings which are optional in the possible pipe type
+     * @return mask of suitable pipeTypes
+     */
+    private int getPossiblePipeTypes(int mandatory, int optional) {
+        int sizeMandatory = Integer.bitCount(mandatory);
+        int sizeOptional = Integer.bitCount(optional);
+        int mandatoryAndOptional = mandatory | optional;
 
-        List<PipeType> possibleTypes = new ArrayList<>();
+        int possibleTypes = 0;
 
         if (sizeMandatory + sizeOptional == 1) {
-            possibleTypes.add(PipeType.DEAD_END);
+            possibleTypes |= typeMask(PipeType.DEAD_END);
         }
 
         // maximum of 2 mandatory Openings and minimum of 2 total possible openings -> Curve or Line possible
         if (sizeMandatory <= 2 && sizeMandatory + sizeOptional >= 2) {
             // cover mandatory openings first and then all possible openings
             if (hasAdjacentOpenings(mandatory)) {
-                possibleTypes.add(PipeType.CURVE);
+                possibleTypes |= typeMask(PipeType.CURVE);
             } else if (hasOpposingOpenings(mandatory)) {
-                possibleTypes.add(PipeType.LINE);
+                possibleTypes |= typeMask(PipeType.LINE);
             } else if (hasAdjacentOpenings(mandatoryAndOptional)) {
-                possibleTypes.add(PipeType.CURVE);
+                possibleTypes |= typeMask(PipeType.CURVE);
             } else if (hasOpposingOpenings(mandatoryAndOptional)) {
-                possibleTypes.add(PipeType.LINE);
+                possibleTypes |= typeMask(PipeType.LINE);
             }
         }
 
         if (sizeMandatory <= 3 && sizeMandatory + sizeOptional >= 3) {
-            possibleTypes.add(PipeType.T_PIPE);
+            possibleTypes |= typeMask(PipeType.T_PIPE);
         }
         return possibleTypes;
     }
 
     /**
-     * Checks whether the provided set contains adjacent openings (f.e. top and right)
+     * Provides the bit of a PipeType in a mask of PipeTypes
      *
-     * @param openings Set with the openings, that should be checked
-     * @return true, if the set contains adjacent openings
+     * @param type PipeType
+     * @return bit of the PipeType
      */
-    private boolean hasAdjacentOpenings(EnumSet<Direction> openings) {
-        if (openings.contains(Direction.TOP) || openings.contains(Direction.BOTTOM)) {
-            return openings.contains(Direction.RIGHT) || openings.contains(Direction.LEFT);
-        }
-        return false;
+    private static int typeMask(PipeType type) {
+        return 1 << type.ordinal();
+    }
+
+    /**
+     * Checks whether the provided mask contains adjacent openings (f.e. top and right)
+     *
+     * @param openings mask with the openings, that should be checked
+     * @return true, if the mask contains adjacent openings
+     */
+    private boolean hasAdjacentOpenings(int openings) {
+        return (openings & VERTICAL) != 0 && (openings & HORIZONTAL) != 0;
     }
 
     /**
-     * Checks whether the provided set contains opposing openings (f.e. top and bottom)
+     * Checks whether the provided mask contains opposing openings (f.e. top and bottom)
      *
-     * @param openings Set with the openings, that should be checked
-     * @return true, if the set contains opposing openings
+     * @param openings mask with the openings, that should be checked
+     * @return true, if the mask contains opposing openings
      */
-    private boolean hasOpposingOpenings(EnumSet<Direction> openings) {
-        return openings.containsAll(Set.of(Direction.TOP, Direction.BOTTOM)) || openings.containsAll(Set.of(Direction.RIGHT, Direction.LEFT));
+    private boolean hasOpposingOpenings(int openings) {
+        return (openings & VERTICAL) == VERTICAL || (openings & HORIZONTAL) == HORIZONTAL;
     }
 
     /**
-     * Turns the pipe until it suits every mandatoryOpening and the rest is covered by optional Openings
+     * Turns the openings until they suit every mandatoryOpening and the rest is covered by optional Openings
      *
-     * @param pipe              Pipe to rotate correctly
+     * @param openings          opening mask of the pipe to rotate correctly
      * @param mandatoryOpenings mandatory Openings to be covered by the Pipe
      * @param optionalOpenings  optionalOpenings that can be covered by the pipe
+     * @return correctly rotated opening mask
      */
-    private void rotateCorrectly(Pipe pipe, EnumSet<Direction> mandatoryOpenings, EnumSet<Direction> optionalOpenings) {
-        EnumSet<Direction> pipeOpenings = pipe.getOpenings();
-        EnumSet<Direction> mandatoryAndOptional = EnumSet.copyOf(mandatoryOpenings);
-        mandatoryAndOptional.addAll(optionalOpenings);
-        while (!(pipeOpenings.containsAll(mandatoryOpenings) && mandatoryAndOptional.containsAll(pipeOpenings))) {
-            pipe.turn(true);
-            pipeOpenings = pipe.getOpenings();
+    private int rotateCorrectly(int openings, int mandatoryOpenings, int optionalOpenings) {
+        int mandatoryAndOptional = mandatoryOpenings | optionalOpenings;
+        while ((openings & mandatoryOpenings) != mandatoryOpenings || (openings & ~mandatoryAndOptional) != 0) {
+            openings = Pipe.turnOpenings(openings, true);
         }
+        return openings;
     }
 
     /**
      * Initializes a new field with only WALL values
      */
     public void initNewField() {
-        int cols = getCols();
-        int rows = getRows();
-        this.field = new Pipe[cols][rows];
-
-        for (int x = 0; x < cols; x++) {
-            for (int y = 0; y < rows; y++) {
-                field[x][y] = new Pipe(PipeType.WALL);
-            }
-        }
-        this.source = null;
+        this.cells.fill(WALL);
+        cellsReplaced();
+        this.revision++;
+        setSource((Position) null);
     }
 
 
@@ -382,34 +868,108 @@ public class GameField {
      */
     public void setSource(Position source) {
         this.source = source;
+        connectivity.invalidate();
+        if (file != null) {
+            file.setSource(source);
+        }
+    }
+
+    /**
+     * Getter for the index of the source
+     *
+     * @return index of the source or {@link #NO_INDEX}, if no source is set
+     */
+    public int getSourceIndex() {
+        return indexOf(source);
+    }
+
+    /**
+     * Setter for the source by its index
+     *
+     * @param index index of the source or {@link #NO_INDEX} to remove the source
+     */
+    public void setSource(int index) {
+        setSource(positionOf(index));
     }
 
     /**
      * Getter for the overflow
      *
-     * @return overflow
+     * @return true, if the borders are connected as a {@link Topology#TORUS}
      */
     public boolean isOverflow() {
-        return overflow;
+        return topology == Topology.TORUS;
+    }
+
+    /**
+     * Getter for the topology
+     *
+     * @return connection of the borders
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Getter for the storage mode of the cells
+     *
+     * @return storage mode of the cells
+     */
+    public StorageMode getStorageMode() {
+        return cells.getMode();
     }
 
     /**
-     * Setter for the overflow
+     * Getter for the large-board mode
+     *
+     * @return true, if the field is in the large-board mode
+     */
+    public boolean isLargeBoard() {
+        return largeBoard;
+    }
+
+    /**
+     * Setter for the overflow. Connects the borders as a {@link Topology#TORUS} or not at all.
      *
      * @param overflow overflow to be set
      */
     public void setOverflow(boolean overflow) {
-        this.overflow = overflow;
+        setTopology(Topology.of(overflow));
+    }
+
+    /**
+     * Setter for the topology. The neighbors of the cells are compiled for the new topology.
+     *
+     * @param topology connection of the borders
+     */
+    public void setTopology(Topology topology) {
+        this.topology = topology;
+        if (file != null) {
+            file.setTopology(topology);
+        }
+        this.neighbors = new NeighborTable(cols, rows, topology);
+        this.unmatchedOpenings = NOT_COUNTED;
+        connectivity.invalidate();
     }
 
     /**
-     * Returns a copy of the Pipe at the Position provided
+     * Returns the Pipe at the Position provided
      *
      * @param pos Position of the pipe
      * @return Pipe on the position provided or null, if the position is null
      */
     public Pipe getAt(Position pos) {
-        return pos != null ? field[pos.x()][pos.y()].copy() : null;
+        return getAt(indexOf(pos));
+    }
+
+    /**
+     * Returns the Pipe at the index provided
+     *
+     * @param index index of the pipe
+     * @return Pipe on the index provided or null, if the index is {@link #NO_INDEX}
+     */
+    public Pipe getAt(int index) {
+        return index != NO_INDEX ? Pipe.of(cells.get(index)) : null;
     }
 
     /**
@@ -420,10 +980,20 @@ public class GameField {
      * @param type Type of the Pipe
      */
     public void setAt(Position pos, PipeType type) {
-        if (pos != null) {
-            field[pos.x()][pos.y()] = new Pipe(type);
-        }
+        setAt(indexOf(pos), type);
+    }
 
+    /**
+     * Sets a {@link Pipe} with the pipeType provided and {@link logic.enums.Rotation#NORMAL} on the index provided
+     *
+     * @param index index, where a new Pipe should be set
+     * @param type  Type of the Pipe
+     */
+    public void setAt(int index, PipeType type) {
+        if (index != NO_INDEX) {
+            setCell(index, Pipe.of(type).toInt());
+            revision++;
+        }
     }
 
     /**
@@ -433,27 +1003,30 @@ public class GameField {
      * @param clockwise indicator for clockwise or counterclockwise
      */
     public void turn(Position pos, boolean clockwise) {
-        if (pos != null) {
-            field[pos.x()][pos.y()].turn(clockwise);
-        }
+        turn(indexOf(pos), clockwise);
     }
 
     /**
-     * Getter for the amount of Columns in the field
+     * Turns the Pipe on the index provided clockwise or counterclockwise
      *
-     * @return amount of Columns
+     * @param index     index of the pipe
+     * @param clockwise indicator for clockwise or counterclockwise
      */
+    public void turn(int index, boolean clockwise) {
+        if (index != NO_INDEX) {
+            setCell(index, Pipe.turnOpenings(cells.get(index), clockwise));
+            revision++;
+        }
+    }
+
+    @Override
     public int getCols() {
-        return field.length;
+        return cols;
     }
 
-    /**
-     * Getter for the amount of Rows in the field
-     *
-     * @return amount of Rows
-     */
+    @Override
     public int getRows() {
-        return field[0].length;
+        return rows;
     }
 
     /**
@@ -463,7 +1036,38 @@ public class GameField {
      * @return PipeType or null, if position is null
      */
     public PipeType getPipeTypeAt(Position position) {
-        return position != null ? this.field[position.x()][position.y()].getType() : null;
+        return getPipeTypeAt(indexOf(position));
+    }
+
+    /**
+     * Returns the PipeType at the index provided, or null, if the index is {@link #NO_INDEX}
+     *
+     * @param index index, where the pipeType is demanded
+     * @return PipeType or null, if the index is {@link #NO_INDEX}
+     */
+    @Override
+    public PipeType getPipeTypeAt(int index) {
+        return index != NO_INDEX ? Pipe.of(cells.get(index)).getType() : null;
+    }
+
+    @Override
+    public int getOpeningMaskAt(int index) {
+        return cells.get(index);
+    }
+
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Provides a stable copy of the cells, which is not changed by later changes of this field. Taking a snapshot of a
+     * field on the heap is O(1), because the snapshot shares the cells until this field changes them.
+     *
+     * @return snapshot of the current cells
+     */
+    public BoardView snapshot() {
+        return new BoardSnapshot(cells.copy(), cols, rows, revision);
     }
 
 
@@ -473,22 +1077,11 @@ public class GameField {
      * @param newAmountOfRows new Amount of Rows
      */
     public void changeAmountOfRows(int newAmountOfRows) {
-        if (newAmountOfRows < MIN_AMOUNT_ROWS || newAmountOfRows > MAX_AMOUNT_ROWS) {
+        if (newAmountOfRows < MIN_AMOUNT_ROWS || newAmountOfRows > maxAmountOfRows(largeBoard)) {
             throw new IllegalArgumentException("Anzahl Reihen ist nicht valide");
         }
-        // Create a new field and copy the rows that remain
-        Pipe[][] newField = new Pipe[field.length][newAmountOfRows];
-        int rowsToCopy = Math.min(newAmountOfRows, field[0].length);
-        for (int i = 0; i < field.length; i++) {
-            System.arraycopy(field[i], 0, newField[i], 0, rowsToCopy);
-        }
-        // Add new rows to the field if needed and provide Walls
-        for (int i = 0; i < field.length; i++) {
-            for (int j = rowsToCopy; j < newAmountOfRows; j++) {
-                newField[i][j] = new Pipe(PipeType.WALL);
-            }
-        }
-        field = newField;
+        // Create a new field and copy the rows that remain, new rows are walls
+        resize(cols, newAmountOfRows);
         // Clear source if it is no longer in the field
         if (source != null && source.y() >= newAmountOfRows) {
             source = null;
@@ -501,21 +1094,11 @@ public class GameField {
      * @param newAmountOfCols new Amount of cols
      */
     public void changeAmountOfCols(int newAmountOfCols) {
-        if (newAmountOfCols < MIN_AMOUNT_COLS || newAmountOfCols > MAX_AMOUNT_COLS) {
+        if (newAmountOfCols < MIN_AMOUNT_COLS || newAmountOfCols > maxAmountOfCols(largeBoard)) {
             throw new IllegalArgumentException("Anzahl Spalten ist nicht valide");
         }
-        // Create a new field and copy the cols that remain
-        Pipe[][] newField = new Pipe[newAmountOfCols][field[0].length];
-        int colsToCopy = Math.min(newAmountOfCols, field.length);
-        System.arraycopy(field, 0, newField, 0, colsToCopy);
-
-        // Add new cols to the field if needed and provide Walls
-        for (int x = colsToCopy; x < newAmountOfCols; x++) {
-            for (int y = 0; y < field[0].length; y++) {
-                newField[x][y] = new Pipe(PipeType.WALL);
-            }
-        }
-        this.field = newField;
+        // Create a new field and copy the cols that remain, new cols are walls
+        resize(newAmountOfCols, rows);
         // Clear source if it is no longer in the field
         if (source != null && source.x() >= newAmountOfCols) {
             source = null;
@@ -524,36 +1107,59 @@ public class GameField {
     }
 
     /**
-     * Method to create an int-representation of the GameField
+     * Replaces the {@link #cells} by a storage with the dimensions provided. The cells that remain are kept, new cells
+     * are walls. A mapped field is detached from its file and keeps its cells off the heap.
+     *
+     * @param newCols new amount of cols
+     * @param newRows new amount of rows
+     */
+    private void resize(int newCols, int newRows) {
+        this.cells = cells.resized(cols, rows, newCols, newRows);
+        cellsReplaced();
+        this.file = null;
+        this.cols = newCols;
+        this.rows = newRows;
+        this.neighbors = new NeighborTable(newCols, newRows, topology);
+        this.revision++;
+    }
+
+    /**
+     * Method to create an int-representation of the GameField. The fields are copied in bands of
+     * {@link #EXPORT_BAND_ROWS} rows, so the words of the band and the part of every column stay in the cache.
      *
      * @return Array of int-values representing the openings of the fields
      */
     int[][] toInt() {
-        int cols = getCols();
-        int rows = getRows();
         int[][] arr = new int[cols][rows];
-        for (int i = 0; i < cols; i++) {
-            for (int j = 0; j < rows; j++) {
-                arr[i][j] = field[i][j].toInt();
+        for (int band = 0; band < rows; band += EXPORT_BAND_ROWS) {
+            int bandEnd = Math.min(band + EXPORT_BAND_ROWS, rows);
+            for (int x = 0; x < cols; x++) {
+                int[] col = arr[x];
+                for (int y = band; y < bandEnd; y++) {
+                    col[y] = cells.get(toIndex(x, y));
+                }
             }
         }
         return arr;
     }
 
     /**
-     * Method to rotate every field randomly
+     * Method to rotate every field randomly. Turns the sixteen fields of a word at once, every field is turned by
+     * two random bits (0 to 3 turns).
      */
     public void rotateRandomly() {
-        for (Pipe[] row : field) {
-            for (Pipe pipe : row) {
-                pipe.rotateRandomly();
-            }
+        Random rnd = new Random();
+        for (int w = 0; w < cells.words(); w++) {
+            cells.setWord(w, CellStorage.turnEach(cells.getWord(w), rnd.nextLong(), rnd.nextLong()));
         }
+        cellsReplaced();
+        revision++;
     }
 
     /**
      * This method returns a map of all the positions that are connected to the source position,
-     * along with the distance (in number of moves) from the source position to each of those positions.
+     * along with the distance (in number of moves) from the source position to each of those positions. The map is
+     * created from {@link #getConnectedLevels()} and contains an empty list after the greatest distance.
      *
      * @return a map where the keys are the distances from the source position, and the values are lists of positions
      * that are that distance away from the source
@@ -563,69 +1169,146 @@ public class GameField {
         if (source == null) {
             return new HashMap<>();
         }
-        int cols = getCols();
-        int rows = getRows();
 
         Map<Integer, List<Position>> reachablePositions = new HashMap<>();
-
-        // Initialize a queue to use for breadth-first search
-        Queue<Position> queue = new LinkedList<>();
-
-        // Initialize a set to keep track of which positions have been visited
-        Set<Position> visited = new HashSet<>();
-
-        queue.offer(source);
-        visited.add(source);
-        int distance = 0;
-
-        // Add the source position to the map with a distance of 0
-        reachablePositions.put(distance, new ArrayList<>());
-        reachablePositions.get(distance).add(source);
-
-        while (!queue.isEmpty()) {
-
-            // Get the number of positions at the current distance
-            int size = queue.size();
-            distance++;
-            //Add new List for the current distance
-            reachablePositions.put(distance, new ArrayList<>());
-
-            for (int i = 0; i < size; i++) {
-                Position curr = queue.poll();
-                if (curr != null) {
-
-                    // Check all possible directions to find the connected neighbor positions
-                    for (Direction direction : Direction.values()) {
-                        Position neighbor = curr.getNeighborPosition(cols, rows, direction, overflow);
-                        // add neighbor to reachablePositions if it is not visited yet but connected to this field
-                        if (isConnectedToNeighbor(direction, curr) && !visited.contains(neighbor)) {
-                            queue.offer(neighbor);
-                            visited.add(neighbor);
-                            // Add position to the list at the current distance
-                            reachablePositions.get(distance).add(neighbor);
-                        }
-                    }
-                }
+        DistanceLevels levels = getConnectedLevels();
+        if (levels.getLevelCount() == 0) {
+            // the source is not on the field, so no position is connected
+            reachablePositions.put(0, new ArrayList<>(List.of(source)));
+        }
+        for (int distance = 0; distance < levels.getLevelCount(); distance++) {
+            List<Position> positionsAtDistance = new ArrayList<>(levels.getLevelEnd(distance)
+                    - levels.getLevelStart(distance));
+            for (int i = levels.getLevelStart(distance); i < levels.getLevelEnd(distance); i++) {
+                positionsAtDistance.add(positionOf(levels.getCell(i)));
             }
+            reachablePositions.put(distance, positionsAtDistance);
         }
+        reachablePositions.put(Math.max(levels.getLevelCount(), 1), new ArrayList<>());
         return reachablePositions;
     }
 
+    /**
+     * Searches every cell connected to the source level by level. In the large-board mode the levels are grown on the
+     * {@link BitPlanes}, 64 cells at once.
+     *
+     * @return connected cells ordered by their distance to the source
+     */
+    public DistanceLevels getConnectedLevels() {
+        return searchConnectedCells().toLevels();
+    }
+
+    /**
+     * Analyzes the field with a single search from the source. Provides the connected cells with their distances, the
+     * unconnected cells, the leaks and whether the field is solved, so no other search is needed after a move. The
+     * result contains an int and a few bits per cell on the heap, also for a field mapped from a file.
+     *
+     * @return result of the analysis
+     */
+    public FloodResult analyze() {
+        BitSet leaks = new BitSet(cells.size());
+        flood.run(sourceIndexOnField(), cells, neighbors, leaks);
+        BitSet unconnected = unconnectedCells(flood);
+        boolean solved = source != null && unconnected.isEmpty() && leaks.isEmpty();
+        return new FloodResult(flood.toLevels(), flood.toBitSet(), unconnected, leaks, solved);
+    }
+
+    /**
+     * Labels every connected component of the pipes on the field, independent of the source. Provides the size and the
+     * open ends of every component, so clusters not connected to the source can be analyzed without a search per
+     * cluster. The labels are created by a union-find in linear time.
+     *
+     * @return components of the pipes
+     */
+    public ComponentLabels labelComponents() {
+        return ComponentLabels.of(cells, neighbors);
+    }
 
     /**
-     * Returns all connected Positions as a Set. Uses {@link #getConnectedPositionsWithDistances}
+     * Searches the cells connected to the source. Fields with at least {@link ParallelFloodSearch#MIN_PARALLEL_CELLS}
+     * cells are searched level by level by the {@link #parallelFlood}, if more than one worker is available. Below,
+     * in the large-board mode the {@link #bitFlood} grows the connected cells on the {@link BitPlanes}, unless the
+     * borders are mirrored, otherwise the {@link #flood} searches cell by cell. The results are valid until the next
+     * search.
+     *
+     * @return search, which reached the connected cells
+     */
+    private FloodFill searchConnectedCells() {
+        if (cells.size() >= ParallelFloodSearch.MIN_PARALLEL_CELLS && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelFlood.run(sourceIndexOnField(), cells, neighbors);
+            return parallelFlood;
+        }
+        if (largeBoard && !topology.mirrorsRows()) {
+            bitFlood.run(sourceIndexOnField(), getPlanes(), cols, cells.size(), topology.connectsCols(),
+                    topology.connectsRows());
+            return bitFlood;
+        }
+        flood.run(sourceIndexOnField(), cells, neighbors, null);
+        return flood;
+    }
+
+    /**
+     * Provides the index of the source, if it is on the field
+     *
+     * @return index of the source or {@link #NO_INDEX}, if no source is set or it is not on the field
+     */
+    private int sourceIndexOnField() {
+        return source == null || source.isInvalidPosition(cols, rows) ? NO_INDEX : getSourceIndex();
+    }
+
+    /**
+     * Returns all connected Positions as a Set. Uses {@link #getConnectedCells()}. The source is contained, even if it
+     * is not on the field.
      *
      * @return Set with every Position that is connected to the sourcePosition
      */
     public Set<Position> getConnectedPositionsAsSet() {
-        Map<Integer, List<Position>> reachablePositions = getConnectedPositionsWithDistances();
         Set<Position> connectedPositions = new HashSet<>();
-        for (List<Position> positions : reachablePositions.values()) {
-            connectedPositions.addAll(positions);
+        if (source != null) {
+            connectedPositions.add(source);
+        }
+        BitSet connected = getConnectedCells();
+        for (int i = connected.nextSetBit(0); i >= 0; i = connected.nextSetBit(i + 1)) {
+            connectedPositions.add(positionOf(i));
         }
         return connectedPositions;
     }
 
+    /**
+     * Returns the indices of all cells connected to the source, including the source. Needs one bit per cell, the
+     * membership of an index is tested in O(1) and the indices are iterated in ascending order.
+     *
+     * @return set bits at the index of every connected cell
+     */
+    public BitSet getConnectedCells() {
+        return searchConnectedCells().toBitSet();
+    }
+
+    /**
+     * Returns the indices of all cells (except Walls) not connected to the source. Needs one bit per cell.
+     *
+     * @return set bits at the index of every unconnected cell
+     */
+    public BitSet getUnconnectedCells() {
+        return unconnectedCells(searchConnectedCells());
+    }
+
+    /**
+     * Provides the cells (except Walls), which were not reached by the search provided
+     *
+     * @param search search, which ran last
+     * @return set bits at the index of every unconnected cell
+     */
+    private BitSet unconnectedCells(FloodFill search) {
+        BitSet unconnected = new BitSet(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            if (!search.isVisited(i) && cells.get(i) != WALL) {
+                unconnected.set(i);
+            }
+        }
+        return unconnected;
+    }
+
 
     /**
      * This method returns a Set of Position objects that are not connected to the source
@@ -635,161 +1318,268 @@ public class GameField {
      */
     public Set<Position> getUnconnectedPositions() {
         Set<Position> unreachablePositions = new HashSet<>();
-        int cols = getCols();
-        int rows = getRows();
-        Set<Position> visited = new HashSet<>();
-
-        // Queue for breadth-first search algorithm
-        Queue<Position> queue = new LinkedList<>();
-        queue.offer(source);
-        visited.add(source);
-        if (source != null) {
-            while (!queue.isEmpty()) {
-                Position curr = queue.poll();
-                // Check every direction and add the Position to visited
-                for (Direction direction : Direction.values()) {
-                    Position neighbor = curr.getNeighborPosition(cols, rows, direction, overflow);
-                    if (isConnectedToNeighbor(direction, curr) && !visited.contains(neighbor)) {
-                        queue.offer(neighbor);
-                        visited.add(neighbor);
-                    }
-                }
-            }
+        BitSet unconnected = getUnconnectedCells();
+        for (int i = unconnected.nextSetBit(0); i >= 0; i = unconnected.nextSetBit(i + 1)) {
+            unreachablePositions.add(positionOf(i));
         }
+        return unreachablePositions;
+    }
 
-        // Check every position and determine if it is in the visited set, meaning that it is connected to the source.
-        // If it is not, add it to unreachable Positions, if it is not a wall
-        for (int i = 0; i < getCols(); i++) {
-            for (int j = 0; j < getRows(); j++) {
-                Position curr = new Position(i, j);
+    /**
+     * Checks, if every pipe (except Walls) is connected to the source. Does not create any Position, so it can be used
+     * for large fields.
+     *
+     * @return true, if every pipe is connected to the source
+     */
+    public boolean allPipesConnected() {
+        return getUnreachedPipes() == 0;
+    }
 
-                if (!visited.contains(curr) && !(getPipeTypeAt(curr) == PipeType.WALL)) {
-                    unreachablePositions.add(curr);
-                }
-            }
-        }
-        return unreachablePositions;
+    /**
+     * Checks, if the field is solved: a source is set, every opening is connected and every pipe is connected to the
+     * source. The unmatched openings are counted with every change of a cell, so the check takes O(1) as long as an
+     * opening is not connected. The pipes connected to the source are only searched, if every opening is connected,
+     * and are repaired with every change afterwards.
+     *
+     * @return true, if the field is solved
+     */
+    public boolean isSolved() {
+        return source != null && getUnmatchedOpenings() == 0 && getUnreachedPipes() == 0;
     }
 
     /**
-     * Check for a position, if all neighbors of that position are connected
+     * Provides the amount of pipes, which are not connected to the source. The {@link #connectivity} is searched, if it
+     * is not valid, and repaired with every change of a cell afterwards.
      *
-     * @param pos Position to be checked
-     * @return true, if all the Neighbors are connected
+     * @return amount of pipes, which are not connected to the source
      */
-    private boolean allNeighborsConnected(Position pos) {
-        Pipe pipe = field[pos.x()][pos.y()];
+    private int getUnreachedPipes() {
+        return getConnectivity().getUnreachedPipes();
+    }
 
-        if (pipe == null) {
-            return false;
-        }
+    /**
+     * Provides the distance of a cell to the source in steps between connected cells. The distances are searched on
+     * the first request and repaired with every change of a cell afterwards, so a turn only costs the cells whose
+     * distance changes. The distances and the queue of the repairs need two ints per cell on the heap, also for a field
+     * mapped from a file.
+     *
+     * @param index index of the cell
+     * @return distance of the cell or {@link DistanceLevels#NOT_CONNECTED}, if it is not connected to the source
+     */
+    public int getDistanceToSource(int index) {
+        return getConnectivity().getDistance(index);
+    }
 
-        int cols = getCols();
-        int rows = getRows();
+    /**
+     * Provides the {@link #connectivity} and searches the distances, if they are not valid
+     *
+     * @return valid connectivity of the cells
+     */
+    private ConnectivityTracker getConnectivity() {
+        if (!connectivity.isValid()) {
+            connectivity.rebuild(sourceIndexOnField(), cells, neighbors);
+        }
+        return connectivity;
+    }
 
-        boolean allConnected = true;
+    /**
+     * Provides the {@link #unmatchedOpenings} and counts them, if they are not counted
+     *
+     * @return amount of unmatched openings
+     */
+    private int getUnmatchedOpenings() {
+        if (unmatchedOpenings == NOT_COUNTED) {
+            int unmatched = 0;
+            for (int i = 0; i < cells.size(); i++) {
+                int openings = cells.get(i);
+                if (openings == EMPTY) {
+                    unmatched++;
+                }
+                for (Direction direction : DIRECTIONS) {
+                    if (direction.isSetIn(openings) && !isOpenTowards(neighbors.get(i, direction), direction)) {
+                        unmatched++;
+                    }
+                }
+            }
+            unmatchedOpenings = unmatched;
+        }
+        return unmatchedOpenings;
+    }
 
-        Iterator<Direction> it = pipe.getOpenings().iterator();
-        Position neighbor;
-        Direction dir;
-        // Check every direction, if it should be connected and if it is connected
-        while (it.hasNext() && allConnected) {
-            dir = it.next();
-            neighbor = pos.getNeighborPosition(cols, rows, dir, overflow);
-            allConnected = neighbor != null && field[neighbor.x()][neighbor.y()].getOpenings().contains(dir.getOpposite());
+    /**
+     * Counts the unmatched openings on the four edges of a cell. Every edge has at most one unmatched opening, either
+     * of the cell or of the neighbor, so the difference before and after a change of the cell is the change of
+     * {@link #unmatchedOpenings}.
+     *
+     * @param index index of the cell
+     * @return amount of unmatched openings on the edges of the cell
+     */
+    private int unmatchedOpeningsAround(int index) {
+        int openings = cells.get(index);
+        int unmatched = openings == EMPTY ? 1 : 0;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isSetIn(openings) != isOpenTowards(neighbors.get(index, direction), direction)) {
+                unmatched++;
+            }
         }
-        return allConnected;
+        return unmatched;
+    }
+
+    /**
+     * Checks, if the neighbor has an opening towards the cell, from which it is in the direction provided
+     *
+     * @param neighbor index of the neighbor or {@link NeighborTable#NO_NEIGHBOR}
+     * @param dir      direction in which the neighbor is
+     * @return true, if the neighbor exists and has the opposite opening
+     */
+    private boolean isOpenTowards(int neighbor, Direction dir) {
+        return neighbor != NeighborTable.NO_NEIGHBOR && dir.isOppositeSetIn(cells.get(neighbor));
     }
 
     /**
      * Checks if the Neighbor field needs to be connected to this field by taking the direction of the neighbor and
      * checking if the neighbor has the opposite Opening
      *
-     * @param neighborPosition Position to be checked
-     * @param dir              direction in which the neighbor is
+     * @param neighbor index of the neighbor to be checked
+     * @param dir      direction in which the neighbor is
      * @return true, if the neighbor needs to be connected to this position
      */
-    private boolean needsConnection(Position neighborPosition, Direction dir) {
-        if (neighborPosition == null) {
-            return false;
-        }
-        Pipe pipe = field[neighborPosition.x()][neighborPosition.y()];
-        if (pipe == null) {
+    private boolean needsConnection(int neighbor, Direction dir) {
+        if (neighbor == NeighborTable.NO_NEIGHBOR) {
             return false;
         }
-        return pipe.getOpenings().contains(dir.getOpposite());
+        int openings = cells.get(neighbor);
+        return openings != EMPTY && dir.isOppositeSetIn(openings);
     }
 
     /**
-     * Checks, if the neighbor is connected to the field on the current Position.
+     * Check for every field, if every neighbor is connected. Uses the {@link #unmatchedOpenings}, if they are counted.
+     * Otherwise compares the {@link BitPlanes} of opposite directions word by word, so 64 fields are checked at once
      *
-     * @param dir             Direction of the neighbor
-     * @param currentPosition Position of the current field
-     * @return true, if the neighbor is connected
+     * @return true, if all openings are connected
      */
-    private boolean isConnectedToNeighbor(Direction dir, Position currentPosition) {
-        int cols = getCols();
-        int rows = getRows();
-        if (currentPosition.isInvalidPosition(cols, rows)) {
-            return false;
+    public boolean allOpeningsConnected() {
+        if (unmatchedOpenings != NOT_COUNTED) {
+            return unmatchedOpenings == 0;
         }
-
-        if (!field[currentPosition.x()][currentPosition.y()].getOpenings().contains(dir)) {
-            return false;
+        if (topology.mirrorsRows()) {
+            // mirrored borders can not be compared by shifting the planes
+            return getUnmatchedOpenings() == 0;
         }
+        return getPlanes().allOpeningsConnected(topology.connectsCols(), topology.connectsRows());
+    }
 
-        Position neighborPosition = currentPosition.getNeighborPosition(cols, rows, dir, overflow);
-        if (neighborPosition == null) {
-            return false;
+    /**
+     * Provides the {@link #planes} of the cells and creates them, if they do not exist
+     *
+     * @return bit planes of the cells
+     */
+    private BitPlanes getPlanes() {
+        if (planes == null) {
+            planes = new BitPlanes(cells, cols, rows);
         }
-        Pipe neighbor = field[neighborPosition.x()][neighborPosition.y()];
+        return planes;
+    }
 
-        return neighbor != null && neighbor.getOpenings().contains(dir.getOpposite());
+    /**
+     * Drops the values derived from the cells, after the cells were replaced or changed at once
+     */
+    private void cellsReplaced() {
+        planes = null;
+        cellHashValid = false;
+        unmatchedOpenings = NOT_COUNTED;
+        connectivity.invalidate();
     }
 
     /**
-     * Check for every field, if every neighbor is connected. Uses the {@link #allNeighborsConnected(Position)} method
-     * to achieve it
+     * Provides the key of a cell with the openings provided for the Zobrist hash. The keys are calculated from the
+     * index and the openings by a mixing function (SplitMix64), so no table of keys is needed for big fields. Walls
+     * have the key 0, so they do not change the hash.
      *
-     * @return true, if all openings are connected
+     * @param index    index of the cell
+     * @param openings opening mask of the cell
+     * @return key of the cell
      */
-    public boolean allOpeningsConnected() {
-        boolean isDone = true;
-        for (int x = 0; x < getCols() && isDone; x++) {
-            for (int y = 0; y < getRows() && isDone; y++) {
-                isDone = allNeighborsConnected(new Position(x, y));
+    private static long zobristKey(int index, int openings) {
+        if (openings == WALL) {
+            return 0;
+        }
+        long z = (((long) index << CellStorage.BITS_PER_CELL) | openings) + ZOBRIST_SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Provides the Zobrist hash of the cells. Only depends on the openings of the cells, so equal fields have the same
+     * hash regardless of the storage. Is calculated once and updated in O(1) with every change of a cell afterwards.
+     *
+     * @return Zobrist hash of the cells
+     */
+    public long getZobristHash() {
+        if (!cellHashValid) {
+            long hash = 0;
+            for (int i = 0; i < cells.size(); i++) {
+                hash ^= zobristKey(i, cells.get(i));
             }
+            cellHash = hash;
+            cellHashValid = true;
+        }
+        return cellHash;
+    }
+
+    /**
+     * Sets the opening mask of a cell and updates the {@link #planes}, the {@link #cellHash}, the
+     * {@link #unmatchedOpenings} and the {@link #connectivity}, if they exist. Only the edges of the cell are checked
+     * for unmatched openings.
+     *
+     * @param index    index of the cell
+     * @param openings new opening mask
+     */
+    private void setCell(int index, int openings) {
+        int oldOpenings = cells.get(index);
+        if (cellHashValid) {
+            cellHash ^= zobristKey(index, oldOpenings) ^ zobristKey(index, openings);
+        }
+        if (unmatchedOpenings != NOT_COUNTED) {
+            unmatchedOpenings -= unmatchedOpeningsAround(index);
+            cells.set(index, openings);
+            unmatchedOpenings += unmatchedOpeningsAround(index);
+        } else {
+            cells.set(index, openings);
+        }
+        if (connectivity.isValid()) {
+            connectivity.cellChanged(index, oldOpenings, cells, neighbors);
+        }
+        if (planes != null) {
+            planes.set(index, openings);
         }
-        return isDone;
     }
 
     /**
      * Checks, if the field is empty
      *
-     * @param pos Position
-     * @return true, if the position is not null and the field is null
+     * @param index index of the field
+     * @return true, if the index is not {@link NeighborTable#NO_NEIGHBOR} and the field is empty
      */
-    private boolean isEmptyField(Position pos) {
-        return pos != null && field[pos.x()][pos.y()] == null;
+    private boolean isEmptyField(int index) {
+        return index != NeighborTable.NO_NEIGHBOR && cells.get(index) == EMPTY;
     }
 
 
     /**
-     * Returns a Set with directions of every empty neighbor field from the provided position which has a direction
-     * in the provided Set
+     * Returns a mask with directions of every empty neighbor field from the provided position which has a direction
+     * in the provided mask
      *
-     * @param pos        position where empty neighbors should be provided
-     * @param directions directions that need to be checked
-     * @return Set of Directions, where empty neighbor fields are located
+     * @param index      index of the position where empty neighbors should be provided
+     * @param directions mask of the directions that need to be checked
+     * @return mask of Directions, where empty neighbor fields are located
      */
-    private EnumSet<Direction> getEmptyNeighbors(Position pos, EnumSet<Direction> directions) {
-        EnumSet<Direction> emptyNeighbors = EnumSet.noneOf(Direction.class);
-        int cols = getCols();
-        int rows = getRows();
-        for (Direction direction : directions) {
-            Position neighborPos = pos.getNeighborPosition(cols, rows, direction, overflow);
-            if (isEmptyField(neighborPos)) {
-                emptyNeighbors.add(direction);
+    private int getEmptyNeighbors(int index, int directions) {
+        int emptyNeighbors = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (direction.isSetIn(directions) && isEmptyField(neighbors.get(index, direction))) {
+                emptyNeighbors |= direction.getMask();
             }
         }
         return emptyNeighbors;
@@ -798,18 +1588,14 @@ public class GameField {
     /**
      * Method to retrieve neighbors, that need to be connected to the provided Position on the field
      *
-     * @param pos position where neighbors, that need a connection, should be provided
-     * @return Set of Directions, where neighbor fields need to be connected
-     */
-    private EnumSet<Direction> getNeighborsToConnect(Position pos) {
-        EnumSet<Direction> neighborsToConnect = EnumSet.noneOf(Direction.class);
-        int cols = getCols();
-        int rows = getRows();
-        Position neighborPos;
-        for (Direction direction : Direction.values()) {
-            neighborPos = pos.getNeighborPosition(cols, rows, direction, overflow);
-            if (needsConnection(neighborPos, direction)) {
-                neighborsToConnect.add(direction);
+     * @param index index of the position where neighbors, that need a connection, should be provided
+     * @return mask of Directions, where neighbor fields need to be connected
+     */
+    private int getNeighborsToConnect(int index) {
+        int neighborsToConnect = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (needsConnection(neighbors.get(index, direction), direction)) {
+                neighborsToConnect |= direction.getMask();
             }
         }
         return neighborsToConnect;
@@ -822,24 +1608,16 @@ public class GameField {
      * @return true, if less than or equal walls are present in the current field
      */
     private boolean wallsInBounds(int maxPercentageWalls) {
-        return getAmountOfWalls() <= getCols() * getRows() * maxPercentageWalls / 100;
+        return getAmountOfWalls() <= cols * rows * maxPercentageWalls / 100;
     }
 
     /**
-     * Checks how many Walls are placed on the GameField
+     * Checks how many Walls are placed on the GameField. Counts the fields without an opening in the {@link BitPlanes}
      *
      * @return amount of walls
      */
     int getAmountOfWalls() {
-        int counter = 0;
-        for (Pipe[] pipes : field) {
-            for (Pipe pipe : pipes) {
-                if (pipe.getType() == PipeType.WALL) {
-                    counter++;
-                }
-            }
-        }
-        return counter;
+        return getPlanes().countWalls();
     }
 
     @Override
@@ -847,14 +1625,14 @@ public class GameField {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         GameField gameField = (GameField) o;
-        return overflow == gameField.overflow && Arrays.deepEquals(field, gameField.field)
-                && Objects.equals(source, gameField.source);
+        return topology == gameField.topology && cols == gameField.cols && rows == gameField.rows
+                && cells.equals(gameField.cells) && Objects.equals(source, gameField.source);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(source, overflow);
-        result = 31 * result + Arrays.deepHashCode(field);
+        int result = Objects.hash(source, topology, cols, rows);
+        result = 31 * result + Long.hashCode(getZobristHash());
         return result;
     }
 }
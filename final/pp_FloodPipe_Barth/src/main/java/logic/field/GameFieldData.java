@@ -2,12 +2,14 @@ package logic.field;
 
 import logic.Position;
 import logic.enums.FieldError;
+import logic.enums.Topology;
 
 import static logic.field.GameField.*;
 
 /**
- * Class that contains the data of a gameField containing a position, if overflow is selected and an int-representation
- * of the pipes on the board. Provides a method to validate the Data.
+ * Class that contains the data of a gameField containing a position, if overflow is selected, the topology and an
+ * int-representation of the pipes on the board. Provides a method to validate the Data. The overflow flag is kept
+ * next to the topology, so older versions can still read the files. Files without a topology are read by the flag.
  *
  * @author Philip Barth
  */
@@ -23,15 +25,20 @@ public class GameFieldData {
     public static final int MAX_VALUE_PIPE = 14;
 
     /**
-     * Position of the source
+     * Coordinates of the source
      */
-    private final Position source;
+    private final SourceCoordinates source;
 
     /**
      * overflow flag
      */
     private final Boolean overflow;
 
+    /**
+     * topology of the borders, null in files written before the topologies
+     */
+    private final Topology topology;
+
     /**
      * int-representation of the board
      */
@@ -43,8 +50,9 @@ public class GameFieldData {
      * @param gameField GameField to be transformed
      */
     public GameFieldData(GameField gameField) {
-        this.source = gameField.getSource();
+        this.source = SourceCoordinates.of(gameField.getSource());
         this.overflow = gameField.isOverflow();
+        this.topology = gameField.getTopology();
         this.board = gameField.toInt();
     }
 
@@ -57,8 +65,9 @@ public class GameFieldData {
      * @param board    board of GameField
      */
     GameFieldData(Position source, Boolean overflow, int[][] board) {
-        this.source = source;
+        this.source = SourceCoordinates.of(source);
         this.overflow = overflow;
+        this.topology = null;
         this.board = board;
     }
 
@@ -68,7 +77,7 @@ public class GameFieldData {
      * @return Position of source
      */
     Position getSource() {
-        return source;
+        return source != null ? Position.of(source.x, source.y) : null;
     }
 
     /**
@@ -80,6 +89,15 @@ public class GameFieldData {
         return overflow;
     }
 
+    /**
+     * Getter for the topology. Uses the overflow-flag, if no topology was stored.
+     *
+     * @return topology of the borders
+     */
+    Topology getTopology() {
+        return topology != null ? topology : Topology.of(overflow);
+    }
+
     /**
      * Getter for the field
      *
@@ -90,21 +108,43 @@ public class GameFieldData {
     }
 
     /**
-     * Validates the data and returns an Error based on the structure
+     * Validates the data and returns an Error based on the structure. Uses the limits of the standard mode.
      *
      * @return ERR_NULL, if the data is valid
      */
     public FieldError validate() {
+        return validate(false);
+    }
+
+    /**
+     * Validates the data and returns an Error based on the structure
+     *
+     * @param largeBoard true, if the limits of the large-board mode should be used
+     * @return ERR_NULL, if the data is valid
+     */
+    public FieldError validate(boolean largeBoard) {
+        return validate(maxAmountOfCols(largeBoard), maxAmountOfRows(largeBoard));
+    }
+
+    /**
+     * Validates the data and returns an Error based on the structure. Uses the maximum dimensions provided, for example
+     * the size a gui can display.
+     *
+     * @param maxCols maximum amount of cols
+     * @param maxRows maximum amount of rows
+     * @return ERR_NULL, if the data is valid
+     */
+    public FieldError validate(int maxCols, int maxRows) {
         if (source == null) {
             return FieldError.ERR_NO_SOURCE;
         }
 
-        if (source.x() == null || source.y() == null) {
+        if (source.x == null || source.y == null) {
             return FieldError.ERR_SOURCE_ONLY_ONE_VALUE;
         }
 
-        int x = source.x();
-        int y = source.y();
+        int x = source.x;
+        int y = source.y;
         if (x < 0 || y < 0) {
             return FieldError.ERR_NEGATIVE_SOURCE;
         }
@@ -121,11 +161,11 @@ public class GameFieldData {
             return FieldError.ERR_SOURCE_OUT_OF_BOUNDS;
         }
 
-        if (board.length < MIN_AMOUNT_COLS || board.length > MAX_AMOUNT_COLS) {
+        if (board.length < MIN_AMOUNT_COLS || board.length > maxCols) {
             return FieldError.ERR_INVALID_COLS;
         }
 
-        if (board[0].length < MIN_AMOUNT_ROWS || board[0].length > MAX_AMOUNT_ROWS) {
+        if (board[0].length < MIN_AMOUNT_ROWS || board[0].length > maxRows) {
             return FieldError.ERR_INVALID_ROWS;
         }
 
@@ -174,4 +214,42 @@ public class GameFieldData {
         }
         return inRange;
     }
+
+    /**
+     * Coordinates of the source as stored in a file, with the same names as the fields of a {@link Position}. The
+     * coordinates are boxed, so a missing coordinate of a file can be detected before a Position is created.
+     */
+    private static final class SourceCoordinates {
+
+        /**
+         * x-Coordinate, null if it is missing in the file
+         */
+        private final Integer x;
+
+        /**
+         * y-Coordinate, null if it is missing in the file
+         */
+        private final Integer y;
+
+        /**
+         * Creates the coordinates provided
+         *
+         * @param x x-Coordinate
+         * @param y y-Coordinate
+         */
+        private SourceCoordinates(Integer x, Integer y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        /**
+         * Provides the coordinates of a Position
+         *
+         * @param position Position of the source, can be null
+         * @return coordinates of the Position or null, if the Position is null
+         */
+        private static SourceCoordinates of(Position position) {
+            return position != null ? new SourceCoordinates(position.x(), position.y()) : null;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package logic.field;
+
+import logic.Position;
+import logic.enums.Direction;
+import logic.enums.Topology;
+
+/**
+ * Precomputed neighbors of every cell of a {@link GameField} with a fixed amount of cols, rows and {@link Topology}. Cells are
+ * addressed by their index (y * cols + x). Inside the field the neighbor is the index plus a constant offset per
+ * direction, so only the neighbors of the border cells are stored, in tables of the size of a row or a column. Whether a
+ * cell is on the top or bottom border is a comparison of its index, only the left and right border need its column.
+ * This keeps the table independent of the amount of cells, so it does not need heap per cell even for a field mapped
+ * from a file. The neighbors across the borders are provided by the topology once, when the table is created.
+ *
+ * @author Philip Barth
+ */
+final class NeighborTable {
+
+    /**
+     * Index provided, if a cell has no neighbor in a direction
+     */
+    static final int NO_NEIGHBOR = -1;
+
+    /**
+     * Offset of the neighbor inside the field, indexed by the ordinal of the direction
+     */
+    private final int[] offsets;
+
+    /**
+     * Neighbors of the border cells, indexed by the ordinal of the direction and the x-Coordinate (top and bottom
+     * border) or y-Coordinate (left and right border) of the cell
+     */
+    private final int[][] borderNeighbors;
+
+    /**
+     * amount of columns
+     */
+    private final int cols;
+
+    /**
+     * index of the first cell of the last row
+     */
+    private final int lastRow;
+
+    /**
+     * Creates the table for a field with the dimensions and topology provided
+     *
+     * @param cols     amount of columns
+     * @param rows     amount of rows
+     * @param topology connection of the borders
+     */
+    NeighborTable(int cols, int rows, Topology topology) {
+        this.cols = cols;
+        this.offsets = new int[Direction.values().length];
+        this.lastRow = (rows - 1) * cols;
+        this.borderNeighbors = new int[Direction.values().length][];
+
+        offsets[Direction.TOP.ordinal()] = -cols;
+        offsets[Direction.RIGHT.ordinal()] = 1;
+        offsets[Direction.BOTTOM.ordinal()] = cols;
+        offsets[Direction.LEFT.ordinal()] = -1;
+
+        int[] top = new int[cols];
+        int[] bottom = new int[cols];
+        for (int x = 0; x < cols; x++) {
+            top[x] = indexOf(topology.neighborAcrossBorder(x, 0, Direction.TOP, cols, rows));
+            bottom[x] = indexOf(topology.neighborAcrossBorder(x, rows - 1, Direction.BOTTOM, cols, rows));
+        }
+        int[] left = new int[rows];
+        int[] right = new int[rows];
+        for (int y = 0; y < rows; y++) {
+            left[y] = indexOf(topology.neighborAcrossBorder(0, y, Direction.LEFT, cols, rows));
+            right[y] = indexOf(topology.neighborAcrossBorder(cols - 1, y, Direction.RIGHT, cols, rows));
+        }
+        borderNeighbors[Direction.TOP.ordinal()] = top;
+        borderNeighbors[Direction.RIGHT.ordinal()] = right;
+        borderNeighbors[Direction.BOTTOM.ordinal()] = bottom;
+        borderNeighbors[Direction.LEFT.ordinal()] = left;
+    }
+
+    /**
+     * Provides the index of a neighbor across the border
+     *
+     * @param neighbor Position of the neighbor, can be null
+     * @return index of the neighbor or {@link #NO_NEIGHBOR}, if the position is null
+     */
+    private int indexOf(Position neighbor) {
+        return neighbor != null ? neighbor.toIndex(cols) : NO_NEIGHBOR;
+    }
+
+    /**
+     * Provides the index of the neighbor of a cell in the direction provided
+     *
+     * @param index     index of the cell
+     * @param direction direction of the neighbor
+     * @return index of the neighbor or {@link #NO_NEIGHBOR}, if it is out of the field
+     */
+    int get(int index, Direction direction) {
+        int border = switch (direction) {
+            case TOP -> index < cols ? index : NO_NEIGHBOR;
+            case BOTTOM -> index >= lastRow ? index - lastRow : NO_NEIGHBOR;
+            case LEFT -> index % cols == 0 ? index / cols : NO_NEIGHBOR;
+            case RIGHT -> index % cols == cols - 1 ? index / cols : NO_NEIGHBOR;
+        };
+        if (border == NO_NEIGHBOR) {
+            return index + offsets[direction.ordinal()];
+        }
+        return borderNeighbors[direction.ordinal()][border];
+    }
+}
@@ -0,0 +1,102 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link CellStorage} keeping the packed cells in a direct {@link ByteBuffer} outside the Java heap. The cells are not
+ * scanned by the garbage collector, so even boards with several hundred megabytes do not slow down garbage collection.
+ * New memory stores the words in the native byte order, a provided buffer (e.g. a mapped file) keeps its byte order.
+ * <p>
+ * A copy allocates new native memory and copies the words in bulk, the cells are never copied onto the heap.
+ *
+ * @author Philip Barth
+ */
+final class OffHeapCellStorage extends CellStorage {
+
+    /**
+     * Amount of bytes of a single word
+     */
+    private static final int BYTES_PER_WORD = Long.BYTES;
+
+    /**
+     * Native memory containing the packed cells
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a storage for the provided amount of cells in newly allocated native memory. Every cell is initialized
+     * as a wall.
+     *
+     * @param size amount of cells
+     */
+    OffHeapCellStorage(int size) {
+        this(size, ByteBuffer.allocateDirect(wordsFor(size) * BYTES_PER_WORD).order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * Creates a storage using the buffer provided. The buffer is used as it is, so the cells can be shared with
+     * another buffer of the same memory or a mapped file. The words are read and written starting at index 0 in the
+     * byte order of the buffer.
+     *
+     * @param size   amount of cells
+     * @param buffer buffer with enough space for the cells
+     * @throws IllegalArgumentException if the buffer is too small
+     */
+    OffHeapCellStorage(int size, ByteBuffer buffer) throws IllegalArgumentException {
+        super(size);
+        if (buffer.capacity() < (long) wordsFor(size) * BYTES_PER_WORD) {
+            throw new IllegalArgumentException("Der Speicher ist zu klein für " + size + " Zellen");
+        }
+        this.buffer = buffer;
+    }
+
+    @Override
+    StorageMode getMode() {
+        return StorageMode.OFF_HEAP;
+    }
+
+    @Override
+    long getWord(int word) {
+        return buffer.getLong(word * BYTES_PER_WORD);
+    }
+
+    @Override
+    void setWord(int word, long value) {
+        buffer.putLong(word * BYTES_PER_WORD, value);
+    }
+
+    @Override
+    int get(int index) {
+        return (int) (getWord(index >>> WORD_SHIFT) >>> shiftOf(index) & CELL_MASK);
+    }
+
+    @Override
+    void set(int index, int mask) {
+        int shift = shiftOf(index);
+        int offset = (index >>> WORD_SHIFT) * BYTES_PER_WORD;
+        buffer.putLong(offset, (buffer.getLong(offset) & ~(CELL_MASK << shift)) | ((mask & CELL_MASK) << shift));
+    }
+
+    @Override
+    void fill(int mask) {
+        long word = filledWord(mask);
+        int lastWord = words() - 1;
+        for (int i = 0; i < lastWord; i++) {
+            buffer.putLong(i * BYTES_PER_WORD, word);
+        }
+        if (lastWord >= 0) {
+            buffer.putLong(lastWord * BYTES_PER_WORD, filledLastWord(size(), mask));
+        }
+    }
+
+    @Override
+    OffHeapCellStorage copy() {
+        int bytes = words() * BYTES_PER_WORD;
+        ByteBuffer copied = ByteBuffer.allocateDirect(bytes).order(buffer.order());
+        copied.put(buffer.duplicate().clear().limit(bytes));
+        return new OffHeapCellStorage(size(), copied);
+    }
+}
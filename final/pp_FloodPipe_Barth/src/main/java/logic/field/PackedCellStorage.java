@@ -0,0 +1,158 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+
+import java.util.Arrays;
+
+/**
+ * {@link CellStorage} keeping the packed cells in long arrays on the Java heap.
+ * <p>
+ * The words are split into chunks of {@link #WORDS_PER_CHUNK} words. A copy shares all chunks with the original, so
+ * copying is O(1). The first change after a copy replaces the shared array of chunks, and every chunk is copied the
+ * first time it is changed (copy-on-write). Shared chunks are never changed, so a copy can be read by another thread.
+ *
+ * @author Philip Barth
+ */
+final class PackedCellStorage extends CellStorage {
+
+    /**
+     * Amount of words stored in one chunk
+     */
+    static final int WORDS_PER_CHUNK = 64;
+
+    /**
+     * Shift to get the chunk of a word index
+     */
+    private static final int CHUNK_SHIFT = 6;
+
+    /**
+     * Chunks of words containing the packed cells
+     */
+    private long[][] chunks;
+
+    /**
+     * Marks the chunks, which are only used by this storage and can be changed without copying them
+     */
+    private boolean[] ownedChunks;
+
+    /**
+     * True, if the array of chunks is shared with a copy
+     */
+    private boolean chunksShared;
+
+    /**
+     * Creates a storage for the provided amount of cells. Every cell is initialized as a wall.
+     *
+     * @param size amount of cells
+     */
+    PackedCellStorage(int size) {
+        super(size);
+        this.chunks = newChunks(size);
+        this.ownedChunks = new boolean[chunks.length];
+        Arrays.fill(ownedChunks, true);
+    }
+
+    /**
+     * Copy constructor. Shares the chunks with the other storage.
+     *
+     * @param other storage to be copied
+     */
+    private PackedCellStorage(PackedCellStorage other) {
+        super(other.size());
+        this.chunks = other.chunks;
+        this.ownedChunks = new boolean[chunks.length];
+        this.chunksShared = true;
+    }
+
+    /**
+     * Creates the chunks for the provided amount of cells. Only the last chunk may contain less words.
+     *
+     * @param size amount of cells
+     * @return chunks containing only walls
+     */
+    private static long[][] newChunks(int size) {
+        int words = wordsFor(size);
+        long[][] newChunks = new long[(words + WORDS_PER_CHUNK - 1) >>> CHUNK_SHIFT][];
+        for (int i = 0; i < newChunks.length; i++) {
+            newChunks[i] = new long[Math.min(WORDS_PER_CHUNK, words - i * WORDS_PER_CHUNK)];
+        }
+        return newChunks;
+    }
+
+    @Override
+    StorageMode getMode() {
+        return StorageMode.HEAP;
+    }
+
+    @Override
+    long getWord(int word) {
+        return chunks[word >>> CHUNK_SHIFT][word & (WORDS_PER_CHUNK - 1)];
+    }
+
+    @Override
+    void setWord(int word, long value) {
+        writableChunk(word >>> CHUNK_SHIFT)[word & (WORDS_PER_CHUNK - 1)] = value;
+    }
+
+    @Override
+    int get(int index) {
+        return (int) (getWord(index >>> WORD_SHIFT) >>> shiftOf(index) & CELL_MASK);
+    }
+
+    @Override
+    void set(int index, int mask) {
+        int shift = shiftOf(index);
+        int word = index >>> WORD_SHIFT;
+        long[] chunk = writableChunk(word >>> CHUNK_SHIFT);
+        int wordInChunk = word & (WORDS_PER_CHUNK - 1);
+        chunk[wordInChunk] = (chunk[wordInChunk] & ~(CELL_MASK << shift)) | ((mask & CELL_MASK) << shift);
+    }
+
+    /**
+     * Provides a chunk, which can be changed. Copies the array of chunks and the chunk, if they are shared.
+     *
+     * @param chunk index of the chunk
+     * @return words of the chunk
+     */
+    private long[] writableChunk(int chunk) {
+        if (chunksShared) {
+            chunks = chunks.clone();
+            ownedChunks = new boolean[chunks.length];
+            chunksShared = false;
+        }
+        if (!ownedChunks[chunk]) {
+            chunks[chunk] = chunks[chunk].clone();
+            ownedChunks[chunk] = true;
+        }
+        return chunks[chunk];
+    }
+
+    @Override
+    void fill(int mask) {
+        long word = filledWord(mask);
+        // every chunk is replaced, so no chunk is shared afterwards
+        chunks = newChunks(size());
+        ownedChunks = new boolean[chunks.length];
+        Arrays.fill(ownedChunks, true);
+        chunksShared = false;
+        for (long[] chunk : chunks) {
+            Arrays.fill(chunk, word);
+        }
+        if (chunks.length > 0) {
+            long[] lastChunk = chunks[chunks.length - 1];
+            lastChunk[lastChunk.length - 1] = filledLastWord(size(), mask);
+        }
+    }
+
+    /**
+     * Returns a copy of this storage. The copy shares the chunks with this storage, so no cell is copied until one of
+     * the storages is changed.
+     *
+     * @return copy of this storage
+     */
+    @Override
+    PackedCellStorage copy() {
+        chunksShared = true;
+        return new PackedCellStorage(this);
+    }
+}
@@ -0,0 +1,341 @@
+package logic.field;
+
+import logic.enums.Direction;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Level-synchronous breadth-first search from the source of a {@link GameField} for fields with millions of cells.
+ * The cells of a level are split into parts of {@link #grain} cells, which are expanded by the workers of the common
+ * {@link ForkJoinPool}. A worker claims a cell by setting its bit in the visited cells atomically, so every cell is
+ * added by exactly one worker. The cells found by a part are collected in a buffer of the worker and appended to the
+ * next level with a single atomic reservation. A level is finished before the next one is started, so the levels are the same as the
+ * ones of {@link FloodSearch}, only the order of the cells inside a level depends on the workers.
+ * <p>
+ * Levels with less than two parts are expanded on the calling thread without atomic operations, because the
+ * corridors of a generated field produce thousands of levels with only a few cells. The arrays are kept between the
+ * searches like in {@link FloodSearch}. The cells must not be changed during a search.
+ * <p>
+ * The results are only valid until the next search. Is owned by a single field and not thread-safe itself.
+ *
+ * @author Philip Barth
+ */
+final class ParallelFloodSearch implements FloodFill {
+
+    /**
+     * Amount of cells a field needs, before the search is worth distributing to the workers
+     */
+    static final int MIN_PARALLEL_CELLS = 1 << 20;
+
+    /**
+     * Amount of cells of a level expanded by a single worker
+     */
+    private static final int DEFAULT_GRAIN = 4096;
+
+    /**
+     * Shift to get the word of a cell index in {@link #visited}
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Amount of levels the starts are created for initially
+     */
+    private static final int INITIAL_LEVELS = 16;
+
+    /**
+     * Amount of cells the buffer of a worker is created for initially
+     */
+    private static final int INITIAL_BUFFER = 64;
+
+    /**
+     * All Directions. Stored once, because {@link Direction#values()} creates a new array on every call
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Atomic access to the words of {@link #visited}
+     */
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Amount of cells of a level expanded by a single worker
+     */
+    private final int grain;
+
+    /**
+     * Reached cells ordered by their level
+     */
+    private int[] cells = new int[0];
+
+    /**
+     * Bitset of the visited cells, 64 cells per word
+     */
+    private long[] visited = new long[0];
+
+    /**
+     * Start of every level in {@link #cells}, followed by the amount of reached cells
+     */
+    private int[] levelStarts = new int[INITIAL_LEVELS];
+
+    /**
+     * Position after the last reached cell in {@link #cells}, shared by the workers
+     */
+    private final AtomicInteger reached = new AtomicInteger();
+
+    /**
+     * Buffer of every worker for the cells found in a part. Grows with the parts and is kept between the levels and
+     * the searches, so a level does not allocate anything once the buffers are big enough.
+     */
+    private final ThreadLocal<int[]> buffers = ThreadLocal.withInitial(() -> new int[INITIAL_BUFFER]);
+
+    /**
+     * amount of levels of the last search
+     */
+    private int levels;
+
+    /**
+     * amount of cells of the field of the last search
+     */
+    private int size;
+
+    /**
+     * Cells of the field of the current search
+     */
+    private CellStorage storage;
+
+    /**
+     * Neighbors of the cells of the current search
+     */
+    private NeighborTable neighbors;
+
+    /**
+     * Creates a search, which distributes levels of more than {@link #DEFAULT_GRAIN} cells
+     */
+    ParallelFloodSearch() {
+        this(DEFAULT_GRAIN);
+    }
+
+    /**
+     * Creates a search, which distributes the levels in parts of the amount of cells provided
+     *
+     * @param grain amount of cells of a level expanded by a single worker
+     */
+    ParallelFloodSearch(int grain) {
+        this.grain = grain;
+    }
+
+    /**
+     * Searches every cell connected to the source
+     *
+     * @param source    index of the source or {@link GameField#NO_INDEX}, if no cell is reached
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     * @return amount of reached cells
+     */
+    int run(int source, CellStorage cells, NeighborTable neighbors) {
+        prepare(cells.size());
+        if (source == GameField.NO_INDEX) {
+            return 0;
+        }
+        this.storage = cells;
+        this.neighbors = neighbors;
+        visited[source >>> WORD_SHIFT] |= 1L << source;
+        this.cells[0] = source;
+        reached.set(1);
+        levels = 1;
+        int levelStart = 0;
+        try {
+            while (levelStart < reached.get()) {
+                int levelEnd = reached.get();
+                if (levelEnd - levelStart < 2 * grain) {
+                    expandSequentially(levelStart, levelEnd);
+                } else {
+                    ForkJoinPool.commonPool().invoke(new ExpandTask(levelStart, levelEnd));
+                }
+                if (reached.get() > levelEnd) {
+                    if (levels + 1 == levelStarts.length) {
+                        levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+                    }
+                    levelStarts[levels++] = levelEnd;
+                }
+                levelStart = levelEnd;
+            }
+        } finally {
+            this.storage = null;
+            this.neighbors = null;
+        }
+        levelStarts[levels] = reached.get();
+        return reached.get();
+    }
+
+    /**
+     * Adds the unvisited neighbors of the cells of a level to the next level on the calling thread
+     *
+     * @param from position of the first cell in {@link #cells}
+     * @param to   position after the last cell in {@link #cells}
+     */
+    private void expandSequentially(int from, int to) {
+        int tail = reached.get();
+        for (int i = from; i < to; i++) {
+            int curr = cells[i];
+            int openings = storage.get(curr);
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = connectedNeighbor(curr, openings, direction);
+                if (neighbor != NeighborTable.NO_NEIGHBOR) {
+                    int word = neighbor >>> WORD_SHIFT;
+                    long bit = 1L << neighbor;
+                    if ((visited[word] & bit) == 0) {
+                        visited[word] |= bit;
+                        cells[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        reached.set(tail);
+    }
+
+    /**
+     * Provides the neighbor in the direction provided, if the cell and the neighbor have matching openings
+     *
+     * @param cell      index of the cell
+     * @param openings  openings of the cell
+     * @param direction direction of the neighbor
+     * @return index of the neighbor or {@link NeighborTable#NO_NEIGHBOR}, if they are not connected
+     */
+    private int connectedNeighbor(int cell, int openings, Direction direction) {
+        if (direction.isSetIn(openings)) {
+            int neighbor = neighbors.get(cell, direction);
+            if (neighbor != NeighborTable.NO_NEIGHBOR && direction.isOppositeSetIn(storage.get(neighbor))) {
+                return neighbor;
+            }
+        }
+        return NeighborTable.NO_NEIGHBOR;
+    }
+
+    /**
+     * Task expanding a part of a level. Splits the part in halves, until it has at most {@link #grain} cells.
+     */
+    private final class ExpandTask extends RecursiveAction {
+
+        /**
+         * Version of the serialized form, the tasks are never serialized
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * position of the first cell in {@link #cells}
+         */
+        private final int from;
+
+        /**
+         * position after the last cell in {@link #cells}
+         */
+        private final int to;
+
+        /**
+         * Creates a task for the part of a level provided
+         *
+         * @param from position of the first cell in {@link #cells}
+         * @param to   position after the last cell in {@link #cells}
+         */
+        ExpandTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                expandPart();
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ExpandTask(from, middle), new ExpandTask(middle, to));
+            }
+        }
+
+        /**
+         * Claims the unvisited neighbors of the cells of the part and appends them to the next level
+         */
+        private void expandPart() {
+            int[] found = buffers.get();
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int curr = cells[i];
+                int openings = storage.get(curr);
+                for (Direction direction : DIRECTIONS) {
+                    int neighbor = connectedNeighbor(curr, openings, direction);
+                    if (neighbor != NeighborTable.NO_NEIGHBOR && claim(neighbor)) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, found.length * 2);
+                            buffers.set(found);
+                        }
+                        found[count++] = neighbor;
+                    }
+                }
+            }
+            if (count > 0) {
+                System.arraycopy(found, 0, cells, reached.getAndAdd(count), count);
+            }
+        }
+
+        /**
+         * Sets the visited bit of a cell atomically
+         *
+         * @param index index of the cell
+         * @return true, if the cell was not visited before, so it belongs to this worker
+         */
+        private boolean claim(int index) {
+            int word = index >>> WORD_SHIFT;
+            long bit = 1L << index;
+            if (((long) WORDS.getAcquire(visited, word) & bit) != 0) {
+                return false;
+            }
+            return ((long) WORDS.getAndBitwiseOr(visited, word, bit) & bit) == 0;
+        }
+    }
+
+    /**
+     * Resets the results and clears the visited cells. Replaces the arrays, if the field got bigger.
+     *
+     * @param size amount of cells of the field
+     */
+    private void prepare(int size) {
+        int words = (size + Long.SIZE - 1) >>> WORD_SHIFT;
+        if (cells.length < size) {
+            cells = new int[size];
+        }
+        if (visited.length < words) {
+            visited = new long[words];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+        }
+        this.size = size;
+        this.reached.set(0);
+        this.levels = 0;
+        levelStarts[0] = 0;
+    }
+
+    @Override
+    public boolean isVisited(int index) {
+        return (visited[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    @Override
+    public BitSet toBitSet() {
+        return BitSet.valueOf(Arrays.copyOf(visited, (size + Long.SIZE - 1) >>> WORD_SHIFT));
+    }
+
+    @Override
+    public DistanceLevels toLevels() {
+        if (reached.get() == 0) {
+            return DistanceLevels.empty(size);
+        }
+        return new DistanceLevels(Arrays.copyOf(cells, reached.get()), Arrays.copyOf(levelStarts, levels + 1), size);
+    }
+}
@@ -6,20 +6,68 @@ import logic.enums.Rotation;
 
 import java.util.EnumSet;
 import java.util.Objects;
-import java.util.Random;
-import java.util.Set;
-
-import static logic.enums.PipeType.*;
 
 /**
- * Class that represents a Pipe on the {@link GameField}. It provides Constructors from int-Values, PipeType and PipeType
- * and Rotation. Also provides Getter and Setter methods,  a method to determine the openings, and a method to rotate
- * the Pipe randomly
+ * Class that represents a Pipe on the {@link GameField}. Pipes are immutable and drawn from a fixed table containing
+ * every combination of {@link PipeType} and {@link Rotation}, so no Pipe is ever allocated after the class is loaded.
+ * Every entry of the table knows its openings, its clockwise and counterclockwise successor and its
+ * BoxDrawingCharacter. Provides factory methods from int-Values, PipeType and PipeType and Rotation, as well as getter
+ * methods and a method to turn the Pipe.
  *
  * @author Philip Barth
  */
-public class Pipe {
+public final class Pipe {
+
+    /**
+     * Amount of possible opening masks
+     */
+    private static final int AMOUNT_OF_MASKS = 16;
+
+    /**
+     * Table with every Pipe, indexed by {@link #tableIndex(PipeType, Rotation)}
+     */
+    private static final Pipe[] PIPES = new Pipe[PipeType.values().length * Rotation.values().length];
+
+    /**
+     * Table with the Pipe for every valid opening mask, null for invalid masks
+     */
+    private static final Pipe[] PIPES_BY_OPENINGS = new Pipe[AMOUNT_OF_MASKS];
+
+    /**
+     * Opening masks turned clockwise, indexed by the opening mask
+     */
+    private static final byte[] OPENINGS_CLOCKWISE = new byte[AMOUNT_OF_MASKS];
+
+    /**
+     * Opening masks turned counterclockwise, indexed by the opening mask
+     */
+    private static final byte[] OPENINGS_COUNTER_CLOCKWISE = new byte[AMOUNT_OF_MASKS];
 
+    static {
+        for (int openings = 0; openings < AMOUNT_OF_MASKS; openings++) {
+            OPENINGS_CLOCKWISE[openings] = (byte) (((openings << 1) | (openings >>> 3)) & 0xF);
+            OPENINGS_COUNTER_CLOCKWISE[openings] = (byte) (((openings >>> 1) | (openings << 3)) & 0xF);
+        }
+        for (PipeType type : PipeType.values()) {
+            for (Rotation rotation : Rotation.values()) {
+                // A wall has no rotation
+                Rotation actualRotation = type == PipeType.WALL ? Rotation.NORMAL : rotation;
+                PIPES[tableIndex(type, rotation)] = type == PipeType.WALL && rotation != Rotation.NORMAL
+                        ? PIPES[tableIndex(type, Rotation.NORMAL)]
+                        : new Pipe(type, actualRotation);
+            }
+        }
+        // Provide the successors and the pipes by their openings. Lines with the rotation NORMAL and RIGHT are the
+        // representatives for their openings
+        for (Pipe pipe : PIPES) {
+            pipe.clockwise = PIPES[tableIndex(pipe.type, successor(pipe.rotation, Rotation.ROTATE_CLOCKWISE))];
+            pipe.counterClockwise =
+                    PIPES[tableIndex(pipe.type, successor(pipe.rotation, Rotation.ROTATE_COUNTER_CLOCKWISE))];
+            if (PIPES_BY_OPENINGS[pipe.openings] == null) {
+                PIPES_BY_OPENINGS[pipe.openings] = pipe;
+            }
+        }
+    }
 
     /**
      * Type of the pipe
@@ -29,110 +77,124 @@ public class Pipe {
     /**
      * Rotation value of the pipe
      */
-    private Rotation rotation;
+    private final Rotation rotation;
+
+    /**
+     * Openings of the pipe as a mask
+     */
+    private final int openings;
+
+    /**
+     * BoxDrawingCharacter representing the pipe
+     */
+    private final String boxDrawingCharacter;
+
+    /**
+     * Pipe after turning this pipe clockwise. Only set while initializing the table.
+     */
+    private Pipe clockwise;
+
+    /**
+     * Pipe after turning this pipe counterclockwise. Only set while initializing the table.
+     */
+    private Pipe counterClockwise;
 
     /**
-     * Constructor that creates a Pipe instance from an int-Value representing the openings as a bit mask (e.g. 0b0101)
+     * Constructor for an entry of the table. Calculates the openings and the BoxDrawingCharacter once.
      *
-     * @param openings value for the openings as a mask
+     * @param pipeType type
+     * @param rotation rotation
      */
-    Pipe(int openings) {
-        EnumSet<Direction> openingSet = Direction.getDirections(openings);
+    private Pipe(PipeType pipeType, Rotation rotation) {
+        this.type = pipeType;
+        this.rotation = rotation;
+        this.openings = calculateOpenings(pipeType, rotation);
+        this.boxDrawingCharacter = calculateBoxDrawingCharacter(pipeType, rotation);
+    }
 
-        type = determinePipeType(openingSet);
-        rotation = determineRotation(type, openingSet);
+    /**
+     * Provides the Pipe from an int-Value representing the openings as a bit mask (e.g. 0b0101)
+     *
+     * @param openings value for the openings as a mask
+     * @return Pipe with the openings provided
+     * @throws IllegalArgumentException thrown, if an illegal int-Value is provided
+     */
+    static Pipe of(int openings) throws IllegalArgumentException {
+        if (openings < GameFieldData.MIN_VALUE_PIPE || openings > GameFieldData.MAX_VALUE_PIPE) {
+            throw new IllegalArgumentException("Wert ist nicht im richtigen Bereich: " + openings);
+        }
+        return PIPES_BY_OPENINGS[openings];
     }
 
     /**
-     * Constructor for a pipe with  {@link Rotation#NORMAL} and a provided PipeType
+     * Provides the Pipe with {@link Rotation#NORMAL} and a provided PipeType
      *
-     * @param pipeType type to be set
+     * @param pipeType type of the pipe
+     * @return Pipe with the type provided
      */
-    public Pipe(PipeType pipeType) {
-        this(pipeType, Rotation.NORMAL);
+    public static Pipe of(PipeType pipeType) {
+        return of(pipeType, Rotation.NORMAL);
     }
 
     /**
-     * Constructor for a Pipe with a provided type and rotation
+     * Provides the Pipe with a provided type and rotation
      *
      * @param pipeType type
      * @param rotation rotation
+     * @return Pipe with the type and rotation provided
      */
-    Pipe(PipeType pipeType, Rotation rotation) {
-        this.type = pipeType;
-        this.rotation = rotation;
+    static Pipe of(PipeType pipeType, Rotation rotation) {
+        return PIPES[tableIndex(pipeType, rotation)];
     }
 
     /**
-     * Constructor for a Pipe from BoxDrawingCharacters. Used for testcases only.
+     * Provides the Pipe from BoxDrawingCharacters. Used for testcases only.
      *
      * @param character BoxDrawingCharacter
+     * @return Pipe represented by the character
+     * @throws IllegalArgumentException thrown, if the character does not represent a pipe
      */
-    Pipe(String character) {
-        switch (character) {
-            case "╸" -> {
-                this.type = PipeType.DEAD_END;
-                this.rotation = Rotation.NORMAL;
-            }
-            case "╹" -> {
-                this.type = PipeType.DEAD_END;
-                this.rotation = Rotation.RIGHT;
+    static Pipe of(String character) throws IllegalArgumentException {
+        for (Pipe pipe : PIPES) {
+            if (pipe.boxDrawingCharacter.equals(character)) {
+                return pipe;
             }
-            case "╻" -> {
-                this.type = PipeType.DEAD_END;
-                this.rotation = Rotation.LEFT;
-            }
-            case "╺" -> {
-                this.type = PipeType.DEAD_END;
-                this.rotation = Rotation.INVERTED;
-            }
-            case "━" -> {
-                this.type = PipeType.LINE;
-                this.rotation = Rotation.NORMAL;
-            }
-            case "┃" -> {
-                this.type = PipeType.LINE;
-                this.rotation = Rotation.RIGHT;
-            }
-            case "┏" -> {
-                this.type = PipeType.CURVE;
-                this.rotation = Rotation.NORMAL;
-            }
-            case "┗" -> {
-                this.type = PipeType.CURVE;
-                this.rotation = Rotation.LEFT;
-            }
-            case "┓" -> {
-                this.type = PipeType.CURVE;
-                this.rotation = Rotation.RIGHT;
-            }
-            case "┛" -> {
-                this.type = PipeType.CURVE;
-                this.rotation = Rotation.INVERTED;
-            }
-            case "┣" -> {
-                this.type = PipeType.T_PIPE;
-                this.rotation = Rotation.NORMAL;
-            }
-            case "┻" -> {
-                this.type = PipeType.T_PIPE;
-                this.rotation = Rotation.LEFT;
-            }
-            case "┳" -> {
-                this.type = PipeType.T_PIPE;
-                this.rotation = Rotation.RIGHT;
-            }
-            case "┫" -> {
-                this.type = PipeType.T_PIPE;
-                this.rotation = Rotation.INVERTED;
-            }
-            case "╳" -> {
-                this.type = PipeType.WALL;
-                this.rotation = Rotation.NORMAL;
-            }
-            default ->
-                    throw new IllegalArgumentException("Der übergebene BoxDrawingCharacter ist falsch: " + character);
         }
+        throw new IllegalArgumentException("Der übergebene BoxDrawingCharacter ist falsch: " + character);
+    }
+
+    /**
+     * Calculates the index of a combination of type and rotation in the {@link #PIPES} table
+     *
+     * @param pipeType type
+     * @param rotation rotation
+     * @return index in the table
+     */
+    private static int tableIndex(PipeType pipeType, Rotation rotation) {
+        return pipeType.ordinal() * Rotation.values().length + rotation.ordinal();
+    }
+
+    /**
+     * Provides the rotation after turning the provided amount of steps clockwise
+     *
+     * @param rotation current rotation
+     * @param steps    steps to turn clockwise
+     * @return rotation after turning
+     */
+    private static Rotation successor(Rotation rotation, int steps) {
+        Rotation[] rotations = Rotation.values();
+        return rotations[(rotation.ordinal() + steps) % rotations.length];
+    }
+
+    /**
+     * Rotates an opening mask by 90 degrees clockwise or counterclockwise
+     *
+     * @param openings  opening mask to be rotated
+     * @param clockwise clockwise-flag
+     * @return rotated opening mask
+     */
+    static int turnOpenings(int openings, boolean clockwise) {
+        return clockwise ? OPENINGS_CLOCKWISE[openings] : OPENINGS_COUNTER_CLOCKWISE[openings];
     }
 
     /**
@@ -154,166 +216,80 @@ public class Pipe {
     }
 
     /**
-     * Method to get a PipeType from a Set of Directions representing the openings
+     * Calculates the openings as a mask for a combination of type and rotation
      *
-     * @param openings Set of openings
-     * @return PipeType representing the openings
+     * @param type     type of the pipe
+     * @param rotation rotation of the pipe
+     * @return mask of the openings
      */
-    private PipeType determinePipeType(EnumSet<Direction> openings) {
-        int numOpenings = openings.size();
-
-        if (numOpenings == 0) {
-            return WALL;
-        } else if (numOpenings == 1) {
-            return DEAD_END;
-        } else if (numOpenings == 2) {
-            if (openings.containsAll(Set.of(Direction.TOP, Direction.BOTTOM))
-                    || openings.containsAll(Set.of(Direction.RIGHT, Direction.LEFT))) {
-                return LINE;
-            }
-            return CURVE;
-        } else if (numOpenings == 3) {
-            return T_PIPE;
-        }
-        return null;
+    private static int calculateOpenings(PipeType type, Rotation rotation) {
+        int left = Direction.LEFT.getMask();
+        int right = Direction.RIGHT.getMask();
+        int top = Direction.TOP.getMask();
+        int bottom = Direction.BOTTOM.getMask();
+        return switch (type) {
+            case DEAD_END -> switch (rotation) {
+                case NORMAL -> left;
+                case RIGHT -> top;
+                case INVERTED -> right;
+                case LEFT -> bottom;
+            };
+            case LINE -> switch (rotation) {
+                case NORMAL, INVERTED -> left | right;
+                case RIGHT, LEFT -> top | bottom;
+            };
+            case CURVE -> switch (rotation) {
+                case NORMAL -> right | bottom;
+                case RIGHT -> left | bottom;
+                case INVERTED -> left | top;
+                case LEFT -> right | top;
+            };
+            case T_PIPE -> switch (rotation) {
+                case NORMAL -> right | top | bottom;
+                case RIGHT -> left | right | bottom;
+                case INVERTED -> left | top | bottom;
+                case LEFT -> left | right | top;
+            };
+            case WALL -> 0;
+        };
     }
 
     /**
-     * Method to get a Rotation from a Set of Directions representing the openings and the corresponding pipeType.
+     * Provides the current openings considering the {@link #type} and {@link #rotation}
      *
-     * @param openings Set of openings
-     * @return Rotation representing the openings
+     * @return Set of Direction values representing the openings
      */
-    private Rotation determineRotation(PipeType type, EnumSet<Direction> openings) {
-        if (type == DEAD_END) {
-            if (openings.contains(Direction.LEFT)) {
-                return Rotation.NORMAL;
-            } else if (openings.contains(Direction.RIGHT)) {
-                return Rotation.INVERTED;
-            } else if (openings.contains(Direction.TOP)) {
-                return Rotation.RIGHT;
-            } else if (openings.contains(Direction.BOTTOM)) {
-                return Rotation.LEFT;
-            }
-        } else if (type == LINE) {
-            if (openings.contains(Direction.LEFT) && openings.contains(Direction.RIGHT)) {
-                return Rotation.NORMAL;
-            } else if (openings.contains(Direction.TOP) && openings.contains(Direction.BOTTOM)) {
-                return Rotation.RIGHT;
-            }
-        } else if (type == CURVE) {
-            if (openings.contains(Direction.RIGHT) && openings.contains(Direction.BOTTOM)) {
-                return Rotation.NORMAL;
-            } else if (openings.contains(Direction.LEFT) && openings.contains(Direction.BOTTOM)) {
-                return Rotation.RIGHT;
-            } else if (openings.contains(Direction.LEFT) && openings.contains(Direction.TOP)) {
-                return Rotation.INVERTED;
-            } else if (openings.contains(Direction.RIGHT) && openings.contains(Direction.TOP)) {
-                return Rotation.LEFT;
-            }
-        } else if (type == T_PIPE) {
-            if (!openings.contains(Direction.LEFT)) {
-                return Rotation.NORMAL;
-            } else if (!openings.contains(Direction.RIGHT)) {
-                return Rotation.INVERTED;
-            } else if (!openings.contains(Direction.TOP)) {
-                return Rotation.RIGHT;
-            } else if (!openings.contains(Direction.BOTTOM)) {
-                return Rotation.LEFT;
-            }
-        } else if (type == WALL) {
-            return Rotation.NORMAL;
-        }
-        return null;
+    EnumSet<Direction> getOpenings() {
+        return Direction.getDirections(openings);
     }
 
     /**
-     * Provides the current openings considering the {@link #type} and {@link #rotation}
+     * Getter for the openings as a mask. Every opening is represented by {@link Direction#getMask()}.
      *
-     * @return Set of Direction values representing the openings
+     * @return mask of the openings
      */
-    EnumSet<Direction> getOpenings() {
-        EnumSet<Direction> openings = EnumSet.noneOf(Direction.class);
-        // Check Dead End Rotation
-        if (type == PipeType.DEAD_END) {
-            if (rotation == Rotation.NORMAL) {
-                openings.add(Direction.LEFT);
-            } else if (rotation == Rotation.INVERTED) {
-                openings.add(Direction.RIGHT);
-            } else if (rotation == Rotation.RIGHT) {
-                openings.add(Direction.TOP);
-            } else if (rotation == Rotation.LEFT) {
-                openings.add(Direction.BOTTOM);
-            }
-            // Check Line Rotation
-        } else if (type == PipeType.LINE) {
-            if (rotation == Rotation.NORMAL || rotation == Rotation.INVERTED) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.RIGHT);
-            } else if (rotation == Rotation.RIGHT || rotation == Rotation.LEFT) {
-                openings.add(Direction.TOP);
-                openings.add(Direction.BOTTOM);
-            }
-            // Check Curve Rotation
-        } else if (type == PipeType.CURVE) {
-            if (rotation == Rotation.NORMAL) {
-                openings.add(Direction.RIGHT);
-                openings.add(Direction.BOTTOM);
-            } else if (rotation == Rotation.RIGHT) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.BOTTOM);
-            } else if (rotation == Rotation.INVERTED) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.TOP);
-            } else if (rotation == Rotation.LEFT) {
-                openings.add(Direction.RIGHT);
-                openings.add(Direction.TOP);
-            }
-            // Check T Pipe Rotation
-        } else if (type == PipeType.T_PIPE) {
-            if (rotation == Rotation.NORMAL) {
-                openings.add(Direction.RIGHT);
-                openings.add(Direction.TOP);
-                openings.add(Direction.BOTTOM);
-            } else if (rotation == Rotation.INVERTED) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.TOP);
-                openings.add(Direction.BOTTOM);
-            } else if (rotation == Rotation.RIGHT) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.RIGHT);
-                openings.add(Direction.BOTTOM);
-            } else if (rotation == Rotation.LEFT) {
-                openings.add(Direction.LEFT);
-                openings.add(Direction.RIGHT);
-                openings.add(Direction.TOP);
-            }
-        }
+    public int getOpeningMask() {
         return openings;
     }
 
     /**
-     * Turns the Pipe clockwise or counterclockwise
+     * Checks, if the pipe has an opening in the direction provided
      *
-     * @param clockwise clockwise-flag
+     * @param direction direction to be checked
+     * @return true, if the pipe has an opening in the direction
      */
-    void turn(boolean clockwise) {
-        if (type != WALL) {
-            if (clockwise) {
-                this.rotation = Rotation.values()[(this.rotation.ordinal() + Rotation.ROTATE_CLOCKWISE) % Rotation.values().length];
-            } else {
-                this.rotation = Rotation.values()[(this.rotation.ordinal() + Rotation.ROTATE_COUNTER_CLOCKWISE) % Rotation.values().length];
-            }
-        }
+    boolean hasOpening(Direction direction) {
+        return direction.isSetIn(openings);
     }
 
     /**
-     * Rotates this field randomly
+     * Provides the Pipe after turning this Pipe clockwise or counterclockwise. Walls can not be turned.
+     *
+     * @param clockwise clockwise-flag
+     * @return turned Pipe
      */
-    void rotateRandomly() {
-        for (int i = 0; i < new Random().nextInt(Rotation.values().length); i++) {
-            this.turn(true);
-        }
+    Pipe turn(boolean clockwise) {
+        return clockwise ? this.clockwise : this.counterClockwise;
     }
 
     /**
@@ -322,16 +298,17 @@ public class Pipe {
      * @return int-representation
      */
     int toInt() {
-        int val = 0;
-        // Get mask for the openings and connect them with an OR
-        for (Direction opening : getOpenings()) {
-            val |= opening.getMask();
-        }
-        return val;
+        return getOpeningMask();
     }
 
-    @Override
-    public String toString() {
+    /**
+     * Calculates the BoxDrawingCharacter for a combination of type and rotation
+     *
+     * @param type     type of the pipe
+     * @param rotation rotation of the pipe
+     * @return BoxDrawingCharacter
+     */
+    private static String calculateBoxDrawingCharacter(PipeType type, Rotation rotation) {
         return switch (type) {
             case DEAD_END -> switch (rotation) {
                 case NORMAL -> "╸";
@@ -359,26 +336,21 @@ public class Pipe {
         };
     }
 
+    @Override
+    public String toString() {
+        return boxDrawingCharacter;
+    }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Pipe pipe = (Pipe) o;
-        return type == pipe.type && getOpenings().equals(((Pipe) o).getOpenings());
+        return type == pipe.type && openings == pipe.openings;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, rotation);
-    }
-
-    /**
-     * Returns a copy of the current Pipe
-     *
-     * @return copy of the current Pipe
-     */
-    Pipe copy() {
-        return new Pipe(this.getType(), this.getRotation());
+        return Objects.hash(type, openings);
     }
 }
@@ -0,0 +1,415 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+
+import java.util.Arrays;
+
+/**
+ * {@link CellStorage} splitting the field into square tiles of {@link #TILE_SIZE} x {@link #TILE_SIZE} cells. Every
+ * tile is stored as packed words, row by row. Tiles only containing walls are represented by a single shared tile,
+ * which is never changed, so a tile is only allocated when a pipe is set in it for the first time. The memory of a
+ * field therefore grows with the amount of tiles containing pipes instead of the size of the field.
+ * <p>
+ * Cells outside the dimensions of the field are always walls. Resizing keeps the tiles that remain and only clears the
+ * cells in the edge tiles, which are no longer part of the field. Tiles are shared between copies and copied the first
+ * time they are changed (copy-on-write).
+ * <p>
+ * The row of an index is calculated by a multiplication with a precomputed reciprocal of the amount of columns instead
+ * of a division, the tile and the cell inside the tile are found by shifts and masks of the tile size. So an access
+ * costs about as much as in a {@link PackedCellStorage} plus one more array lookup, also for the searches.
+ *
+ * @author Philip Barth
+ */
+final class TiledCellStorage extends CellStorage {
+
+    /**
+     * Amount of cells in a row and in a column of a tile
+     */
+    static final int TILE_SIZE = 64;
+
+    /**
+     * Shift to get the tile of a coordinate
+     */
+    private static final int TILE_SHIFT = 6;
+
+    /**
+     * Amount of words in a row of a tile
+     */
+    private static final int WORDS_PER_TILE_ROW = TILE_SIZE / CELLS_PER_WORD;
+
+    /**
+     * Amount of words in a tile
+     */
+    private static final int WORDS_PER_TILE = TILE_SIZE * WORDS_PER_TILE_ROW;
+
+    /**
+     * Shared tile of walls used for every tile that was not changed yet. Is never changed.
+     */
+    private static final long[] WALL_TILE = new long[WORDS_PER_TILE];
+
+    /**
+     * amount of columns
+     */
+    private final int cols;
+
+    /**
+     * amount of rows
+     */
+    private final int rows;
+
+    /**
+     * amount of tiles in a row
+     */
+    private final int tileCols;
+
+    /**
+     * Reciprocal of the amount of columns, scaled by 2 to the power of {@link #rowShift}
+     */
+    private final long rowMultiplier;
+
+    /**
+     * Shift of {@link #rowMultiplier}, so the row of every index is exact
+     */
+    private final int rowShift;
+
+    /**
+     * Tiles of the field, row by row
+     */
+    private long[][] tiles;
+
+    /**
+     * Marks the tiles, which are only used by this storage and can be changed without copying them
+     */
+    private boolean[] ownedTiles;
+
+    /**
+     * True, if the array of tiles is shared with another storage
+     */
+    private boolean tilesShared;
+
+    /**
+     * Creates a storage for a field with the dimensions provided. Every cell is initialized as a wall, no tile is
+     * allocated.
+     *
+     * @param cols amount of columns
+     * @param rows amount of rows
+     */
+    TiledCellStorage(int cols, int rows) {
+        super(cols * rows);
+        this.cols = cols;
+        this.rows = rows;
+        this.tileCols = tilesFor(cols);
+        this.rowShift = Integer.SIZE - 1 + ceilLog2(cols);
+        this.rowMultiplier = ((1L << rowShift) + cols - 1) / cols;
+        this.tiles = new long[tileCols * tilesFor(rows)][];
+        Arrays.fill(tiles, WALL_TILE);
+        this.ownedTiles = new boolean[tiles.length];
+    }
+
+    /**
+     * Copy constructor. Shares the tiles with the other storage.
+     *
+     * @param other storage to be copied
+     */
+    private TiledCellStorage(TiledCellStorage other) {
+        super(other.size());
+        this.cols = other.cols;
+        this.rows = other.rows;
+        this.tileCols = other.tileCols;
+        this.rowShift = other.rowShift;
+        this.rowMultiplier = other.rowMultiplier;
+        this.tiles = other.tiles;
+        this.ownedTiles = new boolean[tiles.length];
+        this.tilesShared = true;
+    }
+
+    /**
+     * Calculates the amount of tiles needed for the amount of cells in a row or column provided
+     *
+     * @param cells amount of cells
+     * @return amount of tiles
+     */
+    private static int tilesFor(int cells) {
+        return (cells + TILE_SIZE - 1) >>> TILE_SHIFT;
+    }
+
+    /**
+     * Calculates the logarithm to the base 2 of a positive value, rounded up
+     *
+     * @param value positive value
+     * @return exponent of the smallest power of 2, which is not smaller than the value
+     */
+    private static int ceilLog2(int value) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    /**
+     * Calculates the row of an index without a division. The multiplier is rounded up, its error stays below one row
+     * for every index below 2 to the power of 31, so the row is exact. The product is read unsigned.
+     *
+     * @param index index of the cell
+     * @return y-coordinate of the cell
+     */
+    private int rowOf(int index) {
+        return (int) ((index * rowMultiplier) >>> rowShift);
+    }
+
+    /**
+     * Calculates the index of the cell inside its tile
+     *
+     * @param x x-coordinate of the cell
+     * @param y y-coordinate of the cell
+     * @return index of the cell inside the tile
+     */
+    private static int cellInTile(int x, int y) {
+        return (y & (TILE_SIZE - 1)) << TILE_SHIFT | (x & (TILE_SIZE - 1));
+    }
+
+    /**
+     * Calculates the index of the tile containing the cell
+     *
+     * @param x x-coordinate of the cell
+     * @param y y-coordinate of the cell
+     * @return index of the tile
+     */
+    private int tileOf(int x, int y) {
+        return (y >>> TILE_SHIFT) * tileCols + (x >>> TILE_SHIFT);
+    }
+
+    /**
+     * Provides the amount of allocated tiles. Tiles only containing walls are not allocated.
+     *
+     * @return amount of allocated tiles
+     */
+    int allocatedTiles() {
+        int allocated = 0;
+        for (long[] tile : tiles) {
+            if (tile != WALL_TILE) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    @Override
+    StorageMode getMode() {
+        return StorageMode.TILED;
+    }
+
+    /**
+     * Calculates the amount of cells of a word of the linear index, which are stored in the same word of a tile. The
+     * part ends at the end of the linear word, the end of the row or the end of the word in the tile.
+     *
+     * @param index index of the first cell of the part
+     * @param x     x-coordinate of the first cell of the part
+     * @param last  index after the last cell of the linear word
+     * @return amount of cells of the part
+     */
+    private int partLength(int index, int x, int last) {
+        int inTileWord = CELLS_PER_WORD - (x & (CELLS_PER_WORD - 1));
+        return Math.min(Math.min(last - index, cols - x), inTileWord);
+    }
+
+    /**
+     * Provides the mask of the lowest cells of a word
+     *
+     * @param cells amount of cells (1 to {@link #CELLS_PER_WORD})
+     * @return mask of the cells
+     */
+    private static long cellsMask(int cells) {
+        return cells == CELLS_PER_WORD ? -1L : (1L << (cells * BITS_PER_CELL)) - 1;
+    }
+
+    @Override
+    long getWord(int word) {
+        // the linear word is assembled from parts of the words of the tiles, a single part if the rows fill whole words
+        long value = 0;
+        int first = word << WORD_SHIFT;
+        int last = Math.min(first + CELLS_PER_WORD, size());
+        int index = first;
+        while (index < last) {
+            int y = rowOf(index);
+            int x = index - y * cols;
+            int length = partLength(index, x, last);
+            int cell = cellInTile(x, y);
+            long part = tiles[tileOf(x, y)][cell >>> WORD_SHIFT] >>> shiftOf(cell) & cellsMask(length);
+            value |= part << shiftOf(index);
+            index += length;
+        }
+        return value;
+    }
+
+    @Override
+    void setWord(int word, long value) {
+        // the linear word is distributed in parts to the words of the tiles
+        int first = word << WORD_SHIFT;
+        int last = Math.min(first + CELLS_PER_WORD, size());
+        int index = first;
+        while (index < last) {
+            int y = rowOf(index);
+            int x = index - y * cols;
+            int length = partLength(index, x, last);
+            int tile = tileOf(x, y);
+            long part = value >>> shiftOf(index) & cellsMask(length);
+            // walls in a tile of walls do not need a tile
+            if (part != 0 || tiles[tile] != WALL_TILE) {
+                long[] words = writableTile(tile);
+                int cell = cellInTile(x, y);
+                int shift = shiftOf(cell);
+                long mask = cellsMask(length) << shift;
+                int tileWord = cell >>> WORD_SHIFT;
+                words[tileWord] = (words[tileWord] & ~mask) | (part << shift);
+            }
+            index += length;
+        }
+    }
+
+    @Override
+    int get(int index) {
+        int y = rowOf(index);
+        int x = index - y * cols;
+        int cell = cellInTile(x, y);
+        return (int) (tiles[tileOf(x, y)][cell >>> WORD_SHIFT] >>> shiftOf(cell) & CELL_MASK);
+    }
+
+    @Override
+    void set(int index, int mask) {
+        int y = rowOf(index);
+        int x = index - y * cols;
+        int tile = tileOf(x, y);
+        // a wall in a tile of walls does not need a tile
+        if ((mask & CELL_MASK) == 0 && tiles[tile] == WALL_TILE) {
+            return;
+        }
+        long[] words = writableTile(tile);
+        int cell = cellInTile(x, y);
+        int shift = shiftOf(cell);
+        int word = cell >>> WORD_SHIFT;
+        words[word] = (words[word] & ~(CELL_MASK << shift)) | ((mask & CELL_MASK) << shift);
+    }
+
+    /**
+     * Provides a tile, which can be changed. Copies the array of tiles and the tile, if they are shared. Allocates a
+     * new tile for a tile of walls.
+     *
+     * @param tile index of the tile
+     * @return words of the tile
+     */
+    private long[] writableTile(int tile) {
+        if (tilesShared) {
+            tiles = tiles.clone();
+            ownedTiles = new boolean[tiles.length];
+            tilesShared = false;
+        }
+        if (!ownedTiles[tile]) {
+            tiles[tile] = tiles[tile] == WALL_TILE ? new long[WORDS_PER_TILE] : tiles[tile].clone();
+            ownedTiles[tile] = true;
+        }
+        return tiles[tile];
+    }
+
+    @Override
+    void fill(int mask) {
+        // every tile is replaced, so no tile is shared afterwards
+        tiles = new long[tiles.length][];
+        ownedTiles = new boolean[tiles.length];
+        tilesShared = false;
+        if ((mask & CELL_MASK) == 0) {
+            Arrays.fill(tiles, WALL_TILE);
+        } else {
+            for (int tile = 0; tile < tiles.length; tile++) {
+                int width = Math.min(TILE_SIZE, cols - (tile % tileCols) * TILE_SIZE);
+                int height = Math.min(TILE_SIZE, rows - (tile / tileCols) * TILE_SIZE);
+                long[] words = new long[WORDS_PER_TILE];
+                // only the cells inside the field are filled
+                for (int y = 0; y < height; y++) {
+                    for (int w = 0; w < WORDS_PER_TILE_ROW && w * CELLS_PER_WORD < width; w++) {
+                        int cellsInWord = Math.min(CELLS_PER_WORD, width - w * CELLS_PER_WORD);
+                        words[y * WORDS_PER_TILE_ROW + w] = filledLastWord(cellsInWord, mask);
+                    }
+                }
+                tiles[tile] = words;
+                ownedTiles[tile] = true;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of this storage. The copy shares the tiles with this storage, so no tile is copied until one of
+     * the storages changes it.
+     *
+     * @return copy of this storage
+     */
+    @Override
+    TiledCellStorage copy() {
+        tilesShared = true;
+        return new TiledCellStorage(this);
+    }
+
+    /**
+     * Provides a storage with the dimensions provided, which shares the tiles that remain with this storage. Only the
+     * edge tiles are changed, if the field gets smaller. New tiles are tiles of walls.
+     *
+     * @param cols    current amount of columns
+     * @param rows    current amount of rows
+     * @param newCols new amount of columns
+     * @param newRows new amount of rows
+     * @return storage with the new dimensions
+     */
+    @Override
+    TiledCellStorage resized(int cols, int rows, int newCols, int newRows) {
+        TiledCellStorage resized = new TiledCellStorage(newCols, newRows);
+        // both storages use the remaining tiles, so they are copied before being changed
+        tilesShared = true;
+        int tileColsToKeep = Math.min(tileCols, resized.tileCols);
+        int tileRowsToKeep = Math.min(tiles.length / tileCols, resized.tiles.length / resized.tileCols);
+        for (int ty = 0; ty < tileRowsToKeep; ty++) {
+            System.arraycopy(tiles, ty * tileCols, resized.tiles, ty * resized.tileCols, tileColsToKeep);
+        }
+        if (newCols < cols) {
+            resized.clearColsOutside();
+        }
+        if (newRows < rows) {
+            resized.clearRowsOutside();
+        }
+        return resized;
+    }
+
+    /**
+     * Sets the cells of the last tile column, which are right of the field, to walls
+     */
+    private void clearColsOutside() {
+        int colsInLastTile = cols & (TILE_SIZE - 1);
+        if (colsInLastTile != 0) {
+            for (int tile = tileCols - 1; tile < tiles.length; tile += tileCols) {
+                if (tiles[tile] != WALL_TILE) {
+                    long[] words = writableTile(tile);
+                    for (int y = 0; y < TILE_SIZE; y++) {
+                        for (int w = 0; w < WORDS_PER_TILE_ROW; w++) {
+                            int cellsInWord = colsInLastTile - w * CELLS_PER_WORD;
+                            if (cellsInWord <= 0) {
+                                words[y * WORDS_PER_TILE_ROW + w] = 0;
+                            } else if (cellsInWord < CELLS_PER_WORD) {
+                                words[y * WORDS_PER_TILE_ROW + w] &= (1L << (cellsInWord * BITS_PER_CELL)) - 1;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the cells of the last tile row, which are below the field, to walls
+     */
+    private void clearRowsOutside() {
+        int rowsInLastTile = rows & (TILE_SIZE - 1);
+        if (rowsInLastTile != 0) {
+            for (int tile = tiles.length - tileCols; tile < tiles.length; tile++) {
+                if (tiles[tile] != WALL_TILE) {
+                    Arrays.fill(writableTile(tile), rowsInLastTile * WORDS_PER_TILE_ROW, WORDS_PER_TILE, 0);
+                }
+            }
+        }
+    }
+}
@@ -2,7 +2,7 @@ package logic;
 
 import logic.enums.FieldError;
 import logic.enums.PipeType;
-import logic.field.Pipe;
+import logic.field.BoardView;
 
 import java.util.List;
 import java.util.Map;
@@ -32,13 +32,13 @@ public class FakeGUI implements GUIConnector {
     }
 
     @Override
-    public void displayFieldWithAnimation(Pipe[][] gameField, Map<Integer, List<Position>> connectedPositions,
+    public void displayFieldWithAnimation(BoardView gameField, Map<Integer, List<Position>> connectedPositions,
                                           Set<Position> unconnectedPositions, Integer counter) {
 
     }
 
     @Override
-    public void displayFieldWithoutAnimation(Pipe[][] gameField, Position sourcePosition, Set<Position> reachablePositions, boolean solved) {
+    public void displayFieldWithoutAnimation(BoardView gameField, Position sourcePosition, Set<Position> reachablePositions, boolean solved) {
 
     }
 
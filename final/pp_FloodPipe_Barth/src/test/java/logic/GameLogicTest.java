@@ -1,6 +1,8 @@
 package logic;
 
 import logic.enums.PipeType;
+import logic.field.BoardView;
+import logic.field.FloodResult;
 import logic.field.GameField;
 import logic.field.Pipe;
 import org.junit.Assert;
@@ -8,6 +10,7 @@ import org.junit.Test;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.*;
@@ -596,11 +599,213 @@ public class GameLogicTest {
         Pipe[][] exp = new Pipe[logic.getGameField().getCols()][logic.getGameField().getRows()];
         for (int x = 0; x < exp.length; x++) {
             for (int y = 0; y < exp[x].length; y++) {
-                exp[x][y] = new Pipe(PipeType.WALL);
+                exp[x][y] = Pipe.of(PipeType.WALL);
             }
         }
         logic.initNewField();
         assertArrayEquals(logic.getGameField().getField(), exp);
     }
 
+    // <--- Tests for the index API --->
+
+    @Test
+    public void testTurnByIndex_EqualsTurnByPosition() {
+        GameLogic exp = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        exp.turn(true, POSITION_TWO_ONE);
+        GameLogic res = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        res.turn(true, res.getGameField().indexOf(POSITION_TWO_ONE));
+        assertEquals(exp.getGameField(), res.getGameField());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTurnByIndex_IllegalIndex() {
+        GameLogic logic = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        logic.turn(true, logic.getGameField().getCols() * logic.getGameField().getRows());
+    }
+
+    @Test
+    public void testChangeSourcePositionByIndex() {
+        GameLogic logic = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        logic.changeSourcePosition(logic.getGameField().getCols());
+        assertEquals(POSITION_ZERO_ONE, logic.getSource());
+    }
+
+    @Test
+    public void testChangeFieldByIndexOnSourcePositionToWall() {
+        GameLogic logic = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        logic.changeField(0, PipeType.WALL);
+        Assert.assertNull(logic.getSource());
+        assertEquals(GameField.NO_INDEX, logic.getGameField().getSourceIndex());
+    }
+
+    // <--- Tests for batches of moves --->
+
+    @Test
+    public void testApplyMoves_EqualsSingleMoves() {
+        GameLogic exp = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        exp.turn(true, POSITION_TWO_ONE);
+        exp.changeField(POSITION_ONE_ONE, PipeType.T_PIPE);
+        exp.turn(false, POSITION_ONE_ONE);
+        exp.changeSourcePosition(POSITION_ZERO_ONE);
+
+        GameLogic res = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        GameField field = res.getGameField();
+        res.applyMoves(List.of(Move.turn(field.indexOf(POSITION_TWO_ONE), true),
+                Move.changeField(field.indexOf(POSITION_ONE_ONE), PipeType.T_PIPE),
+                Move.turn(field.indexOf(POSITION_ONE_ONE), false),
+                Move.changeSource(field.indexOf(POSITION_ZERO_ONE))));
+
+        assertEquals(exp.getGameField(), res.getGameField());
+    }
+
+    @Test
+    public void testApplyMoves_WallOnSourceRemovesSource() {
+        GameLogic logic = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        logic.applyMoves(List.of(Move.changeField(0, PipeType.WALL), Move.changeSource(0)));
+        Assert.assertNull(logic.getSource());
+    }
+
+    @Test
+    public void testApplyMoves_IllegalIndexChangesNothing() {
+        GameLogic logic = getLogicSolvedGame(POSITION_ZERO_ZERO, false);
+        GameField exp = logic.getGameField().copy();
+        int illegalIndex = logic.getGameField().getCols() * logic.getGameField().getRows();
+        try {
+            logic.applyMoves(List.of(Move.turn(0, true), Move.turn(illegalIndex, true)));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(exp, logic.getGameField());
+        }
+    }
+
+    @Test
+    public void testApplyMoves_InvalidMoveInTheMiddleChangesNothing() {
+        Integer[] counters = new Integer[1];
+        GUIConnector gui = new IndexedFakeGUI() {
+            @Override
+            public void displayFieldWithAnimation(BoardView gameField, FloodResult flood, Integer counter) {
+                counters[0] = counter;
+            }
+        };
+        GameLogic logic = new GameLogic(BOARD_SOLVED_NO_OVERFLOW, POSITION_ZERO_ZERO, false, gui);
+        GameField exp = logic.getGameField().copy();
+        int index = logic.getGameField().indexOf(POSITION_TWO_ONE);
+        try {
+            // only the source can be removed by the missing index
+            logic.applyMoves(List.of(Move.turn(index, true), Move.turn(GameField.NO_INDEX, true),
+                    Move.turn(index, true)));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(exp, logic.getGameField());
+        }
+
+        // the counter was not incremented by the first turn of the batch
+        logic.turn(true, POSITION_TWO_ONE);
+        logic.turn(false, POSITION_TWO_ONE);
+        assertEquals(Integer.valueOf(2), counters[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMove_FieldChangeWithoutType() {
+        Move.changeField(0, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMove_WithoutType() {
+        new Move(null, 0, false, null);
+    }
+
+    @Test
+    public void testApplyMoves_SolvingBatchDisplaysCounter() {
+        Integer[] counters = new Integer[1];
+        GUIConnector gui = new IndexedFakeGUI() {
+            @Override
+            public void displayFieldWithoutAnimation(BoardView gameField, int sourceIndex, FloodResult flood,
+                                                     Integer counter) {
+                counters[0] = counter;
+            }
+        };
+        GameLogic logic = new GameLogic(BOARD_SOLVED_NO_OVERFLOW, POSITION_ZERO_ZERO, false, gui);
+        int index = logic.getGameField().indexOf(POSITION_TWO_ONE);
+        logic.applyMoves(List.of(Move.turn(index, true)));
+        assertNull(counters[0]);
+
+        logic.applyMoves(List.of(Move.turn(index, true), Move.turn(index, true), Move.turn(index, true)));
+        assertEquals(Integer.valueOf(4), counters[0]);
+    }
+
+    @Test
+    public void testApplyMoves_DisplaysFieldOnce() {
+        int[] displays = new int[1];
+        boolean[] solved = new boolean[1];
+        GUIConnector gui = new FakeGUI() {
+            @Override
+            public void displayFieldWithoutAnimation(BoardView gameField, Position sourcePosition,
+                                                     Set<Position> reachablePositions, boolean isSolved) {
+                displays[0]++;
+                solved[0] = isSolved;
+            }
+
+            @Override
+            public void turn(Position position, boolean clockwise) {
+                fail();
+            }
+        };
+        GameLogic logic = new GameLogic(BOARD_SOLVED_NO_OVERFLOW, POSITION_ZERO_ZERO, false, gui);
+        displays[0] = 0;
+        int index = logic.getGameField().indexOf(POSITION_TWO_ONE);
+        logic.applyMoves(List.of(Move.turn(index, true), Move.turn(index, true)));
+
+        assertEquals(1, displays[0]);
+        assertTrue(solved[0]);
+    }
+
+    @Test
+    public void testTurn_IndexedGuiReceivesFloodResult() {
+        FloodResult[] floods = new FloodResult[1];
+        Integer[] counters = new Integer[1];
+        GUIConnector gui = new IndexedFakeGUI() {
+            @Override
+            public void displayFieldWithAnimation(BoardView gameField, FloodResult flood, Integer counter) {
+                floods[0] = flood;
+                counters[0] = counter;
+            }
+        };
+        GameLogic logic = new GameLogic(BOARD_SOLVED_NO_OVERFLOW, POSITION_ZERO_ZERO, false, gui);
+        logic.turn(true, POSITION_TWO_ONE);
+        assertFalse(floods[0].isSolved());
+        assertNull(counters[0]);
+
+        logic.turn(false, POSITION_TWO_ONE);
+        assertTrue(floods[0].isSolved());
+        assertEquals(Integer.valueOf(2), counters[0]);
+        assertEquals(ALL_CONNECTED_NO_OVERFLOW.size(), floods[0].getConnectedCells().cardinality());
+    }
+
+    /**
+     * Fake gui receiving the changes by index, which does nothing
+     */
+    private static class IndexedFakeGUI extends FakeGUI implements IndexedGUIConnector {
+
+        @Override
+        public void displayFieldWithAnimation(BoardView gameField, FloodResult flood, Integer counter) {
+        }
+
+        @Override
+        public void displayFieldWithoutAnimation(BoardView gameField, int sourceIndex, FloodResult flood,
+                                                 Integer counter) {
+        }
+
+        @Override
+        public void turn(int index, boolean clockwise) {
+        }
+
+        @Override
+        public void changeSourcePosition(int index) {
+        }
+
+        @Override
+        public void changeField(int index, PipeType type) {
+        }
+    }
 }
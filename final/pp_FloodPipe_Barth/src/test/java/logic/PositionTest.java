@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Class for testing the edge case and illegal arguments while creating a {@link Position}
@@ -50,4 +51,23 @@ public class PositionTest {
 
         assertEquals(new Position(2, 0), res);
     }
+
+    @Test
+    public void testOfProvidesCachedInstance() {
+        assertSame(Position.of(2, 3), Position.of(2, 3));
+        assertEquals(new Position(2, 3), Position.of(2, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNegativeX() {
+        Position.of(-1, 0);
+    }
+
+    @Test
+    public void testIndexRoundTrip() {
+        Position pos = new Position(4, 2);
+        Position res = Position.ofIndex(pos.toIndex(5), 5);
+        assertEquals(pos, res);
+        assertEquals(pos.hashCode(), res.hashCode());
+    }
 }
@@ -0,0 +1,104 @@
+package logic.field;
+
+import logic.enums.Topology;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testcases for the {@link BitFloodSearch} class. Compares the reached cells and their distances with the
+ * {@link FloodSearch} for random fields of different dimensions and every topology, which can be shifted
+ */
+public class BitFloodSearchTest {
+
+    /**
+     * Amount of random fields per dimension and topology
+     */
+    private static final int AMOUNT_OF_FIELDS = 20;
+
+    /**
+     * Dimensions of the fields (cols, rows), rows ending in the middle of a word and rows longer than a word
+     */
+    private static final int[][] DIMENSIONS = {{37, 5}, {3, 60}, {130, 4}, {64, 8}, {2, 2}};
+
+    /**
+     * Topologies, whose borders can be shifted
+     */
+    private static final Topology[] SHIFTABLE = {Topology.BOUNDED, Topology.CYLINDER, Topology.TORUS};
+
+    /**
+     * Creates a field with random openings, so most cells are connected to some of their neighbors
+     *
+     * @param size amount of cells
+     * @param rnd  random generator
+     * @return cells of the field
+     */
+    private static PackedCellStorage randomCells(int size, Random rnd) {
+        PackedCellStorage cells = new PackedCellStorage(size);
+        for (int i = 0; i < size; i++) {
+            cells.set(i, rnd.nextInt(16));
+        }
+        return cells;
+    }
+
+    @Test
+    public void testEqualsFloodSearch() {
+        Random rnd = new Random(3);
+        BitFloodSearch bitFlood = new BitFloodSearch();
+        FloodSearch flood = new FloodSearch();
+        for (int[] dimension : DIMENSIONS) {
+            int cols = dimension[0];
+            int size = cols * dimension[1];
+            for (Topology topology : SHIFTABLE) {
+                NeighborTable neighbors = new NeighborTable(cols, dimension[1], topology);
+                for (int i = 0; i < AMOUNT_OF_FIELDS; i++) {
+                    PackedCellStorage cells = randomCells(size, rnd);
+                    int source = rnd.nextInt(size);
+                    int reached = flood.run(source, cells, neighbors, null);
+                    assertEquals(reached, bitFlood.run(source, new BitPlanes(cells, cols, dimension[1]), cols, size,
+                            topology.connectsCols(), topology.connectsRows()));
+                    assertEquals(flood.toBitSet(), bitFlood.toBitSet());
+
+                    DistanceLevels expected = flood.toLevels();
+                    DistanceLevels actual = bitFlood.toLevels();
+                    assertEquals(expected.getLevelCount(), actual.getLevelCount());
+                    for (int cell = 0; cell < size; cell++) {
+                        assertEquals(expected.getDistance(cell), actual.getDistance(cell));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEveryIterationIsOneLevel() {
+        int cols = 100;
+        PackedCellStorage cells = new PackedCellStorage(cols);
+        for (int x = 0; x < cols; x++) {
+            cells.set(x, 0b1010);
+        }
+        BitFloodSearch bitFlood = new BitFloodSearch();
+        assertEquals(cols, bitFlood.run(0, new BitPlanes(cells, cols, 1), cols, cols, false, false));
+        DistanceLevels levels = bitFlood.toLevels();
+        assertEquals(cols, levels.getLevelCount());
+        for (int level = 0; level < cols; level++) {
+            assertEquals(level, levels.getCell(levels.getLevelStart(level)));
+        }
+
+        // across the connected columns the line is reached from both sides
+        assertEquals(cols, bitFlood.run(0, new BitPlanes(cells, cols, 1), cols, cols, true, false));
+        assertEquals(cols / 2 + 1, bitFlood.toLevels().getLevelCount());
+    }
+
+    @Test
+    public void testNoSource() {
+        BitFloodSearch bitFlood = new BitFloodSearch();
+        PackedCellStorage cells = randomCells(100, new Random(5));
+        assertEquals(0, bitFlood.run(GameField.NO_INDEX, new BitPlanes(cells, 10, 10), 10, 100, false, false));
+        assertTrue(bitFlood.toBitSet().isEmpty());
+        assertEquals(0, bitFlood.toLevels().getLevelCount());
+    }
+}
@@ -0,0 +1,101 @@
+package logic.field;
+
+import org.junit.Test;
+
+import static logic.enums.Direction.*;
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link BitPlanes} class. Tests the connection check on the borders with and without overflow,
+ * across word boundaries and the wall count
+ */
+public class BitPlanesTest {
+
+    /**
+     * Amount of columns, so rows end in the middle of a word
+     */
+    private static final int COLS = 37;
+
+    /**
+     * Amount of rows, so the field spans several words
+     */
+    private static final int ROWS = 5;
+
+    /**
+     * Creates a field with a horizontal line in the row provided, which ends at the borders
+     *
+     * @param y row of the line
+     * @return cells of the field
+     */
+    private static PackedCellStorage horizontalLine(int y) {
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        for (int x = 0; x < COLS; x++) {
+            cells.set(y * COLS + x, LEFT.getMask() | RIGHT.getMask());
+        }
+        return cells;
+    }
+
+    @Test
+    public void testOnlyWallsConnected() {
+        BitPlanes planes = new BitPlanes(new PackedCellStorage(COLS * ROWS), COLS, ROWS);
+        assertTrue(planes.allOpeningsConnected(false, false));
+        assertEquals(COLS * ROWS, planes.countWalls());
+    }
+
+    @Test
+    public void testHorizontalLineOnlyConnectedWithOverflow() {
+        BitPlanes planes = new BitPlanes(horizontalLine(2), COLS, ROWS);
+        assertTrue(planes.allOpeningsConnected(true, true));
+        assertFalse(planes.allOpeningsConnected(false, false));
+        assertEquals(COLS * (ROWS - 1), planes.countWalls());
+    }
+
+    @Test
+    public void testVerticalLineOnlyConnectedWithOverflow() {
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        for (int y = 0; y < ROWS; y++) {
+            cells.set(y * COLS + COLS - 1, TOP.getMask() | BOTTOM.getMask());
+        }
+        BitPlanes planes = new BitPlanes(cells, COLS, ROWS);
+        assertTrue(planes.allOpeningsConnected(true, true));
+        assertFalse(planes.allOpeningsConnected(false, false));
+    }
+
+    @Test
+    public void testConnectionAcrossRowsIsNotHorizontal() {
+        // the end of the row is next to the start of the next row in the planes
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        cells.set(COLS - 1, RIGHT.getMask());
+        cells.set(COLS, LEFT.getMask());
+        BitPlanes planes = new BitPlanes(cells, COLS, ROWS);
+        assertFalse(planes.allOpeningsConnected(false, false));
+        assertFalse(planes.allOpeningsConnected(true, true));
+    }
+
+    @Test
+    public void testSetUpdatesPlanes() {
+        PackedCellStorage cells = horizontalLine(1);
+        BitPlanes planes = new BitPlanes(cells, COLS, ROWS);
+        planes.set(COLS + 20, LEFT.getMask());
+        assertFalse(planes.allOpeningsConnected(true, true));
+
+        planes.set(COLS + 20, LEFT.getMask() | RIGHT.getMask());
+        assertTrue(planes.allOpeningsConnected(true, true));
+    }
+
+    @Test
+    public void testEmptyFieldNotConnected() {
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        cells.fill(ALL_MASK);
+        BitPlanes planes = new BitPlanes(cells, COLS, ROWS);
+        assertFalse(planes.allOpeningsConnected(true, true));
+        assertEquals(0, planes.countWalls());
+    }
+
+    @Test
+    public void testHorizontalLineConnectedOnCylinder() {
+        BitPlanes planes = new BitPlanes(horizontalLine(2), COLS, ROWS);
+        assertTrue(planes.allOpeningsConnected(true, false));
+        assertFalse(planes.allOpeningsConnected(false, true));
+    }
+}
@@ -0,0 +1,155 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the board-wide work on the packed words of a {@link CellStorage} against the scalar path cell by cell,
+ * for every {@link StorageMode}. Is not a testcase, it is started by its main method, for example with
+ * {@code java -cp target/classes:target/test-classes logic.field.BoardScanBenchmark 4096 4096}.
+ * <p>
+ * Every operation is repeated {@link #ROUNDS} times after {@link #WARMUP_ROUNDS} rounds, so the code is compiled,
+ * and the fastest round is printed.
+ */
+public class BoardScanBenchmark {
+
+    /**
+     * Amount of rounds before the measurement
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Amount of measured rounds
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * Amount of columns and rows, if none are provided
+     */
+    private static final int DEFAULT_SIZE = 4096;
+
+    /**
+     * Nanoseconds per millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Result of the benchmarked operations, printed so the operations can not be removed by the compiler
+     */
+    private static long sink;
+
+    /**
+     * Starts the benchmark
+     *
+     * @param args amount of columns and rows, optional
+     */
+    public static void main(String[] args) {
+        int cols = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+        System.out.printf("%d x %d cells, best of %d rounds in ms%n", cols, rows, ROUNDS);
+        System.out.printf("%-9s %12s %12s %12s %12s%n", "storage", "turn words", "turn cells", "read words",
+                "read cells");
+        for (StorageMode mode : StorageMode.values()) {
+            CellStorage cells = CellStorage.create(mode, cols, rows);
+            fillRandomly(cells);
+            double turnWords = measure(() -> turnWords(cells));
+            double turnCells = measure(() -> turnCells(cells));
+            double readWords = measure(() -> readWords(cells));
+            double readCells = measure(() -> readCells(cells));
+            System.out.printf("%-9s %12.1f %12.1f %12.1f %12.1f%n", mode, turnWords, turnCells, readWords, readCells);
+        }
+        System.out.println("(" + sink + ")");
+    }
+
+    /**
+     * Sets a random pipe or a wall in every cell
+     *
+     * @param cells cells to be filled
+     */
+    private static void fillRandomly(CellStorage cells) {
+        Random rnd = new Random(1);
+        for (int i = 0; i < cells.size(); i++) {
+            cells.set(i, rnd.nextInt(GameFieldData.MAX_VALUE_PIPE + 1));
+        }
+    }
+
+    /**
+     * Runs the operation and provides the time of the fastest measured round
+     *
+     * @param operation operation to be measured
+     * @return time of the fastest round in milliseconds
+     */
+    private static double measure(Runnable operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Turns every cell randomly sixteen cells at once, like {@link GameField#rotateRandomly()}
+     *
+     * @param cells cells to be turned
+     */
+    private static void turnWords(CellStorage cells) {
+        Random rnd = new Random(2);
+        for (int w = 0; w < cells.words(); w++) {
+            cells.setWord(w, CellStorage.turnEach(cells.getWord(w), rnd.nextLong(), rnd.nextLong()));
+        }
+    }
+
+    /**
+     * Turns every cell randomly one by one, the scalar path
+     *
+     * @param cells cells to be turned
+     */
+    private static void turnCells(CellStorage cells) {
+        Random rnd = new Random(2);
+        for (int i = 0; i < cells.size(); i++) {
+            int openings = cells.get(i);
+            for (int turns = rnd.nextInt(4); turns > 0; turns--) {
+                openings = Pipe.turnOpenings(openings, true);
+            }
+            cells.set(i, openings);
+        }
+    }
+
+    /**
+     * Reads every word, like the writing of a {@link BoardFile} and the comparison of two storages
+     *
+     * @param cells cells to be read
+     */
+    private static void readWords(CellStorage cells) {
+        long sum = 0;
+        for (int w = 0; w < cells.words(); w++) {
+            sum += cells.getWord(w);
+        }
+        sink += sum;
+    }
+
+    /**
+     * Reads every cell one by one and assembles the words, the scalar path
+     *
+     * @param cells cells to be read
+     */
+    private static void readCells(CellStorage cells) {
+        long sum = 0;
+        for (int w = 0; w < cells.words(); w++) {
+            long word = 0;
+            int first = w << CellStorage.WORD_SHIFT;
+            int last = Math.min(first + CellStorage.CELLS_PER_WORD, cells.size());
+            for (int i = first; i < last; i++) {
+                word |= (long) cells.get(i) << CellStorage.shiftOf(i);
+            }
+            sum += word;
+        }
+        sink += sum;
+    }
+}
@@ -0,0 +1,154 @@
+package logic.field;
+
+import logic.Position;
+import logic.enums.Topology;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link ComponentLabels} class. Checks the labels, sizes and open ends of small fields and
+ * compares the component of a cell with the cells reached by a {@link FloodSearch} from it for random fields of every
+ * topology
+ */
+public class ComponentLabelsTest {
+
+    /**
+     * Amount of random fields per topology
+     */
+    private static final int AMOUNT_OF_FIELDS = 20;
+
+    /**
+     * Amount of columns of the random fields
+     */
+    private static final int COLS = 23;
+
+    /**
+     * Amount of rows of the random fields
+     */
+    private static final int ROWS = 17;
+
+    @Test
+    public void testLabelsSizesAndOpenEnds() {
+        String board = """
+                ━━╳╻
+                ╺╸╳┃
+                ┏┓╳┃
+                """;
+        ComponentLabels components = new GameField(board, new Position(0, 0), false).labelComponents();
+        assertEquals(4, components.getComponentCount());
+
+        // the components are numbered in the order of their first cell
+        int line = components.getComponent(0);
+        assertEquals(0, line);
+        assertEquals(line, components.getComponent(1));
+        assertEquals(2, components.getSize(line));
+        assertEquals(2, components.getOpenEnds(line));
+
+        int vertical = components.getComponent(3);
+        assertEquals(1, vertical);
+        assertEquals(3, components.getSize(vertical));
+        assertEquals(1, components.getOpenEnds(vertical));
+
+        int closed = components.getComponent(4);
+        assertEquals(2, closed);
+        assertEquals(2, components.getSize(closed));
+        assertTrue(components.isClosed(closed));
+
+        assertEquals(2, components.getOpenEnds(components.getComponent(8)));
+        assertEquals(ComponentLabels.NO_COMPONENT, components.getComponent(2));
+    }
+
+    @Test
+    public void testLargestComponent() {
+        String board = """
+                ━━╳╻
+                ╺╸╳┃
+                ┏┓╳┃
+                """;
+        ComponentLabels components = new GameField(board, new Position(0, 0), false).labelComponents();
+        int vertical = components.getComponent(3);
+        assertEquals(vertical, components.getLargestComponent());
+        // the first of the components with two cells
+        assertEquals(components.getComponent(0), components.getLargestComponentExcept(vertical));
+    }
+
+    @Test
+    public void testOverflowJoinsComponents() {
+        String board = """
+                ━╸╺
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        assertEquals(2, gameField.labelComponents().getComponentCount());
+
+        gameField.setOverflow(true);
+        ComponentLabels components = gameField.labelComponents();
+        assertEquals(1, components.getComponentCount());
+        assertEquals(3, components.getSize(0));
+        assertTrue(components.isClosed(0));
+    }
+
+    @Test
+    public void testOnlyWalls() {
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        ComponentLabels components = ComponentLabels.of(cells, new NeighborTable(COLS, ROWS, Topology.BOUNDED));
+        assertEquals(0, components.getComponentCount());
+        assertEquals(ComponentLabels.NO_COMPONENT, components.getLargestComponent());
+    }
+
+    @Test
+    public void testComponentsEqualFloodSearch() {
+        Random rnd = new Random(17);
+        FloodSearch flood = new FloodSearch();
+        for (Topology topology : Topology.values()) {
+            NeighborTable neighbors = new NeighborTable(COLS, ROWS, topology);
+            for (int i = 0; i < AMOUNT_OF_FIELDS; i++) {
+                PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+                for (int cell = 0; cell < COLS * ROWS; cell++) {
+                    // every fourth cell is a wall
+                    cells.set(cell, rnd.nextInt(4) == 0 ? 0 : 1 + rnd.nextInt(14));
+                }
+                ComponentLabels components = ComponentLabels.of(cells, neighbors);
+                int cellCount = 0;
+                for (int component = 0; component < components.getComponentCount(); component++) {
+                    cellCount += components.getSize(component);
+                }
+                assertEquals(COLS * ROWS - countWalls(cells), cellCount);
+
+                // the component of a pipe contains exactly the cells reached from it
+                for (int start = 0; start < COLS * ROWS; start += 7) {
+                    if (cells.get(start) != 0) {
+                        flood.run(start, cells, neighbors, null);
+                        BitSet reached = flood.toBitSet();
+                        BitSet component = new BitSet();
+                        for (int cell = 0; cell < COLS * ROWS; cell++) {
+                            if (components.getComponent(cell) == components.getComponent(start)) {
+                                component.set(cell);
+                            }
+                        }
+                        assertEquals(reached, component);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the walls of the cells provided
+     *
+     * @param cells cells of the field
+     * @return amount of walls
+     */
+    private static int countWalls(CellStorage cells) {
+        int walls = 0;
+        for (int i = 0; i < cells.size(); i++) {
+            if (cells.get(i) == 0) {
+                walls++;
+            }
+        }
+        return walls;
+    }
+}
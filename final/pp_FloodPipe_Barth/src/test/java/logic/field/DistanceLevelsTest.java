@@ -0,0 +1,54 @@
+package logic.field;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link DistanceLevels} class. Tests the access of the levels and the distance of single cells
+ */
+public class DistanceLevelsTest {
+
+    /**
+     * Amount of cells of the field
+     */
+    private static final int FIELD_SIZE = 9;
+
+    /**
+     * Levels of a source at index 4 with two cells in distance 1 and one cell in distance 2
+     *
+     * @return levels of the field
+     */
+    private static DistanceLevels getLevels() {
+        return new DistanceLevels(new int[]{4, 1, 5, 8}, new int[]{0, 1, 3, 4}, FIELD_SIZE);
+    }
+
+    @Test
+    public void testLevels() {
+        DistanceLevels levels = getLevels();
+        assertEquals(3, levels.getLevelCount());
+        assertEquals(4, levels.getCellCount());
+        assertArrayEquals(new int[]{4}, levels.getCellsAt(0));
+        assertArrayEquals(new int[]{1, 5}, levels.getCellsAt(1));
+        assertArrayEquals(new int[]{8}, levels.getCellsAt(2));
+        assertEquals(1, levels.getLevelStart(1));
+        assertEquals(3, levels.getLevelEnd(1));
+    }
+
+    @Test
+    public void testDistance() {
+        DistanceLevels levels = getLevels();
+        assertEquals(0, levels.getDistance(4));
+        assertEquals(1, levels.getDistance(5));
+        assertEquals(2, levels.getDistance(8));
+        assertEquals(DistanceLevels.NOT_CONNECTED, levels.getDistance(0));
+    }
+
+    @Test
+    public void testEmpty() {
+        DistanceLevels levels = DistanceLevels.empty(FIELD_SIZE);
+        assertEquals(0, levels.getLevelCount());
+        assertEquals(0, levels.getCellCount());
+        assertEquals(DistanceLevels.NOT_CONNECTED, levels.getDistance(FIELD_SIZE - 1));
+    }
+}
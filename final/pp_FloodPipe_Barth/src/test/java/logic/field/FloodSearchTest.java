@@ -0,0 +1,74 @@
+package logic.field;
+
+import logic.enums.Topology;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testcases for the {@link FloodSearch} class. Checks, that repeated searches reuse the arrays of the search and that
+ * the results of a smaller field are not mixed with the ones of a bigger field searched before
+ */
+public class FloodSearchTest {
+
+    /**
+     * Amount of searches while measuring allocations
+     */
+    private static final int AMOUNT_OF_SEARCHES = 1000;
+
+    /**
+     * Amount of columns of the fields
+     */
+    private static final int COLS = 45;
+
+    /**
+     * Amount of rows of the fields
+     */
+    private static final int ROWS = 31;
+
+    @Test
+    public void testRepeatedSearchesWithoutAllocations() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        cells.fill(0b1111);
+        NeighborTable neighbors = new NeighborTable(COLS, ROWS, Topology.TORUS);
+        FloodSearch flood = new FloodSearch();
+        // warm up, so the measurement does not contain class loading or the first arrays of the search
+        for (int i = 0; i < AMOUNT_OF_SEARCHES; i++) {
+            assertEquals(COLS * ROWS, flood.run(i % (COLS * ROWS), cells, neighbors, null));
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < AMOUNT_OF_SEARCHES; i++) {
+            // every search reaches the whole field
+            flood.run(i % (COLS * ROWS), cells, neighbors, null);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // a single allocated object per search would already exceed one byte per search
+        assertTrue("Bytes allokiert: " + allocated, allocated < AMOUNT_OF_SEARCHES);
+    }
+
+    @Test
+    public void testSmallerFieldAfterBiggerField() {
+        FloodSearch flood = new FloodSearch();
+        PackedCellStorage bigCells = new PackedCellStorage(COLS * ROWS);
+        bigCells.fill(0b1111);
+        assertEquals(COLS * ROWS, flood.run(0, bigCells, new NeighborTable(COLS, ROWS, Topology.BOUNDED), null));
+
+        // a single row with a horizontal line, which is shorter than the arrays of the search
+        PackedCellStorage smallCells = new PackedCellStorage(COLS);
+        smallCells.fill(0b1010);
+        assertEquals(COLS, flood.run(0, smallCells, new NeighborTable(COLS, 1, Topology.BOUNDED), null));
+        BitSet expected = new BitSet();
+        expected.set(0, COLS);
+        assertEquals(expected, flood.toBitSet());
+        assertEquals(COLS, flood.toLevels().getLevelCount());
+    }
+}
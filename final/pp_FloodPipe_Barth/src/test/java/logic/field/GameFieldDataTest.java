@@ -1,14 +1,18 @@
 package logic.field;
 
 
+import com.google.gson.Gson;
 import logic.Position;
 import logic.enums.FieldError;
+import logic.enums.Topology;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
- * Testcases for the {@link GameFieldData} class validating different kinds of inputs
+ * Testcases for the {@link GameFieldData} class validating different kinds of inputs and saving the topology
  */
 public class GameFieldDataTest {
 
@@ -71,6 +75,33 @@ public class GameFieldDataTest {
         assertEquals(FieldError.ERR_INVALID_COLS, exp);
     }
 
+    @Test
+    public void testValidate_largeBoard_validCols() {
+        int[][] board = new int[GameField.MAX_AMOUNT_COLS + 1][GameField.MIN_AMOUNT_ROWS];
+        board[0][0] = 1;
+        FieldError exp = new GameFieldData(DEFAULT_POSITION, false, board).validate(true);
+        assertEquals(FieldError.ERR_NULL, exp);
+    }
+
+    @Test
+    public void testValidate_largeBoard_invalidColsMax() {
+        int[][] board = new int[GameField.MAX_AMOUNT_COLS_LARGE + 1][GameField.MIN_AMOUNT_ROWS];
+        FieldError exp = new GameFieldData(DEFAULT_POSITION, false, board).validate(true);
+        assertEquals(FieldError.ERR_INVALID_COLS, exp);
+    }
+
+    @Test
+    public void testValidate_providedDimensions() {
+        int[][] board = new int[GameField.MAX_AMOUNT_COLS + 2][GameField.MAX_AMOUNT_ROWS + 1];
+        board[0][0] = 1;
+        GameFieldData data = new GameFieldData(DEFAULT_POSITION, false, board);
+        assertEquals(FieldError.ERR_NULL, data.validate(GameField.MAX_AMOUNT_COLS + 2, GameField.MAX_AMOUNT_ROWS + 1));
+        assertEquals(FieldError.ERR_INVALID_COLS,
+                data.validate(GameField.MAX_AMOUNT_COLS + 1, GameField.MAX_AMOUNT_ROWS_LARGE));
+        assertEquals(FieldError.ERR_INVALID_ROWS,
+                data.validate(GameField.MAX_AMOUNT_COLS_LARGE, GameField.MAX_AMOUNT_ROWS));
+    }
+
     @Test
     public void testValidate_invalidRowsMin() {
         int[][] board = new int[GameField.MIN_AMOUNT_COLS][GameField.MIN_AMOUNT_ROWS - 1];
@@ -85,6 +116,13 @@ public class GameFieldDataTest {
         assertEquals(FieldError.ERR_INVALID_ROWS, exp);
     }
 
+    @Test
+    public void testValidate_largeBoard_invalidRowsMax() {
+        int[][] board = new int[GameField.MIN_AMOUNT_COLS][GameField.MAX_AMOUNT_ROWS_LARGE + 1];
+        FieldError exp = new GameFieldData(DEFAULT_POSITION, false, board).validate(true);
+        assertEquals(FieldError.ERR_INVALID_ROWS, exp);
+    }
+
     @Test
     public void testValidate_sourceOnWall() {
         FieldError exp = new GameFieldData(new Position(0, 1), false, DEFAULT_BOARD).validate();
@@ -121,4 +159,51 @@ public class GameFieldDataTest {
         assertEquals(FieldError.ERR_WRONG_PIPE_VALUE, exp);
     }
 
+    @Test
+    public void testValidate_sourceOnlyOneValue() {
+        String json = "{\"source\":{\"x\":0},\"overflow\":false,\"board\":[[1,0],[1,1]]}";
+        FieldError exp = new Gson().fromJson(json, GameFieldData.class).validate();
+        assertEquals(FieldError.ERR_SOURCE_ONLY_ONE_VALUE, exp);
+    }
+
+    @Test
+    public void testValidate_negativeSource() {
+        String json = "{\"source\":{\"x\":-1,\"y\":0},\"overflow\":false,\"board\":[[1,0],[1,1]]}";
+        FieldError exp = new Gson().fromJson(json, GameFieldData.class).validate();
+        assertEquals(FieldError.ERR_NEGATIVE_SOURCE, exp);
+    }
+
+    @Test
+    public void testSource_storedAsCoordinates() {
+        String json = new Gson().toJson(new GameFieldData(new Position(1, 0), false, DEFAULT_BOARD));
+        assertTrue(json.contains("\"source\":{\"x\":1,\"y\":0}"));
+        GameFieldData data = new Gson().fromJson(json, GameFieldData.class);
+        assertEquals(new Position(1, 0), data.getSource());
+    }
+
+    @Test
+    public void testTopology_CylinderRoundTrip() {
+        GameField gameField = new GameField(3, 3, 0, false);
+        gameField.setTopology(Topology.CYLINDER);
+        Gson gson = new Gson();
+        String json = gson.toJson(new GameFieldData(gameField));
+
+        GameFieldData data = gson.fromJson(json, GameFieldData.class);
+        assertEquals(FieldError.ERR_NULL, data.validate());
+        // older versions only read the overflow flag
+        assertFalse(data.isOverflow());
+        GameField loaded = new GameField(data);
+        assertEquals(Topology.CYLINDER, loaded.getTopology());
+        assertEquals(gameField, loaded);
+    }
+
+    @Test
+    public void testTopology_FileWithoutTopologyUsesOverflow() {
+        Gson gson = new Gson();
+        String json = gson.toJson(new GameFieldData(DEFAULT_POSITION, true, DEFAULT_BOARD));
+
+        GameFieldData data = gson.fromJson(json, GameFieldData.class);
+        assertEquals(Topology.TORUS, data.getTopology());
+        assertEquals(Topology.TORUS, new GameField(data).getTopology());
+    }
 }
@@ -3,8 +3,16 @@ package logic.field;
 import logic.Position;
 import logic.enums.Direction;
 import logic.enums.PipeType;
+import logic.enums.StorageMode;
+import logic.enums.Topology;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 import static logic.field.GameField.*;
@@ -19,6 +27,12 @@ import static org.junit.Assert.*;
  */
 public class GameFieldTest {
 
+    /**
+     * Folder for the files of mapped GameFields
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     /**
      * Constant for multiple runs for checking the wall percentages
      */
@@ -31,6 +45,11 @@ public class GameFieldTest {
      */
     private static final int AMOUNT_OF_RUNS_10 = 10;
 
+    /**
+     * Amount of connectivity checks while measuring allocations
+     */
+    private static final int AMOUNT_OF_CONNECTIVITY_CHECKS = 10000;
+
     /**
      * 25% walls
      */
@@ -164,6 +183,28 @@ public class GameFieldTest {
         new GameField(MAX_AMOUNT_COLS, MAX_AMOUNT_ROWS, MAX_AMOUNT_WALLS_PERCENT, false);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorLargeBoardTooManyColumns() {
+        new GameField(MAX_AMOUNT_COLS_LARGE + 1, DEFAULT_AMOUNT_ROWS, DEFAULT_AMOUNT_WALLS_PERCENT, false, true);
+    }
+
+    @Test
+    public void testCreateSolvedGameField_largeBoard_NoOverflow() {
+        GameField gameField = new GameField(MAX_AMOUNT_COLS * 20, MAX_AMOUNT_ROWS * 10, ZERO_WALLS, false, true);
+        assertTrue(gameField.isLargeBoard());
+        assertEquals(ZERO_WALLS, gameField.getAmountOfWalls());
+        assertTrue(gameField.allOpeningsConnected());
+        assertTrue(gameField.allPipesConnected());
+    }
+
+    @Test
+    public void testCreateSolvedGameField_largeBoard_Overflow() {
+        GameField gameField = new GameField(MAX_AMOUNT_COLS * 10, MAX_AMOUNT_ROWS * 20, ZERO_WALLS, true, true);
+        assertEquals(ZERO_WALLS, gameField.getAmountOfWalls());
+        assertTrue(gameField.allOpeningsConnected());
+        assertTrue(gameField.allPipesConnected());
+    }
+
     // <--- Test generation of gameField (within maxPercentage + min and max values) --->
     @Test
     public void testCreateSolvedGameField_minColsRowsWalls_NoOverflow() {
@@ -903,4 +944,584 @@ public class GameFieldTest {
                         """;
         assertFalse(new GameField(board, new Position(0, 0), true).allOpeningsConnected());
     }
+
+    // <--- Allocations of the connectivity check --->
+
+    @Test
+    public void testAllOpeningsConnectedWithoutAllocations() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GameField gameField = new GameField(MAX_AMOUNT_COLS, MAX_AMOUNT_ROWS, ZERO_WALLS, true);
+        // warm up, so the measurement does not contain class loading
+        for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS; i++) {
+            assertTrue(gameField.allOpeningsConnected());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS; i++) {
+            gameField.allOpeningsConnected();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // a single allocated object per check would already exceed one byte per check
+        assertTrue("Bytes allokiert: " + allocated, allocated < AMOUNT_OF_CONNECTIVITY_CHECKS);
+    }
+
+    @Test
+    public void testRepeatedChecksAfterTurnsWithoutAllocations() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GameField gameField = new GameField(MAX_AMOUNT_COLS, MAX_AMOUNT_ROWS, ZERO_WALLS, true);
+        int index = gameField.getSourceIndex();
+        // warm up, so the measurement does not contain class loading or the first arrays of the search
+        for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS; i++) {
+            gameField.turn(index, true);
+            gameField.turn(index, false);
+            assertTrue(gameField.allPipesConnected());
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS; i++) {
+            // the turns are repaired by the connectivity tracker, the search itself is checked in FloodSearchTest
+            gameField.turn(index, true);
+            gameField.turn(index, false);
+            gameField.allPipesConnected();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("Bytes allokiert: " + allocated, allocated < AMOUNT_OF_CONNECTIVITY_CHECKS);
+    }
+
+    // <--- BoardView and snapshots --->
+
+    @Test
+    public void testTurnIncreasesRevision() {
+        GameField gameField = getDefaultGameField();
+        long revision = gameField.getRevision();
+        gameField.turn(0, true);
+        assertNotEquals(revision, gameField.getRevision());
+    }
+
+    @Test
+    public void testSnapshotNotChangedByTurn() {
+        String board =
+                """
+                        ┏━┓
+                        ┗━┛
+                        """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        BoardView snapshot = gameField.snapshot();
+        gameField.turn(0, true);
+
+        assertEquals(PipeType.CURVE, snapshot.getPipeTypeAt(0));
+        assertEquals(Pipe.of("┏").getOpeningMask(), snapshot.getOpeningMaskAt(0));
+        assertEquals(Pipe.of("┓").getOpeningMask(), gameField.getOpeningMaskAt(0));
+        assertNotEquals(snapshot.getRevision(), gameField.getRevision());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        GameField gameField = getDefaultGameField();
+        GameField copy = gameField.copy();
+        assertEquals(gameField, copy);
+
+        copy.turn(0, true);
+        copy.setSource(1);
+        assertNotEquals(gameField, copy);
+        assertEquals(Pipe.turnOpenings(gameField.getOpeningMaskAt(0), true), copy.getOpeningMaskAt(0));
+    }
+
+    @Test
+    public void testCreateSolvedGameField_offHeap() {
+        GameField gameField = new GameField(MAX_AMOUNT_COLS * 10, MAX_AMOUNT_ROWS * 10, ZERO_WALLS, true, true,
+                StorageMode.OFF_HEAP);
+        assertEquals(StorageMode.OFF_HEAP, gameField.getStorageMode());
+        assertTrue(gameField.allOpeningsConnected());
+        assertTrue(gameField.allPipesConnected());
+    }
+
+    @Test
+    public void testOffHeapFieldFromDataEqualsHeapField() {
+        GameField heap = getDefaultGameField();
+        GameField offHeap = new GameField(new GameFieldData(heap), StorageMode.OFF_HEAP);
+        assertEquals(StorageMode.OFF_HEAP, offHeap.getStorageMode());
+        assertEquals(heap, offHeap);
+        assertEquals(heap.getUnconnectedPositions(), offHeap.getUnconnectedPositions());
+
+        offHeap.turn(0, true);
+        offHeap.changeAmountOfCols(offHeap.getCols() + 1);
+        assertEquals(StorageMode.OFF_HEAP, offHeap.getStorageMode());
+        assertEquals(Pipe.turnOpenings(heap.getOpeningMaskAt(0), true), offHeap.getOpeningMaskAt(0));
+        assertArrayEquals(offHeap.toInt(), new GameFieldData(offHeap).getBoard());
+    }
+
+    @Test
+    public void testTiledFieldEqualsHeapFieldAfterResize() {
+        GameField heap = getDefaultGameField();
+        GameField tiled = new GameField(new GameFieldData(heap), StorageMode.TILED);
+        heap.changeAmountOfCols(MIN_AMOUNT_COLS);
+        tiled.changeAmountOfCols(MIN_AMOUNT_COLS);
+        heap.changeAmountOfRows(MAX_AMOUNT_ROWS);
+        tiled.changeAmountOfRows(MAX_AMOUNT_ROWS);
+
+        assertEquals(StorageMode.TILED, tiled.getStorageMode());
+        assertEquals(heap, tiled);
+        assertEquals(heap.getUnconnectedPositions(), tiled.getUnconnectedPositions());
+    }
+
+    @Test
+    public void testMappedFieldEqualsWrittenField() throws IOException {
+        GameField gameField = new GameField(MAX_AMOUNT_COLS * 3, MAX_AMOUNT_ROWS * 2, DEFAULT_AMOUNT_WALLS_PERCENT,
+                true, true);
+        Path path = folder.newFile().toPath();
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+
+        assertTrue(mapped.isMapped());
+        assertEquals(StorageMode.OFF_HEAP, mapped.getStorageMode());
+        assertEquals(gameField, mapped);
+        assertEquals(gameField.getUnconnectedPositions(), mapped.getUnconnectedPositions());
+    }
+
+    @Test
+    public void testMappedFieldWritesThrough() throws IOException {
+        GameField gameField = getDefaultGameField();
+        Path path = folder.newFile().toPath();
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+        mapped.turn(0, true);
+        mapped.setSource(1);
+        mapped.setOverflow(true);
+
+        GameField mappedAgain = GameField.map(path);
+        assertEquals(Pipe.turnOpenings(gameField.getOpeningMaskAt(0), true), mappedAgain.getOpeningMaskAt(0));
+        assertEquals(1, mappedAgain.getSourceIndex());
+        assertTrue(mappedAgain.isOverflow());
+        assertEquals(mapped, mappedAgain);
+    }
+
+    @Test
+    public void testResizedMappedFieldIsDetached() throws IOException {
+        GameField gameField = getDefaultGameField();
+        Path path = folder.newFile().toPath();
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+        mapped.changeAmountOfCols(MIN_AMOUNT_COLS);
+        mapped.turn(0, true);
+
+        assertFalse(mapped.isMapped());
+        assertEquals(gameField.getOpeningMaskAt(0), GameField.map(path).getOpeningMaskAt(0));
+    }
+
+    @Test
+    public void testMappedFieldWrittenToItsOwnPath() throws IOException {
+        GameField gameField = new GameField(MAX_AMOUNT_COLS * 3, MAX_AMOUNT_ROWS * 2, ZERO_WALLS, false, true);
+        Path path = folder.newFile().toPath();
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+        mapped.turn(0, true);
+        mapped.writeTo(path);
+
+        assertTrue(mapped.isMapped());
+        assertEquals(mapped, GameField.map(path));
+        assertEquals(Pipe.turnOpenings(gameField.getOpeningMaskAt(0), true), GameField.map(path).getOpeningMaskAt(0));
+    }
+
+    @Test
+    public void testFieldWrittenOverMappedFile() throws IOException {
+        GameField gameField = getDefaultGameField();
+        Path path = folder.newFile().toPath();
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+        GameField other = new GameField(MAX_AMOUNT_COLS, MAX_AMOUNT_ROWS, ZERO_WALLS, true);
+        other.writeTo(path);
+
+        // the mapped field keeps its cells, the path contains the new field
+        assertEquals(gameField, mapped);
+        assertEquals(other, GameField.map(path));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapFileWithInvalidCell() throws IOException {
+        Path path = folder.newFile().toPath();
+        getDefaultGameField().writeTo(path);
+        byte[] bytes = Files.readAllBytes(path);
+        // the first cell after the header of 32 bytes gets all four openings
+        bytes[32] |= 0xF;
+        Files.write(path, bytes);
+        GameField.map(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapInvalidFile() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[64]);
+        GameField.map(path);
+    }
+
+    // <--- Zobrist hash --->
+
+    @Test
+    public void testZobristHashUpdatedByTurns() {
+        GameField gameField = getDefaultGameField();
+        long hash = gameField.getZobristHash();
+        int index = 0;
+        while (gameField.getPipeTypeAt(index) != PipeType.CURVE) {
+            index++;
+        }
+        gameField.turn(index, true);
+        assertNotEquals(hash, gameField.getZobristHash());
+
+        gameField.turn(index, false);
+        assertEquals(hash, gameField.getZobristHash());
+    }
+
+    @Test
+    public void testZobristHashEqualsRecalculatedHash() {
+        GameField gameField = getDefaultGameField();
+        gameField.getZobristHash();
+        for (int i = 0; i < gameField.getCols() * gameField.getRows(); i += 3) {
+            gameField.turn(i, true);
+        }
+        gameField.setAt(1, PipeType.T_PIPE);
+        GameField recalculated = new GameField(new GameFieldData(gameField));
+
+        assertEquals(recalculated.getZobristHash(), gameField.getZobristHash());
+        assertEquals(recalculated.hashCode(), gameField.hashCode());
+    }
+
+    @Test
+    public void testEqualFieldsOfDifferentStoragesHaveSameHash() {
+        GameField heap = getDefaultGameField();
+        GameField tiled = new GameField(new GameFieldData(heap), StorageMode.TILED);
+        assertEquals(heap, tiled);
+        assertEquals(heap.hashCode(), tiled.hashCode());
+    }
+
+    // <--- solved state --->
+
+    @Test
+    public void testGeneratedFieldSolved() {
+        GameField gameField = getDefaultGameField();
+        assertTrue(gameField.isSolved());
+
+        gameField.setSource((Position) null);
+        assertFalse(gameField.isSolved());
+    }
+
+    @Test
+    public void testTurnsUpdateSolvedState() {
+        GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, ZERO_WALLS, true);
+        assertTrue(gameField.isSolved());
+
+        gameField.turn(0, true);
+        assertFalse(gameField.isSolved());
+        assertFalse(gameField.allOpeningsConnected());
+
+        gameField.turn(0, false);
+        assertTrue(gameField.isSolved());
+        assertTrue(gameField.allOpeningsConnected());
+    }
+
+    @Test
+    public void testCountedSolvedStateEqualsFullCheck() {
+        Random rnd = new Random(7);
+        for (boolean overflow : new boolean[]{false, true}) {
+            GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, PERCENTAGE_QUARTER_WALLS,
+                    overflow);
+            gameField.isSolved();
+            for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS; i++) {
+                int index = rnd.nextInt(DEFAULT_AMOUNT_COLS * DEFAULT_AMOUNT_ROWS);
+                if (i % 100 == 0) {
+                    gameField.setAt(index, PipeType.values()[rnd.nextInt(PipeType.values().length)]);
+                } else {
+                    gameField.turn(index, rnd.nextBoolean());
+                }
+                GameField recounted = new GameField(new GameFieldData(gameField));
+                assertEquals(recounted.allOpeningsConnected() && recounted.allPipesConnected(),
+                        gameField.isSolved());
+            }
+        }
+    }
+
+    @Test
+    public void testSourceOnUnconnectedPipeNotSolved() {
+        String board = """
+                ╺╸
+                ╺╸
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        assertTrue(gameField.allOpeningsConnected());
+        assertFalse(gameField.isSolved());
+
+        gameField.setAt(1, PipeType.WALL);
+        gameField.setAt(0, PipeType.WALL);
+        gameField.setSource(gameField.indexOf(new Position(0, 1)));
+        assertTrue(gameField.isSolved());
+    }
+
+    // <--- topology --->
+
+    @Test
+    public void testGeneratedFieldSolvedForEveryTopology() {
+        for (Topology topology : Topology.values()) {
+            for (int i = 0; i < AMOUNT_OF_RUNS_10; i++) {
+                GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, ZERO_WALLS, topology,
+                        false, StorageMode.HEAP);
+                assertEquals(topology, gameField.getTopology());
+                assertTrue(gameField.allOpeningsConnected());
+                assertTrue(gameField.isSolved());
+            }
+        }
+    }
+
+    @Test
+    public void testLineAcrossMirroredBorderOnlyConnectedOnKleinBottle() {
+        String board = """
+                ╹╺╸
+                ╻╺╸
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        gameField.setTopology(Topology.KLEIN_BOTTLE);
+        // the opening on the top of column 0 needs the opening on the bottom of column 2
+        assertFalse(gameField.allOpeningsConnected());
+
+        gameField.setTopology(Topology.TORUS);
+        assertTrue(gameField.allOpeningsConnected());
+        assertTrue(gameField.isOverflow());
+    }
+
+    @Test
+    public void testSetOverflowSetsTorus() {
+        GameField gameField = getDefaultGameField();
+        gameField.setOverflow(true);
+        assertEquals(Topology.TORUS, gameField.getTopology());
+
+        gameField.setTopology(Topology.CYLINDER);
+        assertFalse(gameField.isOverflow());
+    }
+
+    @Test
+    public void testMappedFieldKeepsTopology() throws IOException {
+        Path path = folder.newFile().toPath();
+        GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, ZERO_WALLS, Topology.CYLINDER,
+                false, StorageMode.HEAP);
+        gameField.writeTo(path);
+        GameField mapped = GameField.map(path);
+
+        assertEquals(Topology.CYLINDER, mapped.getTopology());
+        assertEquals(gameField, mapped);
+
+        mapped.setTopology(Topology.KLEIN_BOTTLE);
+        assertEquals(Topology.KLEIN_BOTTLE, GameField.map(path).getTopology());
+    }
+
+    // <--- connectivity as bits --->
+
+    @Test
+    public void testConnectedCellsEqualConnectedPositions() {
+        String board = """
+                ┏━┓╻
+                ┃╺┛┃
+                ┗━━┛
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        BitSet connected = gameField.getConnectedCells();
+        Set<Position> positions = gameField.getConnectedPositionsAsSet();
+
+        assertEquals(positions.size(), connected.cardinality());
+        for (Position position : positions) {
+            assertTrue(connected.get(gameField.indexOf(position)));
+        }
+    }
+
+    @Test
+    public void testUnconnectedCellsEqualUnconnectedPositions() {
+        GameField gameField = getDefaultGameField();
+        gameField.rotateRandomly();
+        BitSet unconnected = gameField.getUnconnectedCells();
+        Set<Position> positions = gameField.getUnconnectedPositions();
+
+        assertEquals(positions.size(), unconnected.cardinality());
+        for (int i = unconnected.nextSetBit(0); i >= 0; i = unconnected.nextSetBit(i + 1)) {
+            assertTrue(positions.contains(gameField.positionOf(i)));
+            assertNotEquals(PipeType.WALL, gameField.getPipeTypeAt(i));
+        }
+        assertFalse(unconnected.intersects(gameField.getConnectedCells()));
+    }
+
+    @Test
+    public void testNoSourceNoConnectedCells() {
+        GameField gameField = getDefaultGameField();
+        gameField.setSource((Position) null);
+        assertTrue(gameField.getConnectedCells().isEmpty());
+        assertEquals(DEFAULT_AMOUNT_COLS * DEFAULT_AMOUNT_ROWS - gameField.getAmountOfWalls(),
+                gameField.getUnconnectedCells().cardinality());
+    }
+
+    @Test
+    public void testConnectedLevelsEqualPositionsWithDistances() {
+        GameField gameField = getDefaultGameField();
+        gameField.rotateRandomly();
+        Map<Integer, List<Position>> exp = gameField.getConnectedPositionsWithDistances();
+        DistanceLevels levels = gameField.getConnectedLevels();
+
+        // the map contains an empty list after the greatest distance
+        assertEquals(exp.size() - 1, levels.getLevelCount());
+        for (int level = 0; level < levels.getLevelCount(); level++) {
+            Set<Position> positions = new HashSet<>();
+            for (int index : levels.getCellsAt(level)) {
+                positions.add(gameField.positionOf(index));
+                assertEquals(level, levels.getDistance(index));
+            }
+            assertEquals(new HashSet<>(exp.get(level)), positions);
+        }
+        assertEquals(gameField.getConnectedCells().cardinality(), levels.getCellCount());
+    }
+
+    @Test
+    public void testConnectedLevelsNoSource() {
+        GameField gameField = getDefaultGameField();
+        gameField.setSource((Position) null);
+        assertEquals(0, gameField.getConnectedLevels().getLevelCount());
+    }
+
+    // <--- flood analysis --->
+
+    @Test
+    public void testAnalyzeEqualsSingleSearches() {
+        GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, PERCENTAGE_QUARTER_WALLS, true);
+        for (int i = 0; i < AMOUNT_OF_RUNS_100; i++) {
+            FloodResult flood = gameField.analyze();
+            assertEquals(gameField.getConnectedCells(), flood.getConnectedCells());
+            assertEquals(gameField.getUnconnectedCells(), flood.getUnconnectedCells());
+            assertEquals(gameField.getConnectedLevels().getLevelCount(), flood.getLevels().getLevelCount());
+            assertEquals(gameField.isSolved(), flood.isSolved());
+            gameField.turn(i % (DEFAULT_AMOUNT_COLS * DEFAULT_AMOUNT_ROWS), true);
+        }
+    }
+
+    @Test
+    public void testAnalyzeFindsLeaks() {
+        String board = """
+                ┏━╸
+                ┗━╸
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        FloodResult flood = gameField.analyze();
+        assertTrue(flood.isSolved());
+        assertTrue(flood.getLeaks().isEmpty());
+
+        gameField.turn(2, true);
+        flood = gameField.analyze();
+        assertFalse(flood.isSolved());
+        // the turned dead end opens to the top border and no longer matches its left neighbor
+        BitSet leaks = flood.getLeaks();
+        assertEquals(1, leaks.cardinality());
+        assertTrue(leaks.get(1));
+        assertFalse(flood.isConnected(2));
+        assertTrue(flood.getUnconnectedCells().get(2));
+    }
+
+    @Test
+    public void testAnalyzeNoSource() {
+        GameField gameField = getDefaultGameField();
+        gameField.setSource((Position) null);
+        FloodResult flood = gameField.analyze();
+        assertFalse(flood.isSolved());
+        assertEquals(0, flood.getLevels().getLevelCount());
+        assertTrue(flood.getConnectedCells().isEmpty());
+    }
+
+    // <--- connectivity repair --->
+
+    @Test
+    public void testTurnRepairsDistancesBehindTurnedCell() {
+        GameField gameField = new GameField("╺━╸", new Position(0, 0), false);
+        assertEquals(2, gameField.getDistanceToSource(2));
+
+        gameField.turn(1, true);
+        assertEquals(0, gameField.getDistanceToSource(0));
+        assertEquals(DistanceLevels.NOT_CONNECTED, gameField.getDistanceToSource(1));
+        assertEquals(DistanceLevels.NOT_CONNECTED, gameField.getDistanceToSource(2));
+        assertFalse(gameField.allPipesConnected());
+
+        gameField.turn(1, false);
+        assertEquals(1, gameField.getDistanceToSource(1));
+        assertEquals(2, gameField.getDistanceToSource(2));
+        assertTrue(gameField.allPipesConnected());
+    }
+
+    @Test
+    public void testTurnShortensDistancesAcrossNewConnection() {
+        String board = """
+                ┏━┓
+                ┏━┛
+                """;
+        GameField gameField = new GameField(board, new Position(0, 0), false);
+        // the lower row is only reached around the right side
+        assertEquals(4, gameField.getDistanceToSource(4));
+        assertEquals(5, gameField.getDistanceToSource(3));
+
+        // the turned corner closes the ring below the source
+        gameField.turn(3, false);
+        assertEquals(1, gameField.getDistanceToSource(3));
+        assertEquals(2, gameField.getDistanceToSource(4));
+        assertEquals(3, gameField.getDistanceToSource(5));
+        assertTrue(gameField.isSolved());
+    }
+
+    @Test
+    public void testDistanceToSourceNoSource() {
+        GameField gameField = getDefaultGameField();
+        gameField.setSource((Position) null);
+        for (int i = 0; i < DEFAULT_AMOUNT_COLS * DEFAULT_AMOUNT_ROWS; i++) {
+            assertEquals(DistanceLevels.NOT_CONNECTED, gameField.getDistanceToSource(i));
+        }
+        assertFalse(gameField.allPipesConnected());
+    }
+
+    @Test
+    public void testRepairedDistancesEqualSearchedDistances() {
+        Random rnd = new Random(11);
+        int size = DEFAULT_AMOUNT_COLS * DEFAULT_AMOUNT_ROWS;
+        for (Topology topology : Topology.values()) {
+            GameField gameField = new GameField(DEFAULT_AMOUNT_COLS, DEFAULT_AMOUNT_ROWS, PERCENTAGE_QUARTER_WALLS,
+                    topology, false, StorageMode.HEAP);
+            gameField.getDistanceToSource(0);
+            for (int i = 0; i < AMOUNT_OF_CONNECTIVITY_CHECKS / 10; i++) {
+                int index = rnd.nextInt(size);
+                if (i % 100 == 0) {
+                    gameField.setSource(index);
+                } else if (i % 10 == 0) {
+                    gameField.setAt(index, PipeType.values()[rnd.nextInt(PipeType.values().length)]);
+                } else {
+                    gameField.turn(index, rnd.nextBoolean());
+                }
+                DistanceLevels searched = gameField.getConnectedLevels();
+                for (int cell = 0; cell < size; cell++) {
+                    assertEquals(searched.getDistance(cell), gameField.getDistanceToSource(cell));
+                }
+                assertEquals(gameField.getUnconnectedCells().isEmpty(), gameField.allPipesConnected());
+            }
+        }
+    }
+
+    @Test
+    public void testLargeBoardLevelsEqualRepairedDistances() {
+        int cols = 200;
+        int rows = 150;
+        for (Topology topology : Topology.values()) {
+            GameField gameField = new GameField(cols, rows, PERCENTAGE_QUARTER_WALLS, topology, true,
+                    StorageMode.HEAP);
+            gameField.rotateRandomly();
+            DistanceLevels levels = gameField.getConnectedLevels();
+            for (int cell = 0; cell < cols * rows; cell++) {
+                assertEquals(gameField.getDistanceToSource(cell), levels.getDistance(cell));
+            }
+            assertEquals(levels.getCellCount(), gameField.getConnectedCells().cardinality());
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package logic.field;
+
+import logic.Position;
+import logic.enums.Direction;
+import logic.enums.Topology;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Testcases for the {@link NeighborTable} class. Compares the neighbors of the table with the neighbors calculated by
+ * {@link Position#getNeighborPosition(int, int, Direction, boolean)} for fields with and without overflow
+ */
+public class NeighborTableTest {
+
+    /**
+     * Amount of cols of a non-square field
+     */
+    private static final int COLS = 5;
+
+    /**
+     * Amount of rows of a non-square field
+     */
+    private static final int ROWS = 3;
+
+    /**
+     * Compares every neighbor of the table with the neighbor calculated by the Position
+     *
+     * @param cols     amount of cols
+     * @param rows     amount of rows
+     * @param overflow overflow-flag
+     */
+    private static void assertNeighborsEqualPositions(int cols, int rows, boolean overflow) {
+        NeighborTable table = new NeighborTable(cols, rows, Topology.of(overflow));
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                for (Direction direction : Direction.values()) {
+                    Position exp = new Position(x, y).getNeighborPosition(cols, rows, direction, overflow);
+                    int expIndex = exp == null ? NeighborTable.NO_NEIGHBOR : exp.y() * cols + exp.x();
+                    assertEquals(expIndex, table.get(y * cols + x, direction));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNeighborsNoOverflow() {
+        assertNeighborsEqualPositions(COLS, ROWS, false);
+    }
+
+    @Test
+    public void testNeighborsOverflow() {
+        assertNeighborsEqualPositions(COLS, ROWS, true);
+    }
+
+    @Test
+    public void testNeighborsMinimalFieldOverflow() {
+        assertNeighborsEqualPositions(GameField.MIN_AMOUNT_COLS, GameField.MIN_AMOUNT_ROWS, true);
+    }
+
+    @Test
+    public void testNeighborsMaximalFieldNoOverflow() {
+        assertNeighborsEqualPositions(GameField.MAX_AMOUNT_COLS, GameField.MAX_AMOUNT_ROWS, false);
+    }
+
+    @Test
+    public void testNeighborsCylinder() {
+        NeighborTable table = new NeighborTable(COLS, ROWS, Topology.CYLINDER);
+        assertEquals(COLS - 1, table.get(0, Direction.LEFT));
+        assertEquals(COLS, table.get(2 * COLS - 1, Direction.RIGHT));
+        assertEquals(NeighborTable.NO_NEIGHBOR, table.get(1, Direction.TOP));
+        assertEquals(NeighborTable.NO_NEIGHBOR, table.get((ROWS - 1) * COLS + 1, Direction.BOTTOM));
+    }
+
+    @Test
+    public void testNeighborsKleinBottleMirrored() {
+        NeighborTable table = new NeighborTable(COLS, ROWS, Topology.KLEIN_BOTTLE);
+        assertEquals((ROWS - 1) * COLS + COLS - 2, table.get(1, Direction.TOP));
+        assertEquals(1, table.get((ROWS - 1) * COLS + COLS - 2, Direction.BOTTOM));
+        assertEquals(COLS - 1, table.get(0, Direction.LEFT));
+    }
+
+    @Test
+    public void testNeighborsSymmetricForEveryTopology() {
+        for (Topology topology : Topology.values()) {
+            NeighborTable table = new NeighborTable(COLS, ROWS, topology);
+            for (int index = 0; index < COLS * ROWS; index++) {
+                for (Direction direction : Direction.values()) {
+                    int neighbor = table.get(index, direction);
+                    if (neighbor != NeighborTable.NO_NEIGHBOR) {
+                        assertEquals(index, table.get(neighbor, direction.getOpposite()));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package logic.field;
+
+import logic.enums.StorageMode;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link OffHeapCellStorage} class. Tests reading and writing of cells, filling and copying of the
+ * storage and the equality to a {@link PackedCellStorage} with the same cells
+ */
+public class OffHeapCellStorageTest {
+
+    /**
+     * Amount of cells spanning more than one word, the last word is not full
+     */
+    private static final int SIZE_MULTIPLE_WORDS = 40;
+
+    @Test
+    public void testNewStorageOnlyWalls() {
+        OffHeapCellStorage storage = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            assertEquals(0, storage.get(i));
+        }
+        assertEquals(StorageMode.OFF_HEAP, storage.getMode());
+    }
+
+    @Test
+    public void testSetAndGetEveryMask() {
+        OffHeapCellStorage storage = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            storage.set(i, i % 16);
+        }
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            assertEquals(i % 16, storage.get(i));
+        }
+    }
+
+    @Test
+    public void testSetDoesNotChangeNeighborCells() {
+        OffHeapCellStorage storage = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS);
+        storage.fill(0b1010);
+        storage.set(CellStorage.CELLS_PER_WORD, 0b0101);
+
+        assertEquals(0b1010, storage.get(CellStorage.CELLS_PER_WORD - 1));
+        assertEquals(0b0101, storage.get(CellStorage.CELLS_PER_WORD));
+        assertEquals(0b1010, storage.get(CellStorage.CELLS_PER_WORD + 1));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        OffHeapCellStorage storage = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS);
+        storage.set(5, 0b1001);
+        OffHeapCellStorage copy = storage.copy();
+        copy.set(3, 0b0110);
+
+        assertEquals(0, storage.get(3));
+        assertEquals(0b1001, copy.get(5));
+        assertNotEquals(storage, copy);
+    }
+
+    @Test
+    public void testEqualsHeapStorageWithSameCells() {
+        OffHeapCellStorage offHeap = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS);
+        offHeap.fill(0b0011);
+        PackedCellStorage heap = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            heap.set(i, 0b0011);
+        }
+
+        assertEquals(heap, offHeap);
+        assertEquals(heap.hashCode(), offHeap.hashCode());
+    }
+
+    @Test
+    public void testSharedBufferShowsChanges() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Long.BYTES * 3);
+        OffHeapCellStorage first = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS, buffer);
+        OffHeapCellStorage second = new OffHeapCellStorage(SIZE_MULTIPLE_WORDS, buffer.duplicate());
+        first.set(SIZE_MULTIPLE_WORDS - 1, 0b1100);
+
+        assertEquals(0b1100, second.get(SIZE_MULTIPLE_WORDS - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBufferTooSmall() {
+        new OffHeapCellStorage(SIZE_MULTIPLE_WORDS, ByteBuffer.allocateDirect(Long.BYTES));
+    }
+}
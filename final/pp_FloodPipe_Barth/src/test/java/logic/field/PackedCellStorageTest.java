@@ -0,0 +1,159 @@
+package logic.field;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link PackedCellStorage} class. Tests reading and writing of cells, also across word and chunk
+ * boundaries, filling and copying of the storage
+ */
+public class PackedCellStorageTest {
+
+    /**
+     * Amount of cells spanning more than one word
+     */
+    private static final int SIZE_MULTIPLE_WORDS = 40;
+
+    /**
+     * Amount of cells spanning more than one chunk, the last chunk is not full
+     */
+    private static final int SIZE_MULTIPLE_CHUNKS =
+            2 * PackedCellStorage.WORDS_PER_CHUNK * PackedCellStorage.CELLS_PER_WORD + 5;
+
+    @Test
+    public void testNewStorageOnlyWalls() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            assertEquals(0, storage.get(i));
+        }
+    }
+
+    @Test
+    public void testSetAndGetEveryMask() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            storage.set(i, i % 16);
+        }
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            assertEquals(i % 16, storage.get(i));
+        }
+    }
+
+    @Test
+    public void testSetDoesNotChangeNeighborCells() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        storage.fill(0b1010);
+        storage.set(PackedCellStorage.CELLS_PER_WORD, 0b0101);
+
+        assertEquals(0b1010, storage.get(PackedCellStorage.CELLS_PER_WORD - 1));
+        assertEquals(0b0101, storage.get(PackedCellStorage.CELLS_PER_WORD));
+        assertEquals(0b1010, storage.get(PackedCellStorage.CELLS_PER_WORD + 1));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        PackedCellStorage copy = storage.copy();
+        copy.set(3, 0b0110);
+
+        assertEquals(0, storage.get(3));
+        assertNotEquals(storage, copy);
+    }
+
+    @Test
+    public void testFillEqualsSingleSets() {
+        PackedCellStorage filled = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        filled.fill(0b0011);
+        PackedCellStorage set = new PackedCellStorage(SIZE_MULTIPLE_WORDS);
+        for (int i = 0; i < SIZE_MULTIPLE_WORDS; i++) {
+            set.set(i, 0b0011);
+        }
+
+        assertEquals(set, filled);
+        assertEquals(set.hashCode(), filled.hashCode());
+    }
+
+    @Test
+    public void testCopyKeepsValuesAcrossChunks() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_CHUNKS);
+        for (int i = 0; i < SIZE_MULTIPLE_CHUNKS; i++) {
+            storage.set(i, i % 15);
+        }
+        PackedCellStorage copy = storage.copy();
+
+        assertEquals(storage, copy);
+        assertEquals((SIZE_MULTIPLE_CHUNKS - 1) % 15, copy.get(SIZE_MULTIPLE_CHUNKS - 1));
+    }
+
+    @Test
+    public void testChangedOriginalDoesNotChangeCopy() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_CHUNKS);
+        PackedCellStorage copy = storage.copy();
+        storage.set(SIZE_MULTIPLE_CHUNKS - 1, 0b1001);
+        storage.set(0, 0b0011);
+
+        assertEquals(0, copy.get(SIZE_MULTIPLE_CHUNKS - 1));
+        assertEquals(0, copy.get(0));
+        assertEquals(0b1001, storage.get(SIZE_MULTIPLE_CHUNKS - 1));
+        assertEquals(0b0011, storage.get(0));
+    }
+
+    @Test
+    public void testCopiesOfCopiesAreIndependent() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_CHUNKS);
+        PackedCellStorage first = storage.copy();
+        first.set(7, 0b0101);
+        PackedCellStorage second = first.copy();
+        second.set(7, 0b1010);
+        first.fill(0b0110);
+
+        assertEquals(0, storage.get(7));
+        assertEquals(0b0110, first.get(7));
+        assertEquals(0b1010, second.get(7));
+    }
+
+    @Test
+    public void testTurnAllMatchesPipe() {
+        PackedCellStorage storage = new PackedCellStorage(CellStorage.CELLS_PER_WORD);
+        for (int i = 0; i < CellStorage.CELLS_PER_WORD; i++) {
+            storage.set(i, i);
+        }
+        for (int turns = 1; turns <= 3; turns++) {
+            long turned = CellStorage.turnAll(storage.getWord(0), turns);
+            for (int i = 0; i < CellStorage.CELLS_PER_WORD; i++) {
+                int expected = i;
+                for (int t = 0; t < turns; t++) {
+                    expected = Pipe.turnOpenings(expected, true);
+                }
+                assertEquals(expected, turned >>> (i * CellStorage.BITS_PER_CELL) & CellStorage.CELL_MASK);
+            }
+        }
+    }
+
+    @Test
+    public void testTurnEachTurnsOnlySelectedCells() {
+        PackedCellStorage storage = new PackedCellStorage(CellStorage.CELLS_PER_WORD);
+        storage.fill(0b0001);
+        // cell 0 is not turned, cell 1 once, cell 2 twice and cell 3 three times
+        long once = 0b0001_0000_0001_0000L;
+        long twice = 0b0001_0001_0000_0000L;
+        storage.setWord(0, CellStorage.turnEach(storage.getWord(0), once, twice));
+
+        assertEquals(0b0001, storage.get(0));
+        assertEquals(0b0010, storage.get(1));
+        assertEquals(0b0100, storage.get(2));
+        assertEquals(0b1000, storage.get(3));
+        assertEquals(0b0001, storage.get(4));
+    }
+
+    @Test
+    public void testSetWordDoesNotChangeCopy() {
+        PackedCellStorage storage = new PackedCellStorage(SIZE_MULTIPLE_CHUNKS);
+        PackedCellStorage copy = storage.copy();
+        storage.setWord(1, -1L);
+
+        assertEquals(0b1111, storage.get(CellStorage.CELLS_PER_WORD));
+        assertEquals(0, copy.get(CellStorage.CELLS_PER_WORD));
+    }
+}
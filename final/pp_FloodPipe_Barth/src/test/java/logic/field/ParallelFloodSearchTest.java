@@ -0,0 +1,93 @@
+package logic.field;
+
+import logic.enums.Topology;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testcases for the {@link ParallelFloodSearch} class. Compares the reached cells and their distances with the
+ * {@link FloodSearch} for random and open fields of every topology. A small grain distributes even the levels of small
+ * fields to the workers.
+ */
+public class ParallelFloodSearchTest {
+
+    /**
+     * Amount of cells of a level expanded by a single worker in the tests
+     */
+    private static final int GRAIN = 4;
+
+    /**
+     * Amount of random fields per topology
+     */
+    private static final int AMOUNT_OF_FIELDS = 20;
+
+    /**
+     * Amount of columns of the fields
+     */
+    private static final int COLS = 45;
+
+    /**
+     * Amount of rows of the fields
+     */
+    private static final int ROWS = 31;
+
+    /**
+     * Compares the results of the searches from the source provided
+     *
+     * @param source    index of the source
+     * @param cells     cells of the field
+     * @param neighbors neighbors of the cells
+     */
+    private static void assertEqualsFloodSearch(int source, CellStorage cells, NeighborTable neighbors) {
+        FloodSearch flood = new FloodSearch();
+        ParallelFloodSearch parallelFlood = new ParallelFloodSearch(GRAIN);
+        assertEquals(flood.run(source, cells, neighbors, null), parallelFlood.run(source, cells, neighbors));
+        assertEquals(flood.toBitSet(), parallelFlood.toBitSet());
+
+        DistanceLevels expected = flood.toLevels();
+        DistanceLevels actual = parallelFlood.toLevels();
+        assertEquals(expected.getLevelCount(), actual.getLevelCount());
+        for (int cell = 0; cell < cells.size(); cell++) {
+            assertEquals(expected.getDistance(cell), actual.getDistance(cell));
+        }
+    }
+
+    @Test
+    public void testRandomFieldsEqualFloodSearch() {
+        Random rnd = new Random(13);
+        for (Topology topology : Topology.values()) {
+            NeighborTable neighbors = new NeighborTable(COLS, ROWS, topology);
+            for (int i = 0; i < AMOUNT_OF_FIELDS; i++) {
+                PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+                for (int cell = 0; cell < COLS * ROWS; cell++) {
+                    cells.set(cell, rnd.nextInt(16));
+                }
+                assertEqualsFloodSearch(rnd.nextInt(COLS * ROWS), cells, neighbors);
+            }
+        }
+    }
+
+    @Test
+    public void testOpenFieldEqualsFloodSearch() {
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        cells.fill(0b1111);
+        for (Topology topology : Topology.values()) {
+            // every level of an open field is wide enough to be distributed
+            assertEqualsFloodSearch(COLS * ROWS / 2, cells, new NeighborTable(COLS, ROWS, topology));
+        }
+    }
+
+    @Test
+    public void testNoSource() {
+        ParallelFloodSearch parallelFlood = new ParallelFloodSearch(GRAIN);
+        PackedCellStorage cells = new PackedCellStorage(COLS * ROWS);
+        cells.fill(0b1111);
+        assertEquals(0, parallelFlood.run(GameField.NO_INDEX, cells, new NeighborTable(COLS, ROWS, Topology.BOUNDED)));
+        assertTrue(parallelFlood.toBitSet().isEmpty());
+        assertEquals(0, parallelFlood.toLevels().getLevelCount());
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 import java.util.EnumSet;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -39,167 +40,167 @@ public class PipeTest {
     /**
      * Wall
      */
-    private static final Pipe WALL = new Pipe(PipeType.WALL);
+    private static final Pipe WALL = Pipe.of(PipeType.WALL);
 
     /**
      * Dead End with {@link Rotation#NORMAL}
      */
-    private static final Pipe DEAD_END_NORMAL = new Pipe(PipeType.DEAD_END);
+    private static final Pipe DEAD_END_NORMAL = Pipe.of(PipeType.DEAD_END);
 
     /**
      * Dead End with {@link Rotation#RIGHT}
      */
-    private static final Pipe DEAD_END_RIGHT = new Pipe(PipeType.DEAD_END, Rotation.RIGHT);
+    private static final Pipe DEAD_END_RIGHT = Pipe.of(PipeType.DEAD_END, Rotation.RIGHT);
 
     /**
      * Dead End with {@link Rotation#INVERTED}
      */
-    private static final Pipe DEAD_END_INVERTED = new Pipe(PipeType.DEAD_END, Rotation.INVERTED);
+    private static final Pipe DEAD_END_INVERTED = Pipe.of(PipeType.DEAD_END, Rotation.INVERTED);
 
     /**
      * Dead End with {@link Rotation#LEFT}
      */
-    private static final Pipe DEAD_END_LEFT = new Pipe(PipeType.DEAD_END, Rotation.LEFT);
+    private static final Pipe DEAD_END_LEFT = Pipe.of(PipeType.DEAD_END, Rotation.LEFT);
 
     /**
      * Line with {@link Rotation#NORMAL}
      */
-    private static final Pipe LINE_NORMAL = new Pipe(PipeType.LINE);
+    private static final Pipe LINE_NORMAL = Pipe.of(PipeType.LINE);
 
     /**
      * Line with {@link Rotation#RIGHT}
      */
-    private static final Pipe LINE_ROTATED = new Pipe(PipeType.LINE, Rotation.RIGHT);
+    private static final Pipe LINE_ROTATED = Pipe.of(PipeType.LINE, Rotation.RIGHT);
 
     /**
      * Curve with {@link Rotation#NORMAL}
      */
-    private static final Pipe CURVE_NORMAL = new Pipe(PipeType.CURVE);
+    private static final Pipe CURVE_NORMAL = Pipe.of(PipeType.CURVE);
 
     /**
      * Curve with {@link Rotation#RIGHT}
      */
-    private static final Pipe CURVE_RIGHT = new Pipe(PipeType.CURVE, Rotation.RIGHT);
+    private static final Pipe CURVE_RIGHT = Pipe.of(PipeType.CURVE, Rotation.RIGHT);
 
     /**
      * Curve with {@link Rotation#LEFT}
      */
-    private static final Pipe CURVE_LEFT = new Pipe(PipeType.CURVE, Rotation.LEFT);
+    private static final Pipe CURVE_LEFT = Pipe.of(PipeType.CURVE, Rotation.LEFT);
 
     /**
      * Curve with {@link Rotation#INVERTED}
      */
-    private static final Pipe CURVE_INVERTED = new Pipe(PipeType.CURVE, Rotation.INVERTED);
+    private static final Pipe CURVE_INVERTED = Pipe.of(PipeType.CURVE, Rotation.INVERTED);
 
     /**
      * T_Pipe with {@link Rotation#NORMAL}
      */
-    private static final Pipe T_PIPE_NORMAL = new Pipe(PipeType.T_PIPE);
+    private static final Pipe T_PIPE_NORMAL = Pipe.of(PipeType.T_PIPE);
 
     /**
      * T_Pipe with {@link Rotation#INVERTED}
      */
-    private static final Pipe T_PIPE_INVERTED = new Pipe(PipeType.T_PIPE, Rotation.INVERTED);
+    private static final Pipe T_PIPE_INVERTED = Pipe.of(PipeType.T_PIPE, Rotation.INVERTED);
 
     /**
      * T_Pipe with {@link Rotation#RIGHT}
      */
-    private static final Pipe T_PIPE_RIGHT = new Pipe(PipeType.T_PIPE, Rotation.RIGHT);
+    private static final Pipe T_PIPE_RIGHT = Pipe.of(PipeType.T_PIPE, Rotation.RIGHT);
 
     /**
      * T_Pipe with {@link Rotation#LEFT}
      */
-    private static final Pipe T_PIPE_LEFT = new Pipe(PipeType.T_PIPE, Rotation.LEFT);
+    private static final Pipe T_PIPE_LEFT = Pipe.of(PipeType.T_PIPE, Rotation.LEFT);
 
 
     // <--- Tests to create Pipes from an int-Value --->
     @Test
     public void testPipeFromInt_Wall() {
-        Pipe pipe = new Pipe(0);
+        Pipe pipe = Pipe.of(0);
         assertEquals(WALL, pipe);
     }
 
     @Test
     public void testPipeFromInt_DeadEndRotationNormal() {
-        Pipe pipe = new Pipe(MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_LEFT);
         assertEquals(DEAD_END_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromInt_DeadEndRotationRight() {
-        Pipe pipe = new Pipe(MASK_TOP);
+        Pipe pipe = Pipe.of(MASK_TOP);
         assertEquals(DEAD_END_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromInt_DeadEndRotationLeft() {
-        Pipe pipe = new Pipe(MASK_BOTTOM);
+        Pipe pipe = Pipe.of(MASK_BOTTOM);
         assertEquals(DEAD_END_LEFT, pipe);
     }
 
     @Test
     public void testPipeFromInt_DeadEndRotationInverted() {
-        Pipe pipe = new Pipe(MASK_RIGHT);
+        Pipe pipe = Pipe.of(MASK_RIGHT);
         assertEquals(DEAD_END_INVERTED, pipe);
     }
 
     @Test
     public void testPipeFromInt_LineRotationNormal() {
-        Pipe pipe = new Pipe(MASK_RIGHT | MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_RIGHT | MASK_LEFT);
         assertEquals(LINE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromInt_LineRotationInverted() {
-        Pipe pipe = new Pipe(MASK_TOP | MASK_BOTTOM);
+        Pipe pipe = Pipe.of(MASK_TOP | MASK_BOTTOM);
         assertEquals(LINE_ROTATED, pipe);
     }
 
     @Test
     public void testPipeFromInt_CurveRotationNormal() {
-        Pipe pipe = new Pipe(MASK_RIGHT | MASK_BOTTOM);
+        Pipe pipe = Pipe.of(MASK_RIGHT | MASK_BOTTOM);
         assertEquals(CURVE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromInt_CurveRotationRight() {
-        Pipe pipe = new Pipe(MASK_LEFT | MASK_BOTTOM);
+        Pipe pipe = Pipe.of(MASK_LEFT | MASK_BOTTOM);
         assertEquals(CURVE_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromInt_CurveRotationLeft() {
-        Pipe pipe = new Pipe(MASK_TOP | MASK_RIGHT);
+        Pipe pipe = Pipe.of(MASK_TOP | MASK_RIGHT);
         assertEquals(CURVE_LEFT, pipe);
     }
 
     @Test
     public void testPipeFromInt_CurveRotationInverted() {
-        Pipe pipe = new Pipe(MASK_TOP | MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_TOP | MASK_LEFT);
         assertEquals(CURVE_INVERTED, pipe);
     }
 
     @Test
     public void testPipeFromInt_TPieceRotationNormal() {
-        Pipe pipe = new Pipe(MASK_TOP | MASK_BOTTOM | MASK_RIGHT);
+        Pipe pipe = Pipe.of(MASK_TOP | MASK_BOTTOM | MASK_RIGHT);
         assertEquals(T_PIPE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromInt_TPieceRotationInverted() {
-        Pipe pipe = new Pipe(MASK_TOP | MASK_BOTTOM | MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_TOP | MASK_BOTTOM | MASK_LEFT);
         assertEquals(T_PIPE_INVERTED, pipe);
     }
 
     @Test
     public void testPipeFromInt_TPieceRotationRight() {
-        Pipe pipe = new Pipe(MASK_RIGHT | MASK_BOTTOM | MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_RIGHT | MASK_BOTTOM | MASK_LEFT);
         assertEquals(T_PIPE_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromInt_TPieceRotationLeft() {
-        Pipe pipe = new Pipe(MASK_RIGHT | MASK_TOP | MASK_LEFT);
+        Pipe pipe = Pipe.of(MASK_RIGHT | MASK_TOP | MASK_LEFT);
         assertEquals(T_PIPE_LEFT, pipe);
     }
 
@@ -207,91 +208,91 @@ public class PipeTest {
 
     @Test
     public void testPipeFromBoxDrawing_Wall() {
-        Pipe pipe = new Pipe("╳");
+        Pipe pipe = Pipe.of("╳");
         assertEquals(WALL, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_DeadEndRotationNormal() {
-        Pipe pipe = new Pipe("╸");
+        Pipe pipe = Pipe.of("╸");
         assertEquals(DEAD_END_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_DeadEndRotationRight() {
-        Pipe pipe = new Pipe("╹");
+        Pipe pipe = Pipe.of("╹");
         assertEquals(DEAD_END_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_DeadEndRotationLeft() {
-        Pipe pipe = new Pipe("╻");
+        Pipe pipe = Pipe.of("╻");
         assertEquals(DEAD_END_LEFT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_DeadEndRotationInverted() {
-        Pipe pipe = new Pipe("╺");
+        Pipe pipe = Pipe.of("╺");
         assertEquals(DEAD_END_INVERTED, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_LineRotationNormal() {
-        Pipe pipe = new Pipe("━");
+        Pipe pipe = Pipe.of("━");
         assertEquals(LINE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_LineRotationInverted() {
-        Pipe pipe = new Pipe("┃");
+        Pipe pipe = Pipe.of("┃");
         assertEquals(LINE_ROTATED, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_CurveRotationNormal() {
-        Pipe pipe = new Pipe("┏");
+        Pipe pipe = Pipe.of("┏");
         assertEquals(CURVE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_CurveRotationLeft() {
-        Pipe pipe = new Pipe("┗");
+        Pipe pipe = Pipe.of("┗");
         assertEquals(CURVE_LEFT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_CurveRotationRight() {
-        Pipe pipe = new Pipe("┓");
+        Pipe pipe = Pipe.of("┓");
         assertEquals(CURVE_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_CurveRotationInverted() {
-        Pipe pipe = new Pipe("┛");
+        Pipe pipe = Pipe.of("┛");
         assertEquals(CURVE_INVERTED, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_TPieceRotationNormal() {
-        Pipe pipe = new Pipe("┣");
+        Pipe pipe = Pipe.of("┣");
         assertEquals(T_PIPE_NORMAL, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_TPieceRotationRight() {
-        Pipe pipe = new Pipe("┳");
+        Pipe pipe = Pipe.of("┳");
         assertEquals(T_PIPE_RIGHT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_TPieceRotationLeft() {
-        Pipe pipe = new Pipe("┻");
+        Pipe pipe = Pipe.of("┻");
         assertEquals(T_PIPE_LEFT, pipe);
     }
 
     @Test
     public void testPipeFromBoxDrawing_TPieceRotationInverted() {
-        Pipe pipe = new Pipe("┫");
+        Pipe pipe = Pipe.of("┫");
         assertEquals(T_PIPE_INVERTED, pipe);
     }
 
@@ -300,211 +301,181 @@ public class PipeTest {
 
     @Test
     public void testTurnClockwise_LineHorizontal() {
-        Pipe res = LINE_NORMAL.copy();
-        res.turn(true);
+        Pipe res = LINE_NORMAL.turn(true);
         assertEquals(LINE_ROTATED, res);
     }
 
     @Test
     public void testTurnCounterClockwise_LineHorizontal() {
-        Pipe res = LINE_NORMAL.copy();
-        res.turn(false);
+        Pipe res = LINE_NORMAL.turn(false);
         assertEquals(LINE_ROTATED, res);
     }
 
     @Test
     public void testTurnClockwise_LineVertical() {
-        Pipe res = LINE_ROTATED.copy();
-        res.turn(true);
+        Pipe res = LINE_ROTATED.turn(true);
         assertEquals(LINE_NORMAL, res);
     }
 
     @Test
     public void testTurnCounterClockwise_LineVertical() {
-        Pipe res = LINE_ROTATED.copy();
-        res.turn(false);
+        Pipe res = LINE_ROTATED.turn(false);
         assertEquals(LINE_NORMAL, res);
     }
 
     @Test
     public void testTurnClockwise_CurveNormal() {
-        Pipe res = CURVE_NORMAL.copy();
-        res.turn(true);
+        Pipe res = CURVE_NORMAL.turn(true);
         assertEquals(CURVE_RIGHT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_CurveNormal() {
-        Pipe res = CURVE_NORMAL.copy();
-        res.turn(false);
+        Pipe res = CURVE_NORMAL.turn(false);
         assertEquals(CURVE_LEFT, res);
     }
 
     @Test
     public void testTurnClockwise_CurveRight() {
-        Pipe res = CURVE_RIGHT.copy();
-        res.turn(true);
+        Pipe res = CURVE_RIGHT.turn(true);
         assertEquals(CURVE_INVERTED, res);
     }
 
     @Test
     public void testTurnCounterClockwise_CurveRight() {
-        Pipe res = CURVE_RIGHT.copy();
-        res.turn(false);
+        Pipe res = CURVE_RIGHT.turn(false);
         assertEquals(CURVE_NORMAL, res);
     }
 
     @Test
     public void testTurnClockwise_CurveLeft() {
-        Pipe res = CURVE_LEFT.copy();
-        res.turn(true);
+        Pipe res = CURVE_LEFT.turn(true);
         assertEquals(CURVE_NORMAL, res);
     }
 
     @Test
     public void testTurnCounterClockwise_CurveLeft() {
-        Pipe res = CURVE_LEFT.copy();
-        res.turn(false);
+        Pipe res = CURVE_LEFT.turn(false);
         assertEquals(CURVE_INVERTED, res);
     }
 
     @Test
     public void testTurnClockwise_CurveInverted() {
-        Pipe res = CURVE_INVERTED.copy();
-        res.turn(true);
+        Pipe res = CURVE_INVERTED.turn(true);
         assertEquals(CURVE_LEFT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_CurveInverted() {
-        Pipe res = CURVE_INVERTED.copy();
-        res.turn(false);
+        Pipe res = CURVE_INVERTED.turn(false);
         assertEquals(CURVE_RIGHT, res);
     }
 
     @Test
     public void testTurnClockwise_TPieceNormal() {
-        Pipe res = T_PIPE_NORMAL.copy();
-        res.turn(true);
+        Pipe res = T_PIPE_NORMAL.turn(true);
         assertEquals(T_PIPE_RIGHT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_TPiece_TopRightBottom() {
-        Pipe res = T_PIPE_NORMAL.copy();
-        res.turn(false);
+        Pipe res = T_PIPE_NORMAL.turn(false);
         assertEquals(T_PIPE_LEFT, res);
     }
 
     @Test
     public void testTurnClockwise_TPieceInverted() {
-        Pipe res = T_PIPE_INVERTED.copy();
-        res.turn(true);
+        Pipe res = T_PIPE_INVERTED.turn(true);
         assertEquals(T_PIPE_LEFT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_TPieceInverted() {
-        Pipe res = T_PIPE_INVERTED.copy();
-        res.turn(false);
+        Pipe res = T_PIPE_INVERTED.turn(false);
         assertEquals(T_PIPE_RIGHT, res);
     }
 
     @Test
     public void testTurnClockwise_TPieceRight() {
-        Pipe res = T_PIPE_RIGHT.copy();
-        res.turn(true);
+        Pipe res = T_PIPE_RIGHT.turn(true);
         assertEquals(T_PIPE_INVERTED, res);
     }
 
     @Test
     public void testTurnCounterClockwise_TPieceRight() {
-        Pipe res = T_PIPE_RIGHT.copy();
-        res.turn(false);
+        Pipe res = T_PIPE_RIGHT.turn(false);
         assertEquals(T_PIPE_NORMAL, res);
     }
 
     @Test
     public void testTurnClockwise_TPieceLeft() {
-        Pipe res = T_PIPE_LEFT.copy();
-        res.turn(true);
+        Pipe res = T_PIPE_LEFT.turn(true);
         assertEquals(T_PIPE_NORMAL, res);
     }
 
     @Test
     public void testTurnCounterClockwise_TPieceLeft() {
-        Pipe res = T_PIPE_LEFT.copy();
-        res.turn(false);
+        Pipe res = T_PIPE_LEFT.turn(false);
         assertEquals(T_PIPE_INVERTED, res);
     }
 
     @Test
     public void testTurnClockwise_DeadEndNormal() {
-        Pipe res = DEAD_END_NORMAL.copy();
-        res.turn(true);
+        Pipe res = DEAD_END_NORMAL.turn(true);
         assertEquals(DEAD_END_RIGHT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_DeadEndNormal() {
-        Pipe res = DEAD_END_NORMAL.copy();
-        res.turn(false);
+        Pipe res = DEAD_END_NORMAL.turn(false);
         assertEquals(DEAD_END_LEFT, res);
     }
 
     @Test
     public void testTurnClockwise_DeadEndRight() {
-        Pipe res = DEAD_END_RIGHT.copy();
-        res.turn(true);
+        Pipe res = DEAD_END_RIGHT.turn(true);
         assertEquals(DEAD_END_INVERTED, res);
     }
 
     @Test
     public void testTurnCounterClockwise_DeadEndRight() {
-        Pipe res = DEAD_END_RIGHT.copy();
-        res.turn(false);
+        Pipe res = DEAD_END_RIGHT.turn(false);
         assertEquals(DEAD_END_NORMAL, res);
     }
 
     @Test
     public void testTurnClockwise_DeadEndInverted() {
-        Pipe res = DEAD_END_INVERTED.copy();
-        res.turn(true);
+        Pipe res = DEAD_END_INVERTED.turn(true);
         assertEquals(DEAD_END_LEFT, res);
     }
 
     @Test
     public void testTurnCounterClockwise_DeadEndInverted() {
-        Pipe res = DEAD_END_INVERTED.copy();
-        res.turn(false);
+        Pipe res = DEAD_END_INVERTED.turn(false);
         assertEquals(DEAD_END_RIGHT, res);
     }
 
     @Test
     public void testTurnClockwise_DeadEndLeft() {
-        Pipe res = DEAD_END_LEFT.copy();
-        res.turn(true);
+        Pipe res = DEAD_END_LEFT.turn(true);
         assertEquals(DEAD_END_NORMAL, res);
     }
 
     @Test
     public void testTurnCounterClockwise_DeadEndLeft() {
-        Pipe res = DEAD_END_LEFT.copy();
-        res.turn(false);
+        Pipe res = DEAD_END_LEFT.turn(false);
         assertEquals(DEAD_END_INVERTED, res);
     }
 
     @Test
     public void testTurnClockwise_Wall() {
-        Pipe res = WALL.copy();
-        res.turn(true);
+        Pipe res = WALL.turn(true);
         assertEquals(WALL, res);
     }
 
     @Test
     public void testTurnCounterClockwise_Wall() {
-        Pipe res = WALL.copy();
-        res.turn(false);
+        Pipe res = WALL.turn(false);
         assertEquals(WALL, res);
     }
 
@@ -797,4 +768,41 @@ public class PipeTest {
         String res = DEAD_END_INVERTED.toString();
         assertEquals("╺", res);
     }
+
+    // <--- Flyweight Tests --->
+
+    @Test
+    public void testFactoryProvidesSameInstance() {
+        assertSame(CURVE_RIGHT, Pipe.of(PipeType.CURVE, Rotation.RIGHT));
+        assertSame(CURVE_RIGHT, Pipe.of(MASK_LEFT | MASK_BOTTOM));
+        assertSame(CURVE_RIGHT, Pipe.of("┓"));
+    }
+
+    @Test
+    public void testTurnFourTimesProvidesSameInstance() {
+        Pipe res = T_PIPE_LEFT.turn(true).turn(true).turn(true).turn(true);
+        assertSame(T_PIPE_LEFT, res);
+    }
+
+    @Test
+    public void testTurnOpeningsEqualsTurnedPipe() {
+        for (int openings = 0; openings <= GameFieldData.MAX_VALUE_PIPE; openings++) {
+            Pipe pipe = Pipe.of(openings);
+            assertEquals(pipe.turn(true).toInt(), Pipe.turnOpenings(openings, true));
+            assertEquals(pipe.turn(false).toInt(), Pipe.turnOpenings(openings, false));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPipeFromInt_FourOpenings() {
+        Pipe.of(MASK_LEFT | MASK_BOTTOM | MASK_RIGHT | MASK_TOP);
+    }
+
+    @Test
+    public void testEqualPipesHaveSameHashCode() {
+        Pipe normal = Pipe.of(PipeType.LINE, Rotation.NORMAL);
+        Pipe inverted = Pipe.of(PipeType.LINE, Rotation.INVERTED);
+        assertEquals(normal, inverted);
+        assertEquals(normal.hashCode(), inverted.hashCode());
+    }
 }
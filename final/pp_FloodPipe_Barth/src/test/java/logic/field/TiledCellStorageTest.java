@@ -0,0 +1,164 @@
+package logic.field;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testcases for the {@link TiledCellStorage} class. Tests the lazy allocation of tiles, reading and writing across
+ * tile boundaries, resizing and copying of the storage
+ */
+public class TiledCellStorageTest {
+
+    /**
+     * Amount of columns spanning more than one tile, the last tile is not full
+     */
+    private static final int COLS = 2 * TiledCellStorage.TILE_SIZE + 5;
+
+    /**
+     * Amount of rows spanning more than one tile, the last tile is not full
+     */
+    private static final int ROWS = TiledCellStorage.TILE_SIZE + 3;
+
+    @Test
+    public void testNewStorageAllocatesNoTiles() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        for (int i = 0; i < COLS * ROWS; i++) {
+            assertEquals(0, storage.get(i));
+        }
+        assertEquals(0, storage.allocatedTiles());
+    }
+
+    @Test
+    public void testWallDoesNotAllocateTile() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        storage.set(0, 0);
+        assertEquals(0, storage.allocatedTiles());
+
+        storage.set(COLS * ROWS - 1, 0b0101);
+        assertEquals(1, storage.allocatedTiles());
+    }
+
+    @Test
+    public void testSetAndGetEveryMask() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        for (int i = 0; i < COLS * ROWS; i++) {
+            storage.set(i, i % 16);
+        }
+        for (int i = 0; i < COLS * ROWS; i++) {
+            assertEquals(i % 16, storage.get(i));
+        }
+    }
+
+    @Test
+    public void testCellsEqualHeapStorageForEveryWidth() {
+        // the rows are calculated without a division, so widths around powers of two are checked
+        int[] widths = {1, 2, 3, 15, 16, 17, TiledCellStorage.TILE_SIZE - 1, TiledCellStorage.TILE_SIZE, COLS, 1000};
+        for (int cols : widths) {
+            int rows = 7;
+            TiledCellStorage tiled = new TiledCellStorage(cols, rows);
+            PackedCellStorage heap = new PackedCellStorage(cols * rows);
+            for (int i = 0; i < cols * rows; i++) {
+                tiled.set(i, (i * 7 + cols) % 15);
+                heap.set(i, (i * 7 + cols) % 15);
+            }
+            for (int i = 0; i < cols * rows; i++) {
+                assertEquals(heap.get(i), tiled.get(i));
+            }
+            assertEquals(heap, tiled);
+        }
+    }
+
+    @Test
+    public void testWordsEqualHeapStorageForEveryWidth() {
+        // a word of the linear index can span two rows and two words of the tiles
+        int[] widths = {1, 3, 16, 17, 31, TiledCellStorage.TILE_SIZE, TiledCellStorage.TILE_SIZE + 8, COLS};
+        for (int cols : widths) {
+            int rows = 11;
+            TiledCellStorage tiled = new TiledCellStorage(cols, rows);
+            PackedCellStorage heap = new PackedCellStorage(cols * rows);
+            long word = 0x0123_4567_89AB_CDEEL;
+            for (int w = 0; w < heap.words(); w++) {
+                word = Long.rotateLeft(word, 12);
+                long value = w == heap.words() - 1 ? word & CellStorage.filledLastWord(cols * rows, 0b1111) : word;
+                tiled.setWord(w, value);
+                heap.setWord(w, value);
+            }
+            for (int i = 0; i < cols * rows; i++) {
+                assertEquals(heap.get(i), tiled.get(i));
+            }
+            for (int w = 0; w < heap.words(); w++) {
+                assertEquals(heap.getWord(w), tiled.getWord(w));
+            }
+        }
+    }
+
+    @Test
+    public void testWordOfWallsDoesNotAllocateTile() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        for (int w = 0; w < storage.words(); w++) {
+            storage.setWord(w, 0);
+        }
+        assertEquals(0, storage.allocatedTiles());
+    }
+
+    @Test
+    public void testFillEqualsHeapStorage() {
+        TiledCellStorage tiled = new TiledCellStorage(COLS, ROWS);
+        tiled.fill(0b0011);
+        PackedCellStorage heap = new PackedCellStorage(COLS * ROWS);
+        heap.fill(0b0011);
+
+        assertEquals(heap, tiled);
+        assertEquals(heap.hashCode(), tiled.hashCode());
+    }
+
+    @Test
+    public void testShrinkAndGrowProvidesWalls() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        storage.fill(0b1010);
+        CellStorage shrunk = storage.resized(COLS, ROWS, COLS - 10, ROWS - 2);
+        CellStorage grown = shrunk.resized(COLS - 10, ROWS - 2, COLS, ROWS);
+
+        for (int y = 0; y < ROWS; y++) {
+            for (int x = 0; x < COLS; x++) {
+                int expected = x < COLS - 10 && y < ROWS - 2 ? 0b1010 : 0;
+                assertEquals(expected, grown.get(y * COLS + x));
+            }
+        }
+    }
+
+    @Test
+    public void testResizeEqualsHeapResize() {
+        TiledCellStorage tiled = new TiledCellStorage(COLS, ROWS);
+        PackedCellStorage heap = new PackedCellStorage(COLS * ROWS);
+        for (int i = 0; i < COLS * ROWS; i += 7) {
+            tiled.set(i, i % 15);
+            heap.set(i, i % 15);
+        }
+
+        assertEquals(heap.resized(COLS, ROWS, COLS + 70, ROWS - 5), tiled.resized(COLS, ROWS, COLS + 70, ROWS - 5));
+    }
+
+    @Test
+    public void testResizeDoesNotChangeOriginal() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        storage.fill(0b1010);
+        storage.resized(COLS, ROWS, COLS - 1, ROWS - 1);
+
+        assertEquals(0b1010, storage.get(COLS * ROWS - 1));
+    }
+
+    @Test
+    public void testChangedOriginalDoesNotChangeCopy() {
+        TiledCellStorage storage = new TiledCellStorage(COLS, ROWS);
+        storage.set(3, 0b0110);
+        TiledCellStorage copy = storage.copy();
+        storage.set(3, 0b1001);
+        copy.set(COLS * ROWS - 1, 0b0011);
+
+        assertEquals(0b0110, copy.get(3));
+        assertEquals(0b1001, storage.get(3));
+        assertEquals(0, storage.get(COLS * ROWS - 1));
+    }
+}